@@ -326,6 +326,15 @@ function Admin() {
         }
     }
 
+    // A listagem traz só o resumo; fases e times vêm do detalhe
+    const selecionarCampeonato = async (id) => {
+        try {
+            setSelectedCampeonato(await campeonatosApi.buscarPorId(id))
+        } catch (err) {
+            showError(err)
+        }
+    }
+
     const deletarCampeonato = async (id) => {
         if (!confirm('Deletar este campeonato?')) return
         try {
@@ -364,8 +373,10 @@ function Admin() {
 
     const inscreverTime = async (campeonatoId, timeId) => {
         try {
-            await campeonatosApi.inscreverTime(campeonatoId, timeId)
-            showSuccess('Time inscrito!')
+            const inscricao = await campeonatosApi.inscreverTime(campeonatoId, timeId)
+            showSuccess(inscricao?.situacao === 'LISTA_ESPERA'
+                ? `Vagas esgotadas: time na lista de espera (posição ${inscricao.posicaoListaEspera})`
+                : 'Time inscrito!')
             loadData()
             const updated = await campeonatosApi.buscarPorId(campeonatoId)
             setSelectedCampeonato(updated)
@@ -821,7 +832,7 @@ function Admin() {
                                     <div className="data-list">
                                         {campeonatos.map(c => (
                                             <div key={c.id} className={`data-item ${selectedCampeonato?.id === c.id ? 'selected' : ''}`}
-                                                onClick={() => setSelectedCampeonato(c)}>
+                                                onClick={() => selecionarCampeonato(c.id)}>
                                                 <div className="data-item-main">
                                                     <strong>{c.nome}</strong>
                                                     {c.edicaoNome && <span className="badge-edicao">📅 {c.edicaoNome}</span>}
@@ -36,10 +36,9 @@ function EdicaoDetalhe() {
                 setEscalacoes([])
             }
 
-            // Carrega campeonatos e filtra por edição
+            // Carrega campeonatos da edição
             try {
-                const todosCampeonatos = await campeonatosApi.listar()
-                const campeonatosDaEdicao = todosCampeonatos.filter(c => c.edicaoId === parseInt(id))
+                const campeonatosDaEdicao = await campeonatosApi.listar({ edicaoId: id })
                 setCampeonatos(campeonatosDaEdicao)
             } catch {
                 setCampeonatos([])
@@ -38,18 +38,67 @@ async function request(endpoint, options = {}) {
     }
 }
 
+/**
+ * Listagens paginadas por cursor: cada página traz { itens, proximoCursor }.
+ * Monta a query string ignorando filtros vazios.
+ */
+function comFiltros(endpoint, filtros = {}) {
+    const params = new URLSearchParams();
+    Object.entries(filtros).forEach(([chave, valor]) => {
+        if (valor !== undefined && valor !== null && valor !== '') {
+            params.append(chave, valor);
+        }
+    });
+    const query = params.toString();
+    return query ? `${endpoint}?${query}` : endpoint;
+}
+
+/**
+ * Percorre todas as páginas de uma listagem por cursor e devolve os itens concatenados.
+ */
+async function listarTudo(endpoint, filtros = {}) {
+    const itens = [];
+    let apos = null;
+    do {
+        const pagina = await request(comFiltros(endpoint, { ...filtros, apos, limite: 200 }));
+        itens.push(...pagina.itens);
+        apos = pagina.proximoCursor;
+    } while (apos !== null && apos !== undefined);
+    return itens;
+}
+
+/**
+ * Percorre todas as páginas de uma listagem por número de página (Page do Spring:
+ * { content, page: { number, totalPages } }, ou os mesmos campos na raiz) e
+ * devolve o conteúdo concatenado.
+ */
+async function listarTodasAsPaginas(endpoint, filtros = {}) {
+    const itens = [];
+    let page = 0;
+    let totalPages = 0;
+    do {
+        const pagina = await request(comFiltros(endpoint, { ...filtros, page, size: 200 }));
+        itens.push(...pagina.content);
+        totalPages = pagina.page?.totalPages ?? pagina.totalPages ?? 0;
+        page++;
+    } while (page < totalPages);
+    return itens;
+}
+
 // ==================== Jogadores ====================
 
 export const jogadoresApi = {
-    listar: () => request('/jogadores'),
+    listar: (filtros) => listarTudo('/jogadores', filtros),
+
+    listarPagina: (filtros) => request(comFiltros('/jogadores', filtros)),
 
     buscarPorId: (id) => request(`/jogadores/${id}`),
 
     buscarDetalhes: (id) => request(`/jogadores/${id}/detalhes`),
 
-    buscarPorLane: (lane) => request(`/jogadores/lane/${lane}`),
+    buscarPorLane: (lane) => listarTodasAsPaginas(`/jogadores/lane/${lane}`),
 
-    buscarSemTime: () => request('/jogadores/sem-time'),
+    buscarSemTime: () => listarTodasAsPaginas('/jogadores/sem-time'),
 
     criar: (jogador) => request('/jogadores', {
         method: 'POST',
@@ -69,7 +118,9 @@ export const jogadoresApi = {
 // ==================== Times ====================
 
 export const timesApi = {
-    listar: () => request('/times'),
+    listar: (filtros) => listarTudo('/times', filtros),
+
+    listarPagina: (filtros) => request(comFiltros('/times', filtros)),
 
     listarPaginado: (page = 0, size = 12) => request(`/times/paginado?page=${page}&size=${size}&sort=trofeus,desc`),
 
@@ -110,12 +161,18 @@ export const timesApi = {
 // ==================== Campeonatos ====================
 
 export const campeonatosApi = {
-    listar: () => request('/campeonatos'),
+    listar: (filtros) => listarTudo('/campeonatos', filtros),
+
+    listarPagina: (filtros) => request(comFiltros('/campeonatos', filtros)),
 
     listarAtivos: () => request('/campeonatos/ativos'),
 
     buscarPorId: (id) => request(`/campeonatos/${id}`),
 
+    // Transmissão ao vivo (SSE): abrir antes de buscarPorId. Eventos nomeados pelo tipo
+    // (PARTIDA_FINALIZADA, CLASSIFICACAO_ALTERADA...); RESINCRONIZAR pede recarregar tudo
+    eventos: (id) => new EventSource(`${API_BASE_URL}/campeonatos/${id}/eventos`),
+
     criar: (campeonato) => request('/campeonatos', {
         method: 'POST',
         body: JSON.stringify(campeonato),
@@ -149,6 +206,8 @@ export const campeonatosApi = {
         method: 'DELETE',
     }),
 
+    listarListaDeEspera: (id) => request(`/campeonatos/${id}/lista-espera`),
+
     adicionarFase: (id, fase) => request(`/campeonatos/${id}/fases`, {
         method: 'POST',
         body: JSON.stringify(fase),
@@ -168,7 +227,9 @@ export const campeonatosApi = {
 // ==================== Partidas ====================
 
 export const partidasApi = {
-    listar: () => request('/partidas'),
+    listar: (filtros) => listarTudo('/partidas', filtros),
+
+    listarPagina: (filtros) => request(comFiltros('/partidas', filtros)),
 
     buscarPorId: (id) => request(`/partidas/${id}`),
 
@@ -217,7 +278,9 @@ export const edicoesApi = {
 // ==================== Escalações ====================
 
 export const escalacoesApi = {
-    listar: () => request('/escalacoes'),
+    listar: (filtros) => listarTudo('/escalacoes', filtros),
+
+    listarPagina: (filtros) => request(comFiltros('/escalacoes', filtros)),
 
     buscarPorId: (id) => request(`/escalacoes/${id}`),
 
@@ -0,0 +1,27 @@
+package oficial.cbpitu.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Agendador dos workers (@Scheduled).
+ *
+ * Com virtual threads ligadas, o agendador padrão roda as tarefas de fixedDelay
+ * uma de cada vez na thread do agendador; aqui o pool continua com
+ * spring.task.scheduling.pool.size threads (virtuais), para uma exclusão longa
+ * não segurar a fila de avanço.
+ */
+@Configuration
+public class AgendamentoConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${spring.task.scheduling.pool.size:2}") int threads) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(threads);
+        scheduler.setThreadNamePrefix("agendador-");
+        scheduler.setVirtualThreads(true);
+        return scheduler;
+    }
+}
@@ -0,0 +1,28 @@
+package oficial.cbpitu.controller;
+
+import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.RegiaoCacheDTO;
+import oficial.cbpitu.service.CacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<RegiaoCacheDTO>> estatisticas() {
+        return ResponseEntity.ok(cacheService.estatisticas());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> limpar() {
+        cacheService.limpar();
+        return ResponseEntity.noContent().build();
+    }
+}
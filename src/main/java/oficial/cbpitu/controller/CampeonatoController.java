@@ -2,19 +2,30 @@ package oficial.cbpitu.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.PaginaDTO;
 import oficial.cbpitu.dto.campeonato.*;
-import oficial.cbpitu.exception.RecursoNaoEncontradoException;
 import oficial.cbpitu.mapper.CampeonatoMapper;
 import oficial.cbpitu.mapper.ClassificacaoMapper;
 import oficial.cbpitu.mapper.FaseMapper;
 import oficial.cbpitu.model.Campeonato;
 import oficial.cbpitu.model.Fase;
 import oficial.cbpitu.model.enums.FormatoCompeticao;
+import oficial.cbpitu.model.enums.StatusCampeonato;
+import oficial.cbpitu.service.AlteracoesService;
+import oficial.cbpitu.service.CampeonatoDetalheCache;
 import oficial.cbpitu.service.CampeonatoService;
 import oficial.cbpitu.service.ClassificacaoService;
+import oficial.cbpitu.service.ProbabilidadesService;
+import oficial.cbpitu.service.TitulosService;
+import oficial.cbpitu.service.TransmissaoCampeonatos;
+import oficial.cbpitu.service.strategy.SimulacaoFase;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -25,6 +36,11 @@ public class CampeonatoController {
 
     private final CampeonatoService campeonatoService;
     private final ClassificacaoService classificacaoService;
+    private final TitulosService titulosService;
+    private final CampeonatoDetalheCache detalheCache;
+    private final TransmissaoCampeonatos transmissao;
+    private final AlteracoesService alteracoesService;
+    private final ProbabilidadesService probabilidadesService;
     private final CampeonatoMapper campeonatoMapper;
     private final FaseMapper faseMapper;
     private final ClassificacaoMapper classificacaoMapper;
@@ -32,9 +48,15 @@ public class CampeonatoController {
     // CRUD
 
     @GetMapping
-    public ResponseEntity<List<CampeonatoDTO>> listarTodos() {
-        return ResponseEntity.ok(
-                campeonatoMapper.toDTOList(campeonatoService.listarTodos()));
+    public ResponseEntity<PaginaDTO<CampeonatoResumoDTO>> listar(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "50") int limite,
+            @RequestParam(required = false) StatusCampeonato status,
+            @RequestParam(required = false) Long edicaoId) {
+        int tamanho = PaginaDTO.limitar(limite);
+        return ResponseEntity.ok(PaginaDTO.de(
+                campeonatoService.listarPagina(apos, status, edicaoId, tamanho),
+                tamanho, Campeonato::getId, campeonatoMapper::toResumoDTO));
     }
 
     @GetMapping("/ativos")
@@ -43,11 +65,45 @@ public class CampeonatoController {
                 campeonatoMapper.toDTOList(campeonatoService.listarAtivos()));
     }
 
+    /**
+     * Detalhe com ETag pela revisão do campeonato: If-None-Match igual responde 304
+     * só com a consulta da revisão; senão o DTO sai do cache ou é montado.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<CampeonatoDTO> buscarPorId(@PathVariable Long id) {
-        Campeonato campeonato = campeonatoService.buscarPorId(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Campeonato", id));
-        return ResponseEntity.ok(campeonatoMapper.toDTO(campeonato));
+    public ResponseEntity<CampeonatoDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        long revisao = detalheCache.buscarRevisao(id);
+        String etag = CampeonatoDetalheCache.etag(id, revisao);
+
+        if (request.checkNotModified(etag)) {
+            return null; // 304 já preparado pelo Spring
+        }
+
+        CampeonatoDTO detalhe = detalheCache.buscar(id, revisao, () -> campeonatoService.montarDetalhe(id));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(detalhe);
+    }
+
+    /**
+     * Transmissão ao vivo (SSE) do que muda no campeonato: partidas criadas,
+     * resultados, vagas do chaveamento e tabelas de grupo. O cliente deve assinar
+     * antes de carregar o detalhe; ao reconectar, o navegador manda o Last-Event-ID
+     * e recebe o que perdeu (ou RESINCRONIZAR, se não der para retomar).
+     */
+    @GetMapping(path = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(@PathVariable Long id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return transmissao.assinar(id, ultimoEventoId);
+    }
+
+    /**
+     * O que mudou depois da revisão {@code since} (a revisão vem no detalhe e em
+     * cada resposta). Alternativa leve a baixar o detalhe inteiro de novo.
+     */
+    @GetMapping("/{id}/changes")
+    public ResponseEntity<AlteracoesCampeonatoDTO> alteracoes(@PathVariable Long id, @RequestParam long since) {
+        return ResponseEntity.ok(alteracoesService.buscarDesde(id, since));
     }
 
     @PostMapping
@@ -93,11 +149,20 @@ public class CampeonatoController {
     // Times
 
     @PostMapping("/{campeonatoId}/times/{timeId}")
-    public ResponseEntity<CampeonatoDTO> inscreverTime(
+    public ResponseEntity<InscricaoDTO> inscreverTime(
             @PathVariable Long campeonatoId,
             @PathVariable Long timeId) {
-        Campeonato campeonato = campeonatoService.inscreverTime(campeonatoId, timeId);
-        return ResponseEntity.ok(campeonatoMapper.toDTO(campeonato));
+        InscricaoDTO inscricao = campeonatoService.inscreverTime(campeonatoId, timeId);
+        // 202: o time ficou na lista de espera, a inscrição ainda não se concretizou
+        HttpStatus status = inscricao.getSituacao() == InscricaoDTO.Situacao.INSCRITO
+                ? HttpStatus.OK
+                : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(inscricao);
+    }
+
+    @GetMapping("/{campeonatoId}/lista-espera")
+    public ResponseEntity<List<InscricaoDTO>> listarListaDeEspera(@PathVariable Long campeonatoId) {
+        return ResponseEntity.ok(campeonatoService.listarListaDeEspera(campeonatoId));
     }
 
     @DeleteMapping("/{campeonatoId}/times/{timeId}")
@@ -140,6 +205,33 @@ public class CampeonatoController {
         return ResponseEntity.ok(classificacaoMapper.toDTOList(tabela));
     }
 
+    @GetMapping("/grupos/{grupoId}/cenarios")
+    public ResponseEntity<CenariosGrupoDTO> getCenariosGrupo(@PathVariable Long grupoId) {
+        return ResponseEntity.ok(classificacaoMapper.toCenariosDTO(grupoId,
+                classificacaoService.getCenariosGrupo(grupoId)));
+    }
+
+    @PostMapping("/grupos/{grupoId}/classificacao/recalcular")
+    public ResponseEntity<List<ClassificacaoDTO>> recalcularClassificacaoGrupo(@PathVariable Long grupoId) {
+        classificacaoService.recalcularGrupo(grupoId);
+        return ResponseEntity.ok(classificacaoMapper.toDTOList(classificacaoService.getTabelaGrupo(grupoId)));
+    }
+
+    @GetMapping("/fases/{faseId}/probabilidades")
+    public ResponseEntity<ProbabilidadesFaseDTO> getProbabilidadesFase(
+            @PathVariable Long faseId,
+            @RequestParam(defaultValue = "100000") int simulacoes,
+            @RequestParam(defaultValue = "UNIFORME") SimulacaoFase.Modelo modelo) {
+        return ResponseEntity.ok(probabilidadesService.calcular(faseId, simulacoes, modelo));
+    }
+
+    // Títulos
+
+    @PostMapping("/titulos/reconciliar")
+    public ResponseEntity<ReconciliacaoTitulosDTO> reconciliarTitulos() {
+        return ResponseEntity.ok(titulosService.reconciliar());
+    }
+
     @PostMapping("/{id}/fases/{faseId}/partidas/manual")
     public ResponseEntity<Void> criarConfrontosManuais(
             @PathVariable Long id,
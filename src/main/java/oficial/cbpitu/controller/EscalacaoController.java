@@ -2,6 +2,7 @@ package oficial.cbpitu.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.PaginaDTO;
 import oficial.cbpitu.dto.edicao.CriarEscalacaoDTO;
 import oficial.cbpitu.dto.edicao.EscalacaoDTO;
 import oficial.cbpitu.service.EscalacaoService;
@@ -20,8 +21,13 @@ public class EscalacaoController {
     private final EscalacaoService escalacaoService;
     
     @GetMapping
-    public ResponseEntity<List<EscalacaoDTO>> listarTodas() {
-        return ResponseEntity.ok(escalacaoService.listarTodas());
+    public ResponseEntity<PaginaDTO<EscalacaoDTO>> listar(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "50") int limite,
+            @RequestParam(required = false) Long timeId,
+            @RequestParam(required = false) Long edicaoId) {
+        return ResponseEntity.ok(
+                escalacaoService.listarPagina(apos, timeId, edicaoId, PaginaDTO.limitar(limite)));
     }
     
     @GetMapping("/{id}")
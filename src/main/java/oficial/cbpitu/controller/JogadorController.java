@@ -4,10 +4,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import oficial.cbpitu.dto.CriarJogadorDTO;
 import oficial.cbpitu.dto.JogadorDTO;
+import oficial.cbpitu.dto.PaginaDTO;
 import oficial.cbpitu.exception.RecursoNaoEncontradoException;
 import oficial.cbpitu.mapper.JogadorMapper;
 import oficial.cbpitu.model.Jogador;
 import oficial.cbpitu.service.JogadorService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,9 +27,14 @@ public class JogadorController {
     private final JogadorMapper jogadorMapper;
 
     @GetMapping
-    public ResponseEntity<List<JogadorDTO>> listarTodos() {
-        return ResponseEntity.ok(
-                jogadorMapper.toDTOList(jogadorService.listarTodos()));
+    public ResponseEntity<PaginaDTO<JogadorDTO>> listar(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "50") int limite,
+            @RequestParam(required = false) String lane) {
+        int tamanho = PaginaDTO.limitar(limite);
+        return ResponseEntity.ok(PaginaDTO.de(
+                jogadorService.listarPagina(apos, lane, tamanho),
+                tamanho, Jogador::getId, jogadorMapper::toDTO));
     }
 
     @GetMapping("/{id}")
@@ -41,15 +50,18 @@ public class JogadorController {
     }
 
     @GetMapping("/lane/{lane}")
-    public ResponseEntity<List<JogadorDTO>> buscarPorLane(@PathVariable String lane) {
+    public ResponseEntity<Page<JogadorDTO>> buscarPorLane(
+            @PathVariable String lane,
+            @PageableDefault(size = 20, sort = "nickname") Pageable pageable) {
         return ResponseEntity.ok(
-                jogadorMapper.toDTOList(jogadorService.buscarPorLane(lane)));
+                jogadorService.buscarPorLane(lane, pageable).map(jogadorMapper::toDTO));
     }
 
     @GetMapping("/sem-time")
-    public ResponseEntity<List<JogadorDTO>> buscarSemTime() {
+    public ResponseEntity<Page<JogadorDTO>> buscarSemTime(
+            @PageableDefault(size = 20, sort = "nickname") Pageable pageable) {
         return ResponseEntity.ok(
-                jogadorMapper.toDTOList(jogadorService.buscarSemTime()));
+                jogadorService.buscarSemTime(pageable).map(jogadorMapper::toDTO));
     }
 
     @PostMapping
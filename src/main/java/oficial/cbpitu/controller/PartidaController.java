@@ -2,12 +2,18 @@ package oficial.cbpitu.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.PaginaDTO;
+import oficial.cbpitu.dto.campeonato.AvancoDTO;
 import oficial.cbpitu.dto.campeonato.PartidaDTO;
+import oficial.cbpitu.dto.campeonato.ResultadoLoteDTO;
 import oficial.cbpitu.dto.campeonato.ResultadoDTO;
 import oficial.cbpitu.exception.RecursoNaoEncontradoException;
 import oficial.cbpitu.mapper.PartidaMapper;
 import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.enums.StatusPartida;
+import oficial.cbpitu.service.AvancoService;
 import oficial.cbpitu.service.PartidaService;
+import oficial.cbpitu.service.RetentativaOtimista;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,14 +26,25 @@ import java.util.List;
 public class PartidaController {
 
     private final PartidaService partidaService;
+    private final AvancoService avancoService;
     private final PartidaMapper partidaMapper;
 
+    // Só as escritas idempotentes (agendar, iniciar, adiar, cancelar) repetem sozinhas
+    // quando perdem a disputa de versão; resultado e correção devolvem o 409
+    private final RetentativaOtimista retentativa;
+
     // Listagem
 
     @GetMapping
-    public ResponseEntity<List<PartidaDTO>> listarTodas() {
-        return ResponseEntity.ok(
-                partidaMapper.toDTOList(partidaService.listarTodas()));
+    public ResponseEntity<PaginaDTO<PartidaDTO>> listar(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "50") int limite,
+            @RequestParam(required = false) Long faseId,
+            @RequestParam(required = false) StatusPartida status) {
+        int tamanho = PaginaDTO.limitar(limite);
+        return ResponseEntity.ok(PaginaDTO.de(
+                partidaService.listarPagina(apos, faseId, status, tamanho),
+                tamanho, Partida::getId, partidaMapper::toDTO));
     }
 
     @GetMapping("/{id}")
@@ -75,19 +92,35 @@ public class PartidaController {
                 partidaMapper.toDTOList(partidaService.buscarProximasPartidas(campeonatoId, limite)));
     }
 
+    @GetMapping("/campeonato/{campeonatoId}/hoje")
+    public ResponseEntity<List<PartidaDTO>> listarDeHoje(@PathVariable Long campeonatoId) {
+        return ResponseEntity.ok(
+                partidaMapper.toDTOList(partidaService.buscarPartidasDeHoje(campeonatoId)));
+    }
+
+    @GetMapping("/agenda")
+    public ResponseEntity<List<PartidaDTO>> agenda(
+            @RequestParam(required = false) LocalDateTime inicio,
+            @RequestParam(required = false) LocalDateTime fim,
+            @RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(partidaMapper.toDTOList(
+                partidaService.buscarAgenda(inicio, fim, PaginaDTO.limitar(limite))));
+    }
+
     // Agendamento
 
     @PutMapping("/{id}/agendar")
     public ResponseEntity<PartidaDTO> agendar(
             @PathVariable Long id,
-            @RequestParam LocalDateTime dataHora) {
-        Partida partida = partidaService.agendarPartida(id, dataHora);
+            @RequestParam LocalDateTime dataHora,
+            @RequestParam(required = false) Long versao) {
+        Partida partida = retentativa.executar(() -> partidaService.agendarPartida(id, dataHora, versao));
         return ResponseEntity.ok(partidaMapper.toDTO(partida));
     }
 
     @PostMapping("/{id}/iniciar")
     public ResponseEntity<PartidaDTO> iniciar(@PathVariable Long id) {
-        Partida partida = partidaService.iniciarPartida(id);
+        Partida partida = retentativa.executar(() -> partidaService.iniciarPartida(id));
         return ResponseEntity.ok(partidaMapper.toDTO(partida));
     }
 
@@ -100,7 +133,8 @@ public class PartidaController {
         Partida partida = partidaService.registrarResultado(
                 id,
                 resultado.getPlacarTime1(),
-                resultado.getPlacarTime2());
+                resultado.getPlacarTime2(),
+                resultado.getVersao());
         return ResponseEntity.ok(partidaMapper.toDTO(partida));
     }
 
@@ -111,7 +145,8 @@ public class PartidaController {
         Partida partida = partidaService.registrarResultadoSerie(
                 id,
                 resultado.getPlacarTime1(),
-                resultado.getPlacarTime2());
+                resultado.getPlacarTime2(),
+                resultado.getVersao());
         return ResponseEntity.ok(partidaMapper.toDTO(partida));
     }
 
@@ -123,6 +158,13 @@ public class PartidaController {
         return ResponseEntity.ok(partidaMapper.toDTO(partida));
     }
 
+    @PostMapping("/resultados/lote")
+    public ResponseEntity<List<PartidaDTO>> registrarResultadosEmLote(
+            @Valid @RequestBody ResultadoLoteDTO lote) {
+        List<Partida> partidas = partidaService.registrarResultadosEmLote(lote.getResultados());
+        return ResponseEntity.ok(partidaMapper.toDTOList(partidas));
+    }
+
     @PutMapping("/{id}/corrigir")
     public ResponseEntity<PartidaDTO> corrigirResultado(
             @PathVariable Long id,
@@ -130,21 +172,29 @@ public class PartidaController {
         Partida partida = partidaService.corrigirResultado(
                 id,
                 resultado.getPlacarTime1(),
-                resultado.getPlacarTime2());
+                resultado.getPlacarTime2(),
+                resultado.getVersao());
         return ResponseEntity.ok(partidaMapper.toDTO(partida));
     }
 
+    // Avanço da fase (processado em segundo plano após o resultado)
+
+    @GetMapping("/{id}/avanco")
+    public ResponseEntity<AvancoDTO> statusAvanco(@PathVariable Long id) {
+        return ResponseEntity.ok(partidaMapper.toAvancoDTO(avancoService.buscarUltimo(id)));
+    }
+
     // Status
 
     @PostMapping("/{id}/adiar")
     public ResponseEntity<PartidaDTO> adiar(@PathVariable Long id) {
-        Partida partida = partidaService.adiarPartida(id);
+        Partida partida = retentativa.executar(() -> partidaService.adiarPartida(id));
         return ResponseEntity.ok(partidaMapper.toDTO(partida));
     }
 
     @PostMapping("/{id}/cancelar")
     public ResponseEntity<PartidaDTO> cancelar(@PathVariable Long id) {
-        Partida partida = partidaService.cancelarPartida(id);
+        Partida partida = retentativa.executar(() -> partidaService.cancelarPartida(id));
         return ResponseEntity.ok(partidaMapper.toDTO(partida));
     }
 }
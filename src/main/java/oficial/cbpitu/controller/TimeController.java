@@ -3,10 +3,16 @@ package oficial.cbpitu.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import oficial.cbpitu.dto.CriarTimeDTO;
+import oficial.cbpitu.dto.ExclusaoTimesDTO;
+import oficial.cbpitu.dto.PaginaDTO;
+import oficial.cbpitu.dto.TarefaExclusaoDTO;
 import oficial.cbpitu.dto.TimeDTO;
 import oficial.cbpitu.exception.RecursoNaoEncontradoException;
+import oficial.cbpitu.exception.RegraNegocioException;
 import oficial.cbpitu.mapper.TimeMapper;
+import oficial.cbpitu.model.TarefaExclusao;
 import oficial.cbpitu.model.Time;
+import oficial.cbpitu.service.ExclusaoTimesService;
 import oficial.cbpitu.service.TimeService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,12 +26,17 @@ import java.util.List;
 public class TimeController {
 
     private final TimeService timeService;
+    private final ExclusaoTimesService exclusaoTimesService;
     private final TimeMapper timeMapper;
 
     @GetMapping
-    public ResponseEntity<List<TimeDTO>> listarTodos() {
-        return ResponseEntity.ok(
-                timeMapper.toDTOList(timeService.listarTodos()));
+    public ResponseEntity<PaginaDTO<TimeDTO>> listar(
+            @RequestParam(required = false) Long apos,
+            @RequestParam(defaultValue = "50") int limite) {
+        int tamanho = PaginaDTO.limitar(limite);
+        return ResponseEntity.ok(PaginaDTO.de(
+                timeService.listarPagina(apos, tamanho),
+                tamanho, Time::getId, timeMapper::toDTO));
     }
     
     @GetMapping("/paginado")
@@ -76,11 +87,41 @@ public class TimeController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletar(@PathVariable Long id) {
+    public ResponseEntity<TarefaExclusaoDTO> deletar(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean emSegundoPlano) {
+        if (emSegundoPlano) {
+            timeService.buscarPorId(id)
+                    .orElseThrow(() -> new RecursoNaoEncontradoException("Time", id));
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(timeMapper.toTarefaExclusaoDTO(exclusaoTimesService.agendar(List.of(id))));
+        }
+
         timeService.deletar(id);
         return ResponseEntity.noContent().build();
     }
 
+    // Exclusão em massa (segundo plano)
+
+    @PostMapping("/exclusoes")
+    public ResponseEntity<TarefaExclusaoDTO> excluirEmMassa(@Valid @RequestBody ExclusaoTimesDTO dto) {
+        TarefaExclusao tarefa;
+        if (dto.getTimeIds() != null && !dto.getTimeIds().isEmpty()) {
+            tarefa = exclusaoTimesService.agendar(dto.getTimeIds());
+        } else if (dto.getInativosDesde() != null) {
+            tarefa = exclusaoTimesService.agendarInativos(dto.getInativosDesde());
+        } else {
+            throw new RegraNegocioException("Informe os times ou a data de inatividade");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(timeMapper.toTarefaExclusaoDTO(tarefa));
+    }
+
+    @GetMapping("/exclusoes/{id}")
+    public ResponseEntity<TarefaExclusaoDTO> statusExclusao(@PathVariable Long id) {
+        return ResponseEntity.ok(timeMapper.toTarefaExclusaoDTO(exclusaoTimesService.buscar(id)));
+    }
+
     // Gerenciamento de jogadores
 
     @PostMapping("/{timeId}/jogadores/{jogadorId}")
@@ -0,0 +1,23 @@
+package oficial.cbpitu.dto;
+
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Pedido de exclusão em massa: uma lista de times ou todos os inativos desde uma data.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExclusaoTimesDTO {
+
+    private List<Long> timeIds;
+
+    @PastOrPresent(message = "A data de inatividade não pode estar no futuro")
+    private LocalDate inativosDesde;
+}
@@ -0,0 +1,49 @@
+package oficial.cbpitu.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por cursor (keyset). O cliente repassa {@code proximoCursor}
+ * no parâmetro {@code apos} para buscar a página seguinte; quando vem nulo, a
+ * listagem terminou.
+ *
+ * Os {@code listarPagina} dos services buscam até {@code limite + 1} linhas com id
+ * maior que {@code apos} (0 na primeira página), em ordem de id; a linha excedente
+ * só sinaliza a próxima página e é descartada em {@link #de}.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PaginaDTO<T> {
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    private List<T> itens;
+    private Long proximoCursor;
+
+    /** Ajusta o tamanho pedido pelo cliente ao intervalo aceito. */
+    public static int limitar(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code limite + 1} linhas:
+     * a linha excedente só indica que existe uma próxima página.
+     */
+    public static <E, T> PaginaDTO<T> de(List<E> linhas, int limite,
+            Function<E, Long> id, Function<E, T> conversor) {
+        boolean temMais = linhas.size() > limite;
+        List<E> pagina = temMais ? linhas.subList(0, limite) : linhas;
+
+        return PaginaDTO.<T>builder()
+                .itens(pagina.stream().map(conversor).toList())
+                .proximoCursor(temMais ? id.apply(pagina.get(pagina.size() - 1)) : null)
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package oficial.cbpitu.dto;
+
+import lombok.*;
+
+/**
+ * Estatísticas de uma região do cache de segundo nível desde a subida da aplicação.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RegiaoCacheDTO {
+
+    private String regiao;
+    private long acertos;
+    private long falhas;
+    private long insercoes;
+    private long elementos;
+
+    // acertos / (acertos + falhas); 0 sem leituras
+    private double taxaAcerto;
+}
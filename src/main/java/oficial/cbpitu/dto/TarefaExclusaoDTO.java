@@ -0,0 +1,22 @@
+package oficial.cbpitu.dto;
+
+import lombok.*;
+import oficial.cbpitu.model.enums.StatusTarefaExclusao;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TarefaExclusaoDTO {
+
+    private Long id;
+    private StatusTarefaExclusao status;
+    private Integer total;
+    private Integer processados;
+    private String ultimoErro;
+    private LocalDateTime criadaEm;
+    private LocalDateTime concluidaEm;
+}
@@ -0,0 +1,40 @@
+package oficial.cbpitu.dto.campeonato;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import oficial.cbpitu.dto.TimeResumoDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registros do campeonato alterados depois de uma revisão, no estado atual.
+ * Só os campos com alteração vêm preenchidos. O cliente guarda {@code revisao}
+ * para o próximo pedido; com {@code recarregar}, baixa o detalhe inteiro.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AlteracoesCampeonatoDTO {
+
+    private Long campeonatoId;
+    private Long revisao;
+    private Boolean recarregar;
+
+    // Dados do campeonato e inscritos
+    private CampeonatoResumoDTO campeonato;
+    private List<TimeResumoDTO> timesParticipantes;
+
+    // Fases e grupos sem as listas aninhadas; tabelas por ID do grupo
+    private List<FaseDTO> fases;
+    private List<GrupoDTO> grupos;
+    private Map<Long, List<ClassificacaoDTO>> classificacoes;
+    private List<PartidaDTO> partidas;
+
+    private List<Long> fasesRemovidas;
+    private List<Long> gruposRemovidos;
+    private List<Long> partidasRemovidas;
+}
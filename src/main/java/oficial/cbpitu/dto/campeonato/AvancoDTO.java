@@ -0,0 +1,22 @@
+package oficial.cbpitu.dto.campeonato;
+
+import lombok.*;
+import oficial.cbpitu.model.enums.StatusEventoAvanco;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AvancoDTO {
+
+    private Long partidaId;
+    private Long faseId;
+    private StatusEventoAvanco status;
+    private Integer tentativas;
+    private String ultimoErro;
+    private LocalDateTime criadoEm;
+    private LocalDateTime processadoEm;
+}
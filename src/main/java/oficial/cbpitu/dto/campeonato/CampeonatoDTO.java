@@ -25,6 +25,9 @@ public class CampeonatoDTO {
     private List<TimeResumoDTO> timesParticipantes;
     private List<FaseDTO> fases;
     private TimeResumoDTO campeao;
+
+    // Revisão do detalhe, ponto de partida para /changes?since=
+    private Long revisao;
     
     // Edição vinculada
     private Long edicaoId;
@@ -0,0 +1,32 @@
+package oficial.cbpitu.dto.campeonato;
+
+import lombok.*;
+import oficial.cbpitu.dto.TimeResumoDTO;
+import oficial.cbpitu.model.enums.StatusCampeonato;
+
+import java.time.LocalDate;
+
+/**
+ * Campeonato sem fases, grupos e tabelas, usado na listagem.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CampeonatoResumoDTO {
+
+    private Long id;
+    private String nome;
+    private String descricao;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private StatusCampeonato status;
+    private Integer limiteMaximoTimes;
+    private Integer numeroTimesInscritos;
+    private TimeResumoDTO campeao;
+
+    // Edição vinculada
+    private Long edicaoId;
+    private String edicaoNome;
+}
@@ -0,0 +1,28 @@
+package oficial.cbpitu.dto.campeonato;
+
+import lombok.*;
+import oficial.cbpitu.dto.TimeResumoDTO;
+import oficial.cbpitu.service.strategy.CenariosGrupo;
+
+/**
+ * Faixa de posições ainda possível para o time (1 = primeiro) e se a vaga já
+ * está decidida. {@code pontosParaGarantir} vem nulo quando nem vencendo tudo
+ * o time depende só de si.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CenarioTimeDTO {
+
+    private Integer posicao;
+    private TimeResumoDTO time;
+    private Integer pontos;
+    private Integer jogosRestantes;
+    private Integer pontosMaximos;
+    private Integer melhorPosicao;
+    private Integer piorPosicao;
+    private CenariosGrupo.Situacao situacao;
+    private Integer pontosParaGarantir;
+}
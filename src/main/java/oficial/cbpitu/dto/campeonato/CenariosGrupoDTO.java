@@ -0,0 +1,23 @@
+package oficial.cbpitu.dto.campeonato;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Situação de cada time do grupo diante das partidas que faltam, na ordem atual
+ * da tabela. Serve também de prévia do chaveamento: quem tem
+ * {@code piorPosicao} igual a {@code melhorPosicao} já tem a posição definida.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CenariosGrupoDTO {
+
+    private Long grupoId;
+    private Integer vagas;
+    private Integer partidasRestantes;
+    private List<CenarioTimeDTO> times;
+}
@@ -0,0 +1,33 @@
+package oficial.cbpitu.dto.campeonato;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Evento da transmissão ao vivo do campeonato (SSE). Leva só o que mudou:
+ * as partidas alteradas ou a tabela do grupo alterado.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventoCampeonatoDTO {
+
+    /**
+     * RESINCRONIZAR avisa que eventos se perderam (reconexão tardia, outra
+     * instância, cliente lento): o cliente deve recarregar o campeonato inteiro.
+     */
+    public enum Tipo {
+        PARTIDAS_CRIADAS, PARTIDA_FINALIZADA, PARTIDA_ATUALIZADA, CLASSIFICACAO_ALTERADA, RESINCRONIZAR
+    }
+
+    private Tipo tipo;
+    private Long campeonatoId;
+    private List<PartidaDTO> partidas;
+    private Long grupoId;
+    private List<ClassificacaoDTO> classificacao;
+}
@@ -0,0 +1,26 @@
+package oficial.cbpitu.dto.campeonato;
+
+import lombok.*;
+
+/**
+ * Resultado de uma inscrição: o time ficou com uma vaga ou entrou na lista de espera.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InscricaoDTO {
+
+    public enum Situacao {
+        INSCRITO,
+        LISTA_ESPERA
+    }
+
+    private Long campeonatoId;
+    private Long timeId;
+    private Situacao situacao;
+
+    // Posição na lista de espera (1 = próximo a entrar); nulo quando inscrito
+    private Long posicaoListaEspera;
+}
@@ -0,0 +1,35 @@
+package oficial.cbpitu.dto.campeonato;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Um resultado dentro do lote. PLACAR e SERIE usam os dois placares
+ * (na série, vitórias de cada time); WO usa timeVencedorId.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ItemResultadoDTO {
+
+    public enum Tipo {
+        PLACAR, SERIE, WO
+    }
+
+    @NotNull(message = "ID da partida é obrigatório")
+    private Long partidaId;
+
+    @NotNull(message = "Tipo do resultado é obrigatório")
+    private Tipo tipo;
+
+    @Min(value = 0, message = "Placar não pode ser negativo")
+    private Integer placarTime1;
+
+    @Min(value = 0, message = "Placar não pode ser negativo")
+    private Integer placarTime2;
+
+    private Long timeVencedorId;
+}
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 public class PartidaDTO {
 
     private Long id;
+    private Long campeonatoId;
     private Long faseId;
     private Long grupoId;
     private TimeResumoDTO time1;
@@ -26,4 +27,5 @@ public class PartidaDTO {
     private String identificadorBracket;
     private TimeResumoDTO vencedor;
     private String nomeGrupo;
+    private Long versao;
 }
@@ -0,0 +1,25 @@
+package oficial.cbpitu.dto.campeonato;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import oficial.cbpitu.dto.TimeResumoDTO;
+
+import java.util.List;
+
+/**
+ * Chances de um time: de avançar e de terminar em cada posição
+ * ({@code posicoes.get(0)} = primeiro do grupo, ou da fase no suíço).
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProbabilidadeTimeDTO {
+
+    private TimeResumoDTO time;
+    private Long grupoId;
+    private Double classificacao;
+    private List<Double> posicoes;
+}
@@ -0,0 +1,27 @@
+package oficial.cbpitu.dto.campeonato;
+
+import lombok.*;
+import oficial.cbpitu.service.strategy.SimulacaoFase;
+
+import java.util.List;
+
+/**
+ * Probabilidades de classificação de uma fase em andamento, por simulação de
+ * Monte Carlo do que falta jogar. Calculadas sobre a revisão {@code revisao} do
+ * campeonato; o mesmo pedido na mesma revisão dá o mesmo resultado.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProbabilidadesFaseDTO {
+
+    private Long faseId;
+    private Long revisao;
+    private Integer simulacoes;
+    private SimulacaoFase.Modelo modelo;
+
+    // Por grupo (na ordem da fase) e, dentro dele, da maior chance de avançar para a menor
+    private List<ProbabilidadeTimeDTO> times;
+}
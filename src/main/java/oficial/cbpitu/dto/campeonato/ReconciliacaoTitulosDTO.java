@@ -0,0 +1,17 @@
+package oficial.cbpitu.dto.campeonato;
+
+import lombok.*;
+
+/**
+ * Resultado da reconciliação: quantos contadores estavam divergentes do histórico.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReconciliacaoTitulosDTO {
+
+    private int timesCorrigidos;
+    private int jogadoresCorrigidos;
+}
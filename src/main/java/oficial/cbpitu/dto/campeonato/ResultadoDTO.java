@@ -21,4 +21,7 @@ public class ResultadoDTO {
     @NotNull(message = "Placar do time 2 é obrigatório")
     @Min(value = 0, message = "Placar não pode ser negativo")
     private Integer placarTime2;
+
+    // Versão da partida lida pelo cliente (opcional); divergente = 409
+    private Long versao;
 }
@@ -0,0 +1,23 @@
+package oficial.cbpitu.dto.campeonato;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para registrar os resultados de várias partidas de uma vez.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResultadoLoteDTO {
+
+    @NotEmpty(message = "Informe pelo menos um resultado")
+    @Size(max = 500, message = "Máximo de 500 resultados por lote")
+    private List<@Valid ItemResultadoDTO> resultados;
+}
@@ -2,6 +2,7 @@ package oficial.cbpitu.exception;
 
 import oficial.cbpitu.dto.ErroDTO;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -65,6 +66,36 @@ public class GlobalExceptionHandler {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(erro);
         }
 
+        @ExceptionHandler(LimiteExcedidoException.class)
+        public ResponseEntity<ErroDTO> handleLimiteExcedido(
+                        LimiteExcedidoException ex, WebRequest request) {
+
+                ErroDTO erro = ErroDTO.builder()
+                                .timestamp(LocalDateTime.now())
+                                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                                .erro("Limite excedido")
+                                .mensagem(ex.getMessage())
+                                .path(getPath(request))
+                                .build();
+
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(erro);
+        }
+
+        @ExceptionHandler(OptimisticLockingFailureException.class)
+        public ResponseEntity<ErroDTO> handleConflitoDeVersao(
+                        OptimisticLockingFailureException ex, WebRequest request) {
+
+                ErroDTO erro = ErroDTO.builder()
+                                .timestamp(LocalDateTime.now())
+                                .status(HttpStatus.CONFLICT.value())
+                                .erro("Conflito de edição")
+                                .mensagem("O registro foi alterado por outra operação. Recarregue os dados e tente novamente.")
+                                .path(getPath(request))
+                                .build();
+
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(erro);
+        }
+
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ErroDTO> handleValidationErrors(
                         MethodArgumentNotValidException ex, WebRequest request) {
@@ -0,0 +1,11 @@
+package oficial.cbpitu.exception;
+
+/**
+ * Exceção para quando um recurso limitado está ocupado e o pedido deve ser repetido depois.
+ */
+public class LimiteExcedidoException extends RuntimeException {
+
+    public LimiteExcedidoException(String mensagem) {
+        super(mensagem);
+    }
+}
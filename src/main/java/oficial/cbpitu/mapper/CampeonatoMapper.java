@@ -2,10 +2,12 @@ package oficial.cbpitu.mapper;
 
 import lombok.RequiredArgsConstructor;
 import oficial.cbpitu.dto.campeonato.CampeonatoDTO;
+import oficial.cbpitu.dto.campeonato.CampeonatoResumoDTO;
 import oficial.cbpitu.dto.campeonato.CriarCampeonatoDTO;
 import oficial.cbpitu.model.Campeonato;
 import oficial.cbpitu.model.Edicao;
 import oficial.cbpitu.repository.EdicaoRepository;
+import oficial.cbpitu.service.ClassificacaoService;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -22,6 +24,7 @@ public class CampeonatoMapper {
     private final FaseMapper faseMapper;
     private final TimeMapper timeMapper;
     private final EdicaoRepository edicaoRepository;
+    private final ClassificacaoService classificacaoService;
 
     public CampeonatoDTO toDTO(Campeonato campeonato) {
         if (campeonato == null)
@@ -37,8 +40,10 @@ public class CampeonatoMapper {
                 .limiteMaximoTimes(campeonato.getLimiteMaximoTimes())
                 .numeroTimesInscritos(campeonato.getNumeroTimesInscritos())
                 .timesParticipantes(timeMapper.toResumoDTOList(new ArrayList<>(campeonato.getTimesParticipantes())))
-                .fases(faseMapper.toDTOList(campeonato.getFases()))
-                .campeao(timeMapper.toResumoDTO(campeonato.getCampeao()));
+                .fases(faseMapper.toDTOList(campeonato.getFases(),
+                        classificacaoService.getTabelasCampeonato(campeonato.getId())))
+                .campeao(timeMapper.toResumoDTO(campeonato.getCampeao()))
+                .revisao(campeonato.getRevisao());
         
         // Adiciona informações da edição, se houver
         if (campeonato.getEdicao() != null) {
@@ -49,6 +54,29 @@ public class CampeonatoMapper {
         return builder.build();
     }
 
+    public CampeonatoResumoDTO toResumoDTO(Campeonato campeonato) {
+        if (campeonato == null)
+            return null;
+
+        CampeonatoResumoDTO.CampeonatoResumoDTOBuilder builder = CampeonatoResumoDTO.builder()
+                .id(campeonato.getId())
+                .nome(campeonato.getNome())
+                .descricao(campeonato.getDescricao())
+                .dataInicio(campeonato.getDataInicio())
+                .dataFim(campeonato.getDataFim())
+                .status(campeonato.getStatus())
+                .limiteMaximoTimes(campeonato.getLimiteMaximoTimes())
+                .numeroTimesInscritos(campeonato.getNumeroTimesInscritos())
+                .campeao(timeMapper.toResumoDTO(campeonato.getCampeao()));
+
+        if (campeonato.getEdicao() != null) {
+            builder.edicaoId(campeonato.getEdicao().getId());
+            builder.edicaoNome(campeonato.getEdicao().getNomeCompleto());
+        }
+
+        return builder.build();
+    }
+
     public List<CampeonatoDTO> toDTOList(List<Campeonato> campeonatos) {
         if (campeonatos == null)
             return List.of();
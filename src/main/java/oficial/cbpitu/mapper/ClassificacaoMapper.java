@@ -1,7 +1,10 @@
 package oficial.cbpitu.mapper;
 
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.campeonato.CenarioTimeDTO;
+import oficial.cbpitu.dto.campeonato.CenariosGrupoDTO;
 import oficial.cbpitu.dto.campeonato.ClassificacaoDTO;
+import oficial.cbpitu.service.strategy.CenariosGrupo;
 import oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo;
 import org.springframework.stereotype.Component;
 
@@ -45,4 +48,29 @@ public class ClassificacaoMapper {
         }
         return resultado;
     }
+
+    public CenariosGrupoDTO toCenariosDTO(Long grupoId, CenariosGrupo cenarios) {
+        List<CenarioTimeDTO> times = new ArrayList<>();
+        List<ClassificacaoGrupo> tabela = cenarios.getTabela();
+        for (int i = 0; i < tabela.size(); i++) {
+            times.add(CenarioTimeDTO.builder()
+                    .posicao(i + 1)
+                    .time(timeMapper.toResumoDTO(tabela.get(i).getTime()))
+                    .pontos(tabela.get(i).getPontos())
+                    .jogosRestantes(cenarios.getJogosRestantes(i))
+                    .pontosMaximos(cenarios.getPontosMaximos(i))
+                    .melhorPosicao(cenarios.getMelhorPosicao(i))
+                    .piorPosicao(cenarios.getPiorPosicao(i))
+                    .situacao(cenarios.getSituacao(i))
+                    .pontosParaGarantir(cenarios.getPontosParaGarantir(i))
+                    .build());
+        }
+
+        return CenariosGrupoDTO.builder()
+                .grupoId(grupoId)
+                .vagas(cenarios.getVagas())
+                .partidasRestantes(cenarios.getPartidasRestantes())
+                .times(times)
+                .build();
+    }
 }
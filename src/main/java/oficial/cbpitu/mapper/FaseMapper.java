@@ -3,9 +3,11 @@ package oficial.cbpitu.mapper;
 import lombok.RequiredArgsConstructor;
 import oficial.cbpitu.dto.campeonato.FaseDTO;
 import oficial.cbpitu.model.Fase;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -19,6 +21,10 @@ public class FaseMapper {
     private final PartidaMapper partidaMapper;
 
     public FaseDTO toDTO(Fase fase) {
+        return toDTO(fase, Map.of());
+    }
+
+    public FaseDTO toDTO(Fase fase, Map<Long, List<ClassificacaoGrupo>> tabelas) {
         if (fase == null)
             return null;
 
@@ -30,17 +36,21 @@ public class FaseMapper {
                 .classificadosNecessarios(fase.getClassificadosNecessarios())
                 .rodadasTotais(fase.getRodadasTotais())
                 .finalizada(fase.getFinalizada())
-                .grupos(grupoMapper.toDTOList(fase.getGrupos()))
+                .grupos(grupoMapper.toDTOList(fase.getGrupos(), tabelas))
                 .partidas(partidaMapper.toDTOList(fase.getPartidas()))
                 .build();
     }
 
     public List<FaseDTO> toDTOList(List<Fase> fases) {
+        return toDTOList(fases, Map.of());
+    }
+
+    public List<FaseDTO> toDTOList(List<Fase> fases, Map<Long, List<ClassificacaoGrupo>> tabelas) {
         if (fases == null)
             return List.of();
 
         return fases.stream()
-                .map(this::toDTO)
+                .map(f -> toDTO(f, tabelas))
                 .collect(Collectors.toList());
     }
 }
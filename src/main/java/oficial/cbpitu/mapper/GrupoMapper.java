@@ -3,9 +3,11 @@ package oficial.cbpitu.mapper;
 import lombok.RequiredArgsConstructor;
 import oficial.cbpitu.dto.campeonato.GrupoDTO;
 import oficial.cbpitu.model.Grupo;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -16,51 +18,46 @@ import java.util.stream.Collectors;
 public class GrupoMapper {
 
     private final TimeMapper timeMapper;
-    private final oficial.cbpitu.service.strategy.FaseDeGruposStrategy faseDeGruposStrategy;
-    private final oficial.cbpitu.repository.PartidaRepository partidaRepository;
+    private final ClassificacaoMapper classificacaoMapper;
+    private final oficial.cbpitu.service.ClassificacaoService classificacaoService;
 
     public GrupoDTO toDTO(Grupo grupo) {
+        return toDTO(grupo, Map.of());
+    }
+
+    /**
+     * Converte o grupo usando tabelas já carregadas (por ID do grupo).
+     * Grupos ausentes do mapa consultam a própria tabela.
+     */
+    public GrupoDTO toDTO(Grupo grupo, Map<Long, List<FaseDeGruposStrategy.ClassificacaoGrupo>> tabelas) {
         if (grupo == null)
             return null;
 
+        List<FaseDeGruposStrategy.ClassificacaoGrupo> tabela = tabelas.get(grupo.getId());
+        if (tabela == null) {
+            tabela = classificacaoService.getTabelaGrupo(grupo);
+        }
+
         return GrupoDTO.builder()
                 .id(grupo.getId())
                 .nome(grupo.getNome())
                 .times(grupo.getTimes().stream()
                         .map(timeMapper::toResumoDTO)
                         .collect(Collectors.toList()))
-                .classificacao(toClassificacaoDTOList(faseDeGruposStrategy.calcularTabelaGrupo(grupo,
-                        partidaRepository.findByGrupoId(grupo.getId()))))
+                .classificacao(classificacaoMapper.toDTOList(tabela))
                 .build();
     }
 
     public List<GrupoDTO> toDTOList(List<Grupo> grupos) {
-        if (grupos == null)
-            return List.of();
-
-        return grupos.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return toDTOList(grupos, Map.of());
     }
 
-    private List<oficial.cbpitu.dto.campeonato.ClassificacaoDTO> toClassificacaoDTOList(
-            List<oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo> classificacao) {
-        if (classificacao == null)
+    public List<GrupoDTO> toDTOList(List<Grupo> grupos, Map<Long, List<FaseDeGruposStrategy.ClassificacaoGrupo>> tabelas) {
+        if (grupos == null)
             return List.of();
 
-        return classificacao.stream()
-                .map(c -> oficial.cbpitu.dto.campeonato.ClassificacaoDTO.builder()
-                        .time(timeMapper.toResumoDTO(c.getTime()))
-                        .jogos(c.getJogos())
-                        .vitorias(c.getVitorias())
-                        .empates(c.getEmpates())
-                        .derrotas(c.getDerrotas())
-                        .golsPro(c.getGolsPro())
-                        .golsContra(c.getGolsContra())
-                        .saldoGols(c.getSaldoGols())
-                        .pontos(c.getPontos())
-                        .posicao(0) // Posição calculada no front ou pelo índice
-                        .build())
+        return grupos.stream()
+                .map(g -> toDTO(g, tabelas))
                 .collect(Collectors.toList());
     }
 }
@@ -1,7 +1,9 @@
 package oficial.cbpitu.mapper;
 
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.campeonato.AvancoDTO;
 import oficial.cbpitu.dto.campeonato.PartidaDTO;
+import oficial.cbpitu.model.EventoAvanco;
 import oficial.cbpitu.model.Partida;
 import org.springframework.stereotype.Component;
 
@@ -23,6 +25,7 @@ public class PartidaMapper {
 
         return PartidaDTO.builder()
                 .id(partida.getId())
+                .campeonatoId(partida.getCampeonatoId())
                 .faseId(partida.getFase() != null ? partida.getFase().getId() : null)
                 .grupoId(partida.getGrupo() != null ? partida.getGrupo().getId() : null)
                 .time1(timeMapper.toResumoDTO(partida.getTime1()))
@@ -35,6 +38,7 @@ public class PartidaMapper {
                 .identificadorBracket(partida.getIdentificadorBracket())
                 .vencedor(timeMapper.toResumoDTO(partida.getVencedor()))
                 .nomeGrupo(partida.getGrupo() != null ? partida.getGrupo().getNome() : null)
+                .versao(partida.getVersao())
                 .build();
     }
 
@@ -46,4 +50,19 @@ public class PartidaMapper {
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
+
+    public AvancoDTO toAvancoDTO(EventoAvanco evento) {
+        if (evento == null)
+            return null;
+
+        return AvancoDTO.builder()
+                .partidaId(evento.getPartidaId())
+                .faseId(evento.getFaseId())
+                .status(evento.getStatus())
+                .tentativas(evento.getTentativas())
+                .ultimoErro(evento.getUltimoErro())
+                .criadoEm(evento.getCriadoEm())
+                .processadoEm(evento.getProcessadoEm())
+                .build();
+    }
 }
@@ -1,8 +1,10 @@
 package oficial.cbpitu.mapper;
 
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.TarefaExclusaoDTO;
 import oficial.cbpitu.dto.TimeDTO;
 import oficial.cbpitu.dto.TimeResumoDTO;
+import oficial.cbpitu.model.TarefaExclusao;
 import oficial.cbpitu.model.Time;
 import org.springframework.stereotype.Component;
 
@@ -34,6 +36,21 @@ public class TimeMapper {
                 .build();
     }
 
+    public TarefaExclusaoDTO toTarefaExclusaoDTO(TarefaExclusao tarefa) {
+        if (tarefa == null)
+            return null;
+
+        return TarefaExclusaoDTO.builder()
+                .id(tarefa.getId())
+                .status(tarefa.getStatus())
+                .total(tarefa.getTotal())
+                .processados(tarefa.getProcessados())
+                .ultimoErro(tarefa.getUltimoErro())
+                .criadaEm(tarefa.getCriadaEm())
+                .concluidaEm(tarefa.getConcluidaEm())
+                .build();
+    }
+
     public TimeResumoDTO toResumoDTO(Time time) {
         if (time == null)
             return null;
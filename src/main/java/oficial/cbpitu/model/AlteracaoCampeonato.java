@@ -0,0 +1,49 @@
+package oficial.cbpitu.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import oficial.cbpitu.model.enums.TipoAlteracao;
+
+/**
+ * Entrada do log de alterações do campeonato (só acrescentado). Diz que o registro
+ * mudou na revisão informada; o conteúdo é lido do próprio registro na consulta.
+ * A compactação apaga as entradas que têm outra de revisão maior para o mesmo registro.
+ */
+@Entity
+@Table(name = "tb_alteracoes_campeonato", indexes = {
+        @Index(name = "idx_alteracoes_revisao", columnList = "campeonato_id, revisao"),
+        @Index(name = "idx_alteracoes_registro", columnList = "campeonato_id, tipo, registro_id, revisao, id")
+})
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlteracaoCampeonato {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alteracaoCampeonato_seq")
+    @SequenceGenerator(name = "alteracaoCampeonato_seq", sequenceName = "tb_alteracoes_campeonato_seq", allocationSize = 50)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "campeonato_id", nullable = false)
+    private Long campeonatoId;
+
+    @Column(nullable = false)
+    private Long revisao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoAlteracao tipo;
+
+    @Column(name = "registro_id", nullable = false)
+    private Long registroId;
+
+    public AlteracaoCampeonato(Long campeonatoId, Long revisao, TipoAlteracao tipo, Long registroId) {
+        this.campeonatoId = campeonatoId;
+        this.revisao = revisao;
+        this.tipo = tipo;
+        this.registroId = registroId;
+    }
+}
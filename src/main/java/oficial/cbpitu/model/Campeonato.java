@@ -3,6 +3,8 @@ package oficial.cbpitu.model;
 import jakarta.persistence.*;
 import lombok.*;
 import oficial.cbpitu.model.enums.StatusCampeonato;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -11,7 +13,12 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "tb_campeonatos")
+@Table(name = "tb_campeonatos", indexes = {
+        @Index(name = "idx_campeonatos_status", columnList = "status, id"),
+        @Index(name = "idx_campeonatos_edicao", columnList = "edicao_id, id"),
+        @Index(name = "idx_campeonatos_campeao", columnList = "campeao_id")
+})
+@DynamicUpdate
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -24,6 +31,10 @@ public class Campeonato {
     @EqualsAndHashCode.Include
     private Long id;
 
+    // Controle de concorrência otimista (os contadores de vaga não mudam a versão)
+    @Version
+    private Long versao;
+
     @Column(nullable = false)
     private String nome;
 
@@ -39,7 +50,9 @@ public class Campeonato {
 
     // Times inscritos no campeonato
     @ManyToMany
-    @JoinTable(name = "tb_campeonato_time", joinColumns = @JoinColumn(name = "campeonato_id"), inverseJoinColumns = @JoinColumn(name = "time_id"))
+    @BatchSize(size = 50)
+    @JoinTable(name = "tb_campeonato_time", joinColumns = @JoinColumn(name = "campeonato_id"), inverseJoinColumns = @JoinColumn(name = "time_id"),
+            indexes = @Index(name = "idx_campeonato_time_time", columnList = "time_id"))
     private Set<Time> timesParticipantes = new HashSet<>();
 
     // Fases do campeonato (grupos, mata-mata, etc.)
@@ -50,6 +63,22 @@ public class Campeonato {
     // Limite de times (0 = sem limite)
     private Integer limiteMaximoTimes = 0;
 
+    // Contador de inscritos, mantido junto com a tabela de junção. As inscrições o
+    // alteram com UPDATE condicional; @DynamicUpdate evita que um save da entidade
+    // grave de volta um valor lido antes
+    @Column(nullable = false)
+    private Integer numeroTimesInscritos = 0;
+
+    // Revisão da árvore (fases, grupos, partidas, tabelas, inscritos): sobe a cada
+    // escrita que muda o detalhe do campeonato e vira o ETag (ver CampeonatoDetalheCache).
+    // Só muda por UPDATE em lote, como o contador acima
+    @Column(nullable = false)
+    private Long revisao = 0L;
+
+    // Primeira revisão coberta pelo log de alterações; "desde" anterior a ela pede o detalhe inteiro
+    @Column(nullable = false)
+    private Long inicioAlteracoes = 0L;
+
     // Time campeão (definido ao final)
     @ManyToOne
     @JoinColumn(name = "campeao_id")
@@ -60,13 +89,24 @@ public class Campeonato {
     @JoinColumn(name = "edicao_id")
     private Edicao edicao;
 
+    // Jogadores que receberam o título, gravados na premiação (ver TitulosService):
+    // a reconciliação conta a partir daqui, e não do elenco que o time tem hoje
+    @ElementCollection
+    @CollectionTable(name = "tb_campeonato_premiados", joinColumns = @JoinColumn(name = "campeonato_id"))
+    @Column(name = "jogador_id")
+    private Set<Long> jogadoresPremiados = new HashSet<>();
+
     // Métodos utilitários
     public void adicionarTime(Time time) {
-        this.timesParticipantes.add(time);
+        if (this.timesParticipantes.add(time)) {
+            this.numeroTimesInscritos++;
+        }
     }
 
     public void removerTime(Time time) {
-        this.timesParticipantes.remove(time);
+        if (this.timesParticipantes.remove(time)) {
+            this.numeroTimesInscritos--;
+        }
     }
 
     public void adicionarFase(Fase fase) {
@@ -74,17 +114,4 @@ public class Campeonato {
         this.fases.add(fase);
     }
 
-    public int getNumeroTimesInscritos() {
-        return this.timesParticipantes.size();
-    }
-
-    public boolean podeInscreverTime() {
-        if (this.status != StatusCampeonato.INSCRICOES_ABERTAS) {
-            return false;
-        }
-        if (this.limiteMaximoTimes > 0 && this.timesParticipantes.size() >= this.limiteMaximoTimes) {
-            return false;
-        }
-        return true;
-    }
 }
@@ -0,0 +1,50 @@
+package oficial.cbpitu.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Linha persistida da tabela de classificação de um grupo.
+ * Mantida incrementalmente a cada resultado registrado, para que a leitura
+ * da tabela não precise reprocessar todas as partidas do grupo.
+ */
+@Entity
+@Table(name = "tb_classificacoes", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"grupo_id", "time_id"})
+}, indexes = {
+    @Index(name = "idx_classificacoes_time", columnList = "time_id")
+})
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class Classificacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "classificacao_seq")
+    @SequenceGenerator(name = "classificacao_seq", sequenceName = "tb_classificacoes_seq", allocationSize = 50)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "grupo_id", nullable = false)
+    private Grupo grupo;
+
+    @ManyToOne
+    @JoinColumn(name = "time_id", nullable = false)
+    private Time time;
+
+    private Integer jogos = 0;
+    private Integer vitorias = 0;
+    private Integer empates = 0;
+    private Integer derrotas = 0;
+    private Integer golsPro = 0;
+    private Integer golsContra = 0;
+    private Integer pontos = 0;
+
+    public Classificacao(Grupo grupo, Time time) {
+        this.grupo = grupo;
+        this.time = time;
+    }
+}
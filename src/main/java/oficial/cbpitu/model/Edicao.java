@@ -2,6 +2,8 @@ package oficial.cbpitu.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -9,6 +11,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "tb_edicoes")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "edicoes")
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
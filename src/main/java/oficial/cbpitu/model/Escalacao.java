@@ -2,6 +2,7 @@ package oficial.cbpitu.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -9,6 +10,8 @@ import java.util.Set;
 @Entity
 @Table(name = "tb_escalacoes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"time_id", "edicao_id"})
+}, indexes = {
+    @Index(name = "idx_escalacoes_edicao", columnList = "edicao_id, id")
 })
 @Getter
 @Setter
@@ -18,7 +21,8 @@ import java.util.Set;
 public class Escalacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "escalacao_seq")
+    @SequenceGenerator(name = "escalacao_seq", sequenceName = "tb_escalacoes_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -34,6 +38,7 @@ public class Escalacao {
 
     // Jogadores desta escalação (roster para esta temporada)
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
         name = "tb_escalacao_jogador",
         joinColumns = @JoinColumn(name = "escalacao_id"),
@@ -0,0 +1,65 @@
+package oficial.cbpitu.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import oficial.cbpitu.model.enums.StatusEventoAvanco;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pedido de avanço gravado junto com o resultado da partida (outbox).
+ * Guarda só os IDs, para não impedir a remoção da partida ou da fase.
+ */
+@Entity
+@Table(name = "tb_eventos_avanco", indexes = {
+        @Index(name = "idx_evento_avanco_fila", columnList = "status, proxima_tentativa_em"),
+        @Index(name = "idx_evento_avanco_partida", columnList = "partida_id"),
+        @Index(name = "idx_evento_avanco_rodada", columnList = "fase_id, rodada")
+})
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventoAvanco {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventoAvanco_seq")
+    @SequenceGenerator(name = "eventoAvanco_seq", sequenceName = "tb_eventos_avanco_seq", allocationSize = 50)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "fase_id", nullable = false)
+    private Long faseId;
+
+    @Column(name = "partida_id", nullable = false)
+    private Long partidaId;
+
+    private Integer rodada;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusEventoAvanco status = StatusEventoAvanco.PENDENTE;
+
+    private Integer tentativas = 0;
+
+    @Column(length = 500)
+    private String ultimoErro;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+    // Pendente: quando pode ser tentado. Processando: fim da reserva do worker.
+    @Column(name = "proxima_tentativa_em", nullable = false)
+    private LocalDateTime proximaTentativaEm;
+
+    private LocalDateTime processadoEm;
+
+    public EventoAvanco(Partida partida) {
+        this.faseId = partida.getFase().getId();
+        this.partidaId = partida.getId();
+        this.rodada = partida.getRodada();
+        this.criadoEm = LocalDateTime.now();
+        this.proximaTentativaEm = this.criadoEm;
+    }
+}
@@ -21,6 +21,10 @@ public class Fase {
     @EqualsAndHashCode.Include
     private Long id;
 
+    // Controle de concorrência otimista
+    @Version
+    private Long versao;
+
     @Column(nullable = false)
     private String nome; // Ex: "Fase de Grupos", "Quartas de Final", "Semifinal", "Final"
 
@@ -18,7 +18,8 @@ import java.util.Set;
 public class Grupo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grupo_seq")
+    @SequenceGenerator(name = "grupo_seq", sequenceName = "tb_grupos_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -31,7 +32,8 @@ public class Grupo {
 
     // Times do grupo
     @ManyToMany
-    @JoinTable(name = "tb_grupo_time", joinColumns = @JoinColumn(name = "grupo_id"), inverseJoinColumns = @JoinColumn(name = "time_id"))
+    @JoinTable(name = "tb_grupo_time", joinColumns = @JoinColumn(name = "grupo_id"), inverseJoinColumns = @JoinColumn(name = "time_id"),
+            indexes = @Index(name = "idx_grupo_time_time", columnList = "time_id"))
     private Set<Time> times = new HashSet<>();
 
     // Partidas do grupo
@@ -39,6 +41,10 @@ public class Grupo {
     @OrderBy("rodada ASC, id ASC")
     private List<Partida> partidas = new ArrayList<>();
 
+    // Tabela de classificação persistida (mantida por ClassificacaoService)
+    @OneToMany(mappedBy = "grupo", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<Classificacao> classificacoes = new ArrayList<>();
+
     // Métodos utilitários
     public void adicionarTime(Time time) {
         this.times.add(time);
@@ -0,0 +1,39 @@
+package oficial.cbpitu.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time na lista de espera de um campeonato com as vagas esgotadas.
+ * A ordem de chegada é a do id. Guarda só os IDs, para não impedir a remoção
+ * do campeonato ou do time.
+ */
+@Entity
+@Table(name = "tb_lista_espera", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"campeonato_id", "time_id"})
+}, indexes = {
+        @Index(name = "idx_lista_espera_fila", columnList = "campeonato_id, id")
+})
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class InscricaoEspera {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "campeonato_id", nullable = false)
+    private Long campeonatoId;
+
+    @Column(name = "time_id", nullable = false)
+    private Long timeId;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+}
@@ -2,12 +2,16 @@ package oficial.cbpitu.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "tb_jogadores")
+@Table(name = "tb_jogadores", indexes = @Index(name = "idx_jogadores_nickname", columnList = "nickname"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "jogadores")
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -27,7 +31,9 @@ public class Jogador {
     // Títulos conquistados em campeonatos
     private Integer titulos = 0;
 
+    // Carrega os times de uma página inteira de jogadores em poucas consultas
     @ManyToMany(mappedBy = "jogadores")
+    @BatchSize(size = 50)
     private Set<Time> times = new HashSet<>();
 }
 
@@ -7,7 +7,17 @@ import oficial.cbpitu.model.enums.StatusPartida;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tb_partidas")
+@Table(name = "tb_partidas", indexes = {
+        @Index(name = "idx_partidas_fase", columnList = "fase_id, id"),
+        @Index(name = "idx_partidas_status", columnList = "status, id"),
+        @Index(name = "idx_partidas_campeonato_agenda", columnList = "campeonato_id, status, data_hora"),
+        @Index(name = "idx_partidas_campeonato_data", columnList = "campeonato_id, data_hora, id"),
+        @Index(name = "idx_partidas_agenda", columnList = "status, data_hora, id"),
+        @Index(name = "idx_partidas_time1", columnList = "time1_id"),
+        @Index(name = "idx_partidas_time2", columnList = "time2_id"),
+        @Index(name = "idx_partidas_prox_vencedor", columnList = "proxima_partida_vencedor_id"),
+        @Index(name = "idx_partidas_prox_perdedor", columnList = "proxima_partida_perdedor_id")
+})
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -16,10 +26,15 @@ import java.time.LocalDateTime;
 public class Partida {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partida_seq")
+    @SequenceGenerator(name = "partida_seq", sequenceName = "tb_partidas_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
+    // Controle de concorrência otimista
+    @Version
+    private Long versao;
+
     @ManyToOne
     @JoinColumn(name = "time1_id")
     private Time time1; // mandante ou seed superior
@@ -42,6 +57,10 @@ public class Partida {
     @JoinColumn(name = "fase_id")
     private Fase fase;
 
+    // Campeonato da fase, copiado na criação para as consultas por data usarem um só índice
+    @Column(name = "campeonato_id")
+    private Long campeonatoId;
+
     // Grupo (se for fase de grupos)
     @ManyToOne
     @JoinColumn(name = "grupo_id")
@@ -63,6 +82,26 @@ public class Partida {
     @JoinColumn(name = "vencedor_id")
     private Time vencedor;
 
+    // Destinos no chaveamento (double elimination): partida e vaga (1 = time1, 2 = time2)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "proxima_partida_vencedor_id")
+    private Partida proximaPartidaVencedor;
+
+    private Integer vagaVencedor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "proxima_partida_perdedor_id")
+    private Partida proximaPartidaPerdedor;
+
+    private Integer vagaPerdedor;
+
+    @PrePersist
+    void preencherCampeonato() {
+        if (this.campeonatoId == null && this.fase != null && this.fase.getCampeonato() != null) {
+            this.campeonatoId = this.fase.getCampeonato().getId();
+        }
+    }
+
     // Métodos utilitários
     public void registrarResultado(int placarTime1, int placarTime2) {
         this.placarTime1 = placarTime1;
@@ -107,4 +146,26 @@ public class Partida {
     public boolean isFinalizada() {
         return this.status == StatusPartida.FINALIZADA;
     }
+
+    public boolean temTimesDefinidos() {
+        return this.time1 != null && this.time2 != null;
+    }
+
+    public void definirVencedorEm(Partida destino, int vaga) {
+        this.proximaPartidaVencedor = destino;
+        this.vagaVencedor = vaga;
+    }
+
+    public void definirPerdedorEm(Partida destino, int vaga) {
+        this.proximaPartidaPerdedor = destino;
+        this.vagaPerdedor = vaga;
+    }
+
+    public void preencherVaga(int vaga, Time time) {
+        if (vaga == 1) {
+            this.time1 = time;
+        } else {
+            this.time2 = time;
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package oficial.cbpitu.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import oficial.cbpitu.model.enums.StatusTarefaExclusao;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Exclusão de times em segundo plano. Os IDs ainda não excluídos ficam em
+ * tb_tarefa_exclusao_times e saem de lá a cada lote processado.
+ */
+@Entity
+@Table(name = "tb_tarefas_exclusao", indexes = {
+        @Index(name = "idx_tarefa_exclusao_status", columnList = "status, id")
+})
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class TarefaExclusao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusTarefaExclusao status = StatusTarefaExclusao.PENDENTE;
+
+    @Column(nullable = false)
+    private Integer total = 0;
+
+    @Column(nullable = false)
+    private Integer processados = 0;
+
+    @Column(length = 500)
+    private String ultimoErro;
+
+    @Column(nullable = false)
+    private LocalDateTime criadaEm;
+
+    private LocalDateTime concluidaEm;
+
+    // Times que faltam excluir (lidos em lotes por consulta nativa, nunca carregados inteiros)
+    @ElementCollection
+    @CollectionTable(name = "tb_tarefa_exclusao_times", joinColumns = @JoinColumn(name = "tarefa_id"))
+    @Column(name = "time_id")
+    private Set<Long> timesPendentes = new HashSet<>();
+
+    public TarefaExclusao(Set<Long> timeIds) {
+        this.timesPendentes = timeIds;
+        this.total = timeIds.size();
+        this.criadaEm = LocalDateTime.now();
+    }
+}
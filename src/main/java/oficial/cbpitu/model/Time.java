@@ -2,6 +2,9 @@ package oficial.cbpitu.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.List;
@@ -9,6 +12,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tb_times")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "times")
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -27,15 +31,23 @@ public class Time {
     // Quantidade de títulos/troféus conquistados
     private Integer trofeus = 0;
 
+    // Nome explícito (o mesmo do padrão) porque a exclusão em lote apaga esta tabela direto
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "times-campeonatos-participados")
+    @CollectionTable(name = "time_campeonatos_participados", joinColumns = @JoinColumn(name = "time_id"))
     private Set<Long> campeonatosParticipados = new HashSet<>();
 
     // usuarios
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "capitao_id")
     private Jogador capitao;
 
+    // Lado dono da relação: só ele vai para o cache (o lado inverso, Jogador.times,
+    // não seria invalidado quando o elenco muda por aqui)
     @ManyToMany
-    @JoinTable(name = "tb_time_jogador", joinColumns = @JoinColumn(name = "time_id"), inverseJoinColumns = @JoinColumn(name = "jogador_id"))
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "times-jogadores")
+    @JoinTable(name = "tb_time_jogador", joinColumns = @JoinColumn(name = "time_id"), inverseJoinColumns = @JoinColumn(name = "jogador_id"),
+            indexes = @Index(name = "idx_time_jogador_jogador", columnList = "jogador_id"))
     private Set<Jogador> jogadores = new HashSet<>();
 }
@@ -0,0 +1,28 @@
+package oficial.cbpitu.model.enums;
+
+/**
+ * Status de um evento de avanço de fase (outbox).
+ */
+public enum StatusEventoAvanco {
+
+    PENDENTE("Pendente", "Aguardando processamento"),
+    PROCESSANDO("Processando", "Reservado por um worker"),
+    CONCLUIDO("Concluído", "Avanço processado"),
+    FALHOU("Falhou", "Avanço não pôde ser processado");
+
+    private final String nome;
+    private final String descricao;
+
+    StatusEventoAvanco(String nome, String descricao) {
+        this.nome = nome;
+        this.descricao = descricao;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
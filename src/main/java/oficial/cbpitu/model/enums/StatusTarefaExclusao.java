@@ -0,0 +1,28 @@
+package oficial.cbpitu.model.enums;
+
+/**
+ * Status de uma exclusão de times em segundo plano.
+ */
+public enum StatusTarefaExclusao {
+
+    PENDENTE("Pendente", "Aguardando o worker"),
+    PROCESSANDO("Processando", "Excluindo os times em lotes"),
+    CONCLUIDA("Concluída", "Todos os times foram excluídos"),
+    FALHOU("Falhou", "A exclusão parou por erro");
+
+    private final String nome;
+    private final String descricao;
+
+    StatusTarefaExclusao(String nome, String descricao) {
+        this.nome = nome;
+        this.descricao = descricao;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
@@ -0,0 +1,15 @@
+package oficial.cbpitu.model.enums;
+
+/**
+ * Registro alterado numa entrada do log de alterações do campeonato.
+ * CLASSIFICACAO usa o ID do grupo da tabela. PARTIDA_CRIADA separa a criação
+ * das outras mudanças da partida, para a transmissão ao vivo.
+ */
+public enum TipoAlteracao {
+    CAMPEONATO,
+    FASE,
+    GRUPO,
+    CLASSIFICACAO,
+    PARTIDA,
+    PARTIDA_CRIADA
+}
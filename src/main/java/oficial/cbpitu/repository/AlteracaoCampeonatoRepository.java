@@ -0,0 +1,40 @@
+package oficial.cbpitu.repository;
+
+import jakarta.persistence.QueryHint;
+import oficial.cbpitu.model.AlteracaoCampeonato;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AlteracaoCampeonatoRepository extends JpaRepository<AlteracaoCampeonato, Long> {
+
+    @Query("SELECT a FROM AlteracaoCampeonato a WHERE a.campeonatoId = :campeonatoId "
+            + "AND a.revisao > :desde AND a.revisao <= :ate")
+    List<AlteracaoCampeonato> buscarEntre(Long campeonatoId, long desde, long ate);
+
+    /**
+     * Apaga até {@code lote} entradas que já têm outra mais nova para o mesmo registro.
+     * Quem pede "desde N" continua recebendo o registro pela entrada mais nova.
+     * "Mais nova" é a de revisão maior: os IDs saem de blocos reservados por
+     * instância (allocationSize 50) e não seguem a ordem dos commits. O ID só
+     * desempata entradas da mesma revisão.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_alteracoes_campeonato"))
+    @Query(value = "DELETE FROM tb_alteracoes_campeonato WHERE id IN ("
+            + "SELECT a.id FROM tb_alteracoes_campeonato a WHERE EXISTS ("
+            + "SELECT 1 FROM tb_alteracoes_campeonato b WHERE b.campeonato_id = a.campeonato_id "
+            + "AND b.tipo = a.tipo AND b.registro_id = a.registro_id "
+            + "AND (b.revisao > a.revisao OR (b.revisao = a.revisao AND b.id > a.id))) "
+            + "LIMIT :lote)", nativeQuery = true)
+    int compactar(int lote);
+
+    @Modifying
+    @Query("DELETE FROM AlteracaoCampeonato a WHERE a.campeonatoId = :campeonatoId")
+    int removerDoCampeonato(Long campeonatoId);
+}
@@ -1,12 +1,19 @@
 package oficial.cbpitu.repository;
 
+import jakarta.persistence.QueryHint;
 import oficial.cbpitu.model.Campeonato;
+import oficial.cbpitu.model.Edicao;
 import oficial.cbpitu.model.enums.StatusCampeonato;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CampeonatoRepository extends JpaRepository<Campeonato, Long> {
@@ -20,4 +27,126 @@ public interface CampeonatoRepository extends JpaRepository<Campeonato, Long> {
 
     @Query("SELECT c FROM Campeonato c JOIN c.timesParticipantes t WHERE t.id = :timeId")
     List<Campeonato> findByTimeParticipante(Long timeId);
+
+    // Carregamento da árvore do campeonato em consultas fixas (ver CampeonatoService.buscarDetalhado)
+
+    @Query("SELECT c FROM Campeonato c LEFT JOIN FETCH c.fases LEFT JOIN FETCH c.campeao LEFT JOIN FETCH c.edicao WHERE c.id = :id")
+    Optional<Campeonato> findComFasesById(Long id);
+
+    @Query("SELECT c FROM Campeonato c LEFT JOIN FETCH c.timesParticipantes WHERE c.id = :id")
+    Optional<Campeonato> findComTimesById(Long id);
+
+    // Listagem por cursor: uma consulta por combinação de filtros, para que cada uma
+    // tenha um plano estável sobre o índice do filtro
+
+    String PAGINA = "SELECT c FROM Campeonato c LEFT JOIN FETCH c.campeao LEFT JOIN FETCH c.edicao WHERE c.id > :apos ";
+
+    default List<Campeonato> buscarPagina(Long apos, StatusCampeonato status, Long edicaoId, Limit limite) {
+        if (status != null && edicaoId != null) {
+            return buscarPaginaPorStatusEEdicao(apos, status, edicaoId, limite);
+        }
+        if (status != null) {
+            return buscarPaginaPorStatus(apos, status, limite);
+        }
+        if (edicaoId != null) {
+            return buscarPaginaPorEdicao(apos, edicaoId, limite);
+        }
+        return buscarPagina(apos, limite);
+    }
+
+    @Query(PAGINA + "ORDER BY c.id")
+    List<Campeonato> buscarPagina(Long apos, Limit limite);
+
+    @Query(PAGINA + "AND c.status = :status ORDER BY c.id")
+    List<Campeonato> buscarPaginaPorStatus(Long apos, StatusCampeonato status, Limit limite);
+
+    @Query(PAGINA + "AND c.edicao.id = :edicaoId ORDER BY c.id")
+    List<Campeonato> buscarPaginaPorEdicao(Long apos, Long edicaoId, Limit limite);
+
+    @Query(PAGINA + "AND c.status = :status AND c.edicao.id = :edicaoId ORDER BY c.id")
+    List<Campeonato> buscarPaginaPorStatusEEdicao(Long apos, StatusCampeonato status, Long edicaoId, Limit limite);
+
+    // Inscrição por contador: reserva a vaga e grava a junção sem carregar os inscritos
+
+    /**
+     * Ocupa uma vaga se as inscrições estiverem abertas e o limite não tiver sido atingido.
+     * Atualizações concorrentes na mesma linha se enfileiram no Postgres e cada uma reavalia
+     * o WHERE, então o limite nunca é ultrapassado. Retorna 0 se não houver vaga.
+     */
+    @Modifying
+    @Query("UPDATE Campeonato c SET c.numeroTimesInscritos = c.numeroTimesInscritos + 1, c.revisao = c.revisao + 1 "
+            + "WHERE c.id = :id AND c.status = 'INSCRICOES_ABERTAS' "
+            + "AND (c.limiteMaximoTimes IS NULL OR c.limiteMaximoTimes = 0 OR c.numeroTimesInscritos < c.limiteMaximoTimes)")
+    int reservarVaga(Long id);
+
+    @Modifying
+    @Query("UPDATE Campeonato c SET c.numeroTimesInscritos = c.numeroTimesInscritos - 1, c.revisao = c.revisao + 1 "
+            + "WHERE c.id = :id AND c.numeroTimesInscritos > 0")
+    int liberarVaga(Long id);
+
+    // Native sem tabelas declaradas esvazia todo o cache de segundo nível;
+    // "native.spaces" limita a invalidação às regiões da tabela alterada
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_campeonato_time"))
+    @Query(value = "INSERT INTO tb_campeonato_time (campeonato_id, time_id) VALUES (:campeonatoId, :timeId) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int inserirInscricao(Long campeonatoId, Long timeId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_campeonato_time"))
+    @Query(value = "DELETE FROM tb_campeonato_time WHERE campeonato_id = :campeonatoId AND time_id = :timeId",
+            nativeQuery = true)
+    int removerInscricao(Long campeonatoId, Long timeId);
+
+    @Query("SELECT COUNT(t) > 0 FROM Campeonato c JOIN c.timesParticipantes t WHERE c.id = :campeonatoId AND t.id = :timeId")
+    boolean existsInscricao(Long campeonatoId, Long timeId);
+
+    @Query("SELECT c.edicao FROM Campeonato c WHERE c.id = :id")
+    Optional<Edicao> findEdicaoById(Long id);
+
+    // Revisão da árvore do campeonato (ver CampeonatoDetalheCache)
+
+    @Query("SELECT c.revisao FROM Campeonato c WHERE c.id = :id")
+    Optional<Long> findRevisaoById(Long id);
+
+    @Query("SELECT c.inicioAlteracoes FROM Campeonato c WHERE c.id = :id")
+    Optional<Long> findInicioAlteracoesById(Long id);
+
+    interface RevisaoCampeonato {
+        Long getId();
+
+        Long getRevisao();
+    }
+
+    // Revisões dos campeonatos transmitidos ao vivo, numa consulta por ciclo (ver TransmissaoCampeonatos)
+    @Query("SELECT c.id AS id, c.revisao AS revisao FROM Campeonato c WHERE c.id IN :ids")
+    List<RevisaoCampeonato> buscarRevisoes(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Campeonato c SET c.revisao = c.revisao + 1 WHERE c.id IN :ids")
+    int incrementarRevisao(Collection<Long> ids);
+
+    // As escritas abaixo mudam dados de fora do log de alterações (times, edição) ou
+    // apagam partidas em lote: o log passa a começar na revisão nova e quem pedir
+    // alterações de antes dela recarrega o detalhe
+
+    // Times aparecem no detalhe como inscritos, nas partidas e como campeão
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_campeonatos"))
+    @Query(value = "UPDATE tb_campeonatos SET revisao = revisao + 1, inicio_alteracoes = revisao + 1 "
+            + "WHERE campeao_id IN (:timeIds) "
+            + "OR id IN (SELECT campeonato_id FROM tb_campeonato_time WHERE time_id IN (:timeIds))", nativeQuery = true)
+    int incrementarRevisaoPorTimes(Collection<Long> timeIds);
+
+    @Modifying
+    @Query("UPDATE Campeonato c SET c.revisao = c.revisao + 1, c.inicioAlteracoes = c.revisao + 1 "
+            + "WHERE c.edicao.id = :edicaoId")
+    int incrementarRevisaoPorEdicao(Long edicaoId);
+
+    @Modifying
+    @Query("UPDATE Campeonato c SET c.revisao = c.revisao + 1, c.inicioAlteracoes = c.revisao + 1")
+    int incrementarTodasAsRevisoes();
+
+    @Query("SELECT c.status FROM Campeonato c WHERE c.id = :id")
+    Optional<StatusCampeonato> findStatusById(Long id);
 }
@@ -0,0 +1,32 @@
+package oficial.cbpitu.repository;
+
+import oficial.cbpitu.model.Classificacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ClassificacaoRepository extends JpaRepository<Classificacao, Long> {
+
+    @Query("SELECT c FROM Classificacao c JOIN FETCH c.time WHERE c.grupo.id = :grupoId")
+    List<Classificacao> findByGrupoId(Long grupoId);
+
+    @Query("SELECT c FROM Classificacao c JOIN FETCH c.time JOIN FETCH c.grupo WHERE c.grupo.fase.campeonato.id = :campeonatoId")
+    List<Classificacao> findByCampeonatoId(Long campeonatoId);
+
+    /**
+     * Aplica um delta atômico na linha do time, sem ler-modificar-gravar.
+     * Retorna 0 se a linha ainda não existir (grupo legado).
+     */
+    @Modifying
+    @Query("UPDATE Classificacao c SET c.jogos = c.jogos + :jogos, c.vitorias = c.vitorias + :vitorias, "
+            + "c.empates = c.empates + :empates, c.derrotas = c.derrotas + :derrotas, "
+            + "c.golsPro = c.golsPro + :golsPro, c.golsContra = c.golsContra + :golsContra, "
+            + "c.pontos = c.pontos + :pontos "
+            + "WHERE c.grupo.id = :grupoId AND c.time.id = :timeId")
+    int incrementar(Long grupoId, Long timeId, int jogos, int vitorias, int empates, int derrotas,
+            int golsPro, int golsContra, int pontos);
+}
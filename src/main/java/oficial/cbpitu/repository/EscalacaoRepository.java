@@ -1,7 +1,9 @@
 package oficial.cbpitu.repository;
 
 import oficial.cbpitu.model.Escalacao;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +23,34 @@ public interface EscalacaoRepository extends JpaRepository<Escalacao, Long> {
     List<Escalacao> findByJogadoresId(Long jogadorId);
     
     List<Escalacao> findByTimeId(Long timeId);
+
+    // Listagem por cursor: uma consulta por combinação de filtros
+
+    String PAGINA = "SELECT e FROM Escalacao e JOIN FETCH e.time JOIN FETCH e.edicao LEFT JOIN FETCH e.capitao "
+            + "WHERE e.id > :apos ";
+
+    default List<Escalacao> buscarPagina(Long apos, Long timeId, Long edicaoId, Limit limite) {
+        if (timeId != null && edicaoId != null) {
+            return buscarPaginaPorTimeEEdicao(apos, timeId, edicaoId, limite);
+        }
+        if (timeId != null) {
+            return buscarPaginaPorTime(apos, timeId, limite);
+        }
+        if (edicaoId != null) {
+            return buscarPaginaPorEdicao(apos, edicaoId, limite);
+        }
+        return buscarPagina(apos, limite);
+    }
+
+    @Query(PAGINA + "ORDER BY e.id")
+    List<Escalacao> buscarPagina(Long apos, Limit limite);
+
+    @Query(PAGINA + "AND e.time.id = :timeId ORDER BY e.id")
+    List<Escalacao> buscarPaginaPorTime(Long apos, Long timeId, Limit limite);
+
+    @Query(PAGINA + "AND e.edicao.id = :edicaoId ORDER BY e.id")
+    List<Escalacao> buscarPaginaPorEdicao(Long apos, Long edicaoId, Limit limite);
+
+    @Query(PAGINA + "AND e.time.id = :timeId AND e.edicao.id = :edicaoId ORDER BY e.id")
+    List<Escalacao> buscarPaginaPorTimeEEdicao(Long apos, Long timeId, Long edicaoId, Limit limite);
 }
@@ -0,0 +1,34 @@
+package oficial.cbpitu.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import oficial.cbpitu.model.EventoAvanco;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventoAvancoRepository extends JpaRepository<EventoAvanco, Long> {
+
+    /**
+     * Eventos prontos para processar: pendentes cuja hora chegou e reservas vencidas
+     * (worker que caiu no meio). Linhas já travadas por outro worker são puladas
+     * (FOR UPDATE SKIP LOCKED), então várias instâncias dividem a fila sem conflito.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EventoAvanco e WHERE e.status IN ('PENDENTE', 'PROCESSANDO') "
+            + "AND e.proximaTentativaEm <= :agora ORDER BY e.id")
+    List<EventoAvanco> buscarProntos(LocalDateTime agora, Pageable pagina);
+
+    Optional<EventoAvanco> findFirstByPartidaIdOrderByIdDesc(Long partidaId);
+
+    Optional<EventoAvanco> findFirstByFaseIdAndRodadaOrderByIdDesc(Long faseId, Integer rodada);
+}
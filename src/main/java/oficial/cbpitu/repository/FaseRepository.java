@@ -1,8 +1,11 @@
 package oficial.cbpitu.repository;
 
+import jakarta.persistence.LockModeType;
 import oficial.cbpitu.model.Fase;
 import oficial.cbpitu.model.enums.FormatoCompeticao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +21,19 @@ public interface FaseRepository extends JpaRepository<Fase, Long> {
     List<Fase> findByCampeonatoIdAndFormato(Long campeonatoId, FormatoCompeticao formato);
 
     Optional<Fase> findFirstByCampeonatoIdAndFinalizadaFalseOrderByOrdemAsc(Long campeonatoId);
+
+    @Query("SELECT f FROM Fase f LEFT JOIN FETCH f.grupos g LEFT JOIN FETCH g.times WHERE f.campeonato.id = :campeonatoId")
+    List<Fase> findComGruposByCampeonatoId(Long campeonatoId);
+
+    @Query("SELECT f FROM Fase f LEFT JOIN FETCH f.partidas p LEFT JOIN FETCH p.time1 LEFT JOIN FETCH p.time2 "
+            + "LEFT JOIN FETCH p.vencedor WHERE f.campeonato.id = :campeonatoId")
+    List<Fase> findComPartidasByCampeonatoId(Long campeonatoId);
+
+    /**
+     * Carrega a fase travando a linha (SELECT ... FOR UPDATE) até o fim da transação.
+     * Serializa o avanço de uma mesma fase sem bloquear as demais.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Fase f WHERE f.id = :id")
+    Optional<Fase> findComLockById(Long id);
 }
@@ -0,0 +1,48 @@
+package oficial.cbpitu.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import oficial.cbpitu.model.InscricaoEspera;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InscricaoEsperaRepository extends JpaRepository<InscricaoEspera, Long> {
+
+    List<InscricaoEspera> findByCampeonatoIdOrderByIdAsc(Long campeonatoId);
+
+    Optional<InscricaoEspera> findByCampeonatoIdAndTimeId(Long campeonatoId, Long timeId);
+
+    /**
+     * Entra na fila sem ler antes: se o time já estiver nela, não faz nada e retorna 0.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_lista_espera"))
+    @Query(value = "INSERT INTO tb_lista_espera (campeonato_id, time_id, criado_em) "
+            + "VALUES (:campeonatoId, :timeId, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int entrar(Long campeonatoId, Long timeId);
+
+    /**
+     * Primeiro da fila, travado para a promoção. SKIP LOCKED (timeout -2) deixa duas
+     * vagas liberadas ao mesmo tempo promoverem times diferentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM InscricaoEspera e WHERE e.campeonatoId = :campeonatoId ORDER BY e.id")
+    List<InscricaoEspera> buscarPrimeiro(Long campeonatoId, Limit limite);
+
+    @Query("SELECT COUNT(e) FROM InscricaoEspera e WHERE e.campeonatoId = :campeonatoId AND e.id <= :id")
+    long posicao(Long campeonatoId, Long id);
+
+    @Modifying
+    @Query("DELETE FROM InscricaoEspera e WHERE e.campeonatoId = :campeonatoId")
+    int deleteByCampeonatoId(Long campeonatoId);
+}
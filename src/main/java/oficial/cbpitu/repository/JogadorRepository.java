@@ -1,9 +1,84 @@
 package oficial.cbpitu.repository;
 
+import jakarta.persistence.QueryHint;
 import oficial.cbpitu.model.Jogador;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface JogadorRepository extends JpaRepository<Jogador, Long> {
+
+    // upper(lane_lol) = upper(?) - usa o índice idx_jogadores_lane_upper (schema.sql)
+    Page<Jogador> findByLaneLolIgnoreCase(String laneLol, Pageable pageable);
+
+    // Anti-join: jogadores sem nenhuma linha em tb_time_jogador
+    @Query(value = "SELECT j FROM Jogador j WHERE NOT EXISTS (SELECT t.id FROM Time t JOIN t.jogadores tj WHERE tj = j)",
+            countQuery = "SELECT COUNT(j) FROM Jogador j WHERE NOT EXISTS (SELECT t.id FROM Time t JOIN t.jogadores tj WHERE tj = j)")
+    Page<Jogador> findSemTime(Pageable pageable);
+
+    // Listagem por cursor: uma consulta por filtro (lane usa o índice funcional idx_jogadores_lane_upper)
+
+    default List<Jogador> buscarPagina(Long apos, String lane, Limit limite) {
+        return lane != null ? buscarPaginaPorLane(apos, lane, limite) : buscarPagina(apos, limite);
+    }
+
+    @Query("SELECT j FROM Jogador j WHERE j.id > :apos ORDER BY j.id")
+    List<Jogador> buscarPagina(Long apos, Limit limite);
+
+    @Query("SELECT j FROM Jogador j WHERE j.id > :apos AND UPPER(j.laneLol) = UPPER(:lane) ORDER BY j.id")
+    List<Jogador> buscarPaginaPorLane(Long apos, String lane, Limit limite);
+
+    // Títulos: a premiação grava quem recebeu o título (tb_campeonato_premiados) e
+    // incrementa esses jogadores num UPDATE atômico, sem carregá-los
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_campeonato_premiados"))
+    @Query(value = "INSERT INTO tb_campeonato_premiados (campeonato_id, jogador_id) "
+            + "SELECT :campeonatoId, ej.jogador_id FROM tb_escalacao_jogador ej JOIN tb_escalacoes e ON e.id = ej.escalacao_id "
+            + "WHERE e.time_id = :timeId AND e.edicao_id = :edicaoId", nativeQuery = true)
+    int premiarEscalacao(Long campeonatoId, Long timeId, Long edicaoId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_campeonato_premiados"))
+    @Query(value = "INSERT INTO tb_campeonato_premiados (campeonato_id, jogador_id) "
+            + "SELECT :campeonatoId, jogador_id FROM tb_time_jogador WHERE time_id = :timeId", nativeQuery = true)
+    int premiarElenco(Long campeonatoId, Long timeId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_jogadores"))
+    @Query(value = "UPDATE tb_jogadores SET titulos = COALESCE(titulos, 0) + 1 WHERE id IN "
+            + "(SELECT jogador_id FROM tb_campeonato_premiados WHERE campeonato_id = :campeonatoId)", nativeQuery = true)
+    int incrementarTitulosDosPremiados(Long campeonatoId);
+
+    /**
+     * Reconciliação: recalcula os títulos de todos os jogadores a partir dos campeonatos
+     * finalizados, pelos premiados gravados na premiação. Campeonatos finalizados antes
+     * dessa lista só contam pela escalação do campeão na edição; um título dado pelo
+     * elenco, sem escalação, não tem como ser comprovado e sai na reconciliação.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_jogadores"))
+    @Query(value = "WITH premiados AS ("
+            + "SELECT p.jogador_id FROM tb_campeonatos c "
+            + "JOIN tb_campeonato_premiados p ON p.campeonato_id = c.id "
+            + "WHERE c.status = 'FINALIZADO' "
+            + "UNION ALL "
+            + "SELECT ej.jogador_id FROM tb_campeonatos c "
+            + "JOIN tb_escalacoes e ON e.time_id = c.campeao_id AND e.edicao_id = c.edicao_id "
+            + "JOIN tb_escalacao_jogador ej ON ej.escalacao_id = e.id "
+            + "WHERE c.status = 'FINALIZADO' "
+            + "AND NOT EXISTS (SELECT 1 FROM tb_campeonato_premiados p WHERE p.campeonato_id = c.id)"
+            + "), totais AS (SELECT jogador_id, COUNT(*) AS total FROM premiados GROUP BY jogador_id) "
+            + "UPDATE tb_jogadores j SET titulos = COALESCE(t.total, 0) "
+            + "FROM tb_jogadores j2 LEFT JOIN totais t ON t.jogador_id = j2.id "
+            + "WHERE j2.id = j.id AND j.titulos IS DISTINCT FROM COALESCE(t.total, 0)", nativeQuery = true)
+    int recalcularTitulos();
 }
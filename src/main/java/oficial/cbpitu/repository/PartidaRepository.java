@@ -2,10 +2,13 @@ package oficial.cbpitu.repository;
 
 import oficial.cbpitu.model.Partida;
 import oficial.cbpitu.model.enums.StatusPartida;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,16 +24,18 @@ public interface PartidaRepository extends JpaRepository<Partida, Long> {
 
     List<Partida> findByGrupoIdAndRodada(Long grupoId, Integer rodada);
 
-    @Query("SELECT p FROM Partida p WHERE p.fase.campeonato.id = :campeonatoId")
+    boolean existsByFaseIdAndRodada(Long faseId, Integer rodada);
+
+    boolean existsByFaseIdAndIdentificadorBracket(Long faseId, String identificadorBracket);
+
     List<Partida> findByCampeonatoId(Long campeonatoId);
 
-    @Query("SELECT p FROM Partida p WHERE p.fase.campeonato.id = :campeonatoId AND p.status = :status")
     List<Partida> findByCampeonatoIdAndStatus(Long campeonatoId, StatusPartida status);
 
     @Query("SELECT p FROM Partida p WHERE (p.time1.id = :timeId OR p.time2.id = :timeId)")
     List<Partida> findByTimeId(Long timeId);
 
-    @Query("SELECT p FROM Partida p WHERE p.fase.campeonato.id = :campeonatoId AND (p.time1.id = :timeId OR p.time2.id = :timeId)")
+    @Query("SELECT p FROM Partida p WHERE p.campeonatoId = :campeonatoId AND (p.time1.id = :timeId OR p.time2.id = :timeId)")
     List<Partida> findByCampeonatoIdAndTimeId(Long campeonatoId, Long timeId);
 
     @Query("SELECT COUNT(p) FROM Partida p WHERE p.fase.id = :faseId AND (p.status = 'FINALIZADA' OR p.status = 'WO')")
@@ -38,4 +43,69 @@ public interface PartidaRepository extends JpaRepository<Partida, Long> {
 
     @Query("SELECT COUNT(p) FROM Partida p WHERE p.fase.id = :faseId")
     Long countByFaseId(Long faseId);
+
+    // Partidas que contam nas tabelas de grupo do campeonato (desempate por confronto direto)
+    @Query("SELECT p FROM Partida p WHERE p.campeonatoId = :campeonatoId AND p.grupo IS NOT NULL "
+            + "AND (p.status = 'FINALIZADA' OR p.status = 'WO')")
+    List<Partida> findEncerradasDeGruposByCampeonatoId(Long campeonatoId);
+
+    // Listagem por cursor: id crescente a partir do último id entregue, uma consulta
+    // por combinação de filtros
+
+    String PAGINA = "SELECT p FROM Partida p LEFT JOIN FETCH p.time1 LEFT JOIN FETCH p.time2 LEFT JOIN FETCH p.vencedor "
+            + "LEFT JOIN FETCH p.fase LEFT JOIN FETCH p.grupo WHERE p.id > :apos ";
+
+    default List<Partida> buscarPagina(Long apos, Long faseId, StatusPartida status, Limit limite) {
+        if (faseId != null && status != null) {
+            return buscarPaginaPorFaseEStatus(apos, faseId, status, limite);
+        }
+        if (faseId != null) {
+            return buscarPaginaPorFase(apos, faseId, limite);
+        }
+        if (status != null) {
+            return buscarPaginaPorStatus(apos, status, limite);
+        }
+        return buscarPagina(apos, limite);
+    }
+
+    @Query(PAGINA + "ORDER BY p.id")
+    List<Partida> buscarPagina(Long apos, Limit limite);
+
+    @Query(PAGINA + "AND p.fase.id = :faseId ORDER BY p.id")
+    List<Partida> buscarPaginaPorFase(Long apos, Long faseId, Limit limite);
+
+    @Query(PAGINA + "AND p.status = :status ORDER BY p.id")
+    List<Partida> buscarPaginaPorStatus(Long apos, StatusPartida status, Limit limite);
+
+    @Query(PAGINA + "AND p.fase.id = :faseId AND p.status = :status ORDER BY p.id")
+    List<Partida> buscarPaginaPorFaseEStatus(Long apos, Long faseId, StatusPartida status, Limit limite);
+
+    // Agenda: intervalos em data_hora com ordenação e limite resolvidos pelo índice
+    // idx_partidas_campeonato_agenda (campeonato_id, status, data_hora) ou idx_partidas_agenda
+
+    @Query("SELECT p FROM Partida p LEFT JOIN FETCH p.time1 LEFT JOIN FETCH p.time2 LEFT JOIN FETCH p.vencedor "
+            + "LEFT JOIN FETCH p.fase LEFT JOIN FETCH p.grupo "
+            + "WHERE p.campeonatoId = :campeonatoId AND p.status IN :status "
+            + "AND p.dataHora >= :inicio AND p.dataHora < :fim ORDER BY p.dataHora, p.id")
+    List<Partida> buscarPorCampeonatoEPeriodo(Long campeonatoId, Collection<StatusPartida> status,
+            LocalDateTime inicio, LocalDateTime fim);
+
+    // Qualquer status: um único intervalo em idx_partidas_campeonato_data (campeonato_id, data_hora, id)
+    @Query("SELECT p FROM Partida p LEFT JOIN FETCH p.time1 LEFT JOIN FETCH p.time2 LEFT JOIN FETCH p.vencedor "
+            + "LEFT JOIN FETCH p.fase LEFT JOIN FETCH p.grupo "
+            + "WHERE p.campeonatoId = :campeonatoId "
+            + "AND p.dataHora >= :inicio AND p.dataHora < :fim ORDER BY p.dataHora, p.id")
+    List<Partida> buscarPorCampeonatoEPeriodo(Long campeonatoId, LocalDateTime inicio, LocalDateTime fim);
+
+    @Query("SELECT p FROM Partida p LEFT JOIN FETCH p.time1 LEFT JOIN FETCH p.time2 LEFT JOIN FETCH p.vencedor "
+            + "LEFT JOIN FETCH p.fase LEFT JOIN FETCH p.grupo "
+            + "WHERE p.campeonatoId = :campeonatoId AND p.status = :status AND p.dataHora > :apos "
+            + "ORDER BY p.dataHora, p.id")
+    List<Partida> buscarProximasDoCampeonato(Long campeonatoId, StatusPartida status, LocalDateTime apos, Limit limite);
+
+    @Query("SELECT p FROM Partida p LEFT JOIN FETCH p.time1 LEFT JOIN FETCH p.time2 LEFT JOIN FETCH p.vencedor "
+            + "LEFT JOIN FETCH p.fase LEFT JOIN FETCH p.grupo "
+            + "WHERE p.status = :status AND p.dataHora >= :inicio AND p.dataHora < :fim "
+            + "ORDER BY p.dataHora, p.id")
+    List<Partida> buscarAgenda(StatusPartida status, LocalDateTime inicio, LocalDateTime fim, Limit limite);
 }
@@ -0,0 +1,42 @@
+package oficial.cbpitu.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import oficial.cbpitu.model.TarefaExclusao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TarefaExclusaoRepository extends JpaRepository<TarefaExclusao, Long> {
+
+    @Query("SELECT t.id FROM TarefaExclusao t WHERE t.status IN ('PENDENTE', 'PROCESSANDO') ORDER BY t.id")
+    List<Long> buscarAbertas(Limit limite);
+
+    /**
+     * Trava a tarefa para processar um lote. SKIP LOCKED (timeout -2): se outra instância
+     * da aplicação já estiver com ela, volta vazio em vez de esperar.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM TarefaExclusao t WHERE t.id = :id")
+    Optional<TarefaExclusao> travar(Long id);
+
+    @Query(value = "SELECT time_id FROM tb_tarefa_exclusao_times WHERE tarefa_id = :tarefaId ORDER BY time_id LIMIT :limite",
+            nativeQuery = true)
+    List<Long> buscarLotePendente(Long tarefaId, int limite);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_tarefa_exclusao_times"))
+    @Query(value = "DELETE FROM tb_tarefa_exclusao_times WHERE tarefa_id = :tarefaId AND time_id IN (:timeIds)",
+            nativeQuery = true)
+    int removerPendentes(Long tarefaId, Collection<Long> timeIds);
+}
@@ -1,9 +1,17 @@
 package oficial.cbpitu.repository;
 
+import jakarta.persistence.QueryHint;
 import oficial.cbpitu.model.Time;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +20,101 @@ public interface TimeRepository extends JpaRepository<Time, Long> {
     // Optional<Time> findByCapitao(String nomeCapita);
     
     java.util.List<Time> findTop4ByOrderByTrofeusDesc();
+
+    // Listagem por cursor
+    @Query("SELECT t FROM Time t LEFT JOIN FETCH t.capitao WHERE t.id > :apos ORDER BY t.id")
+    List<Time> buscarPagina(Long apos, Limit limite);
+
+    // Exclusão em lote (ver TimeService.excluirEmLote): cada comando apaga as linhas de
+    // todos os times de uma vez, pelos índices de time_id das tabelas. Sem tabelas
+    // declaradas, cada comando invalida todo o cache de segundo nível (times, elencos)
+
+    @Query(value = "SELECT DISTINCT grupo_id FROM tb_grupo_time WHERE time_id IN (:ids)", nativeQuery = true)
+    List<Long> findGrupoIdsByTimeIds(Collection<Long> ids);
+
+    @Query(value = "SELECT campeonato_id FROM tb_campeonato_time WHERE time_id IN (:ids)", nativeQuery = true)
+    List<Long> findCampeonatoIdsByTimeIds(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE tb_partidas SET proxima_partida_vencedor_id = NULL, versao = versao + 1 WHERE proxima_partida_vencedor_id IN "
+            + "(SELECT id FROM tb_partidas WHERE time1_id IN (:ids) OR time2_id IN (:ids))", nativeQuery = true)
+    int desligarDestinosVencedor(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE tb_partidas SET proxima_partida_perdedor_id = NULL, versao = versao + 1 WHERE proxima_partida_perdedor_id IN "
+            + "(SELECT id FROM tb_partidas WHERE time1_id IN (:ids) OR time2_id IN (:ids))", nativeQuery = true)
+    int desligarDestinosPerdedor(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_partidas WHERE time1_id IN (:ids) OR time2_id IN (:ids)", nativeQuery = true)
+    int excluirPartidas(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_classificacoes WHERE time_id IN (:ids)", nativeQuery = true)
+    int excluirClassificacoes(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_grupo_time WHERE time_id IN (:ids)", nativeQuery = true)
+    int excluirDosGrupos(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE tb_campeonatos SET campeao_id = NULL, versao = versao + 1 WHERE campeao_id IN (:ids)", nativeQuery = true)
+    int removerTitulosDeCampeao(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_campeonato_time WHERE time_id IN (:ids)", nativeQuery = true)
+    int excluirInscricoes(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_lista_espera WHERE time_id IN (:ids)", nativeQuery = true)
+    int excluirDaListaDeEspera(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_escalacao_jogador WHERE escalacao_id IN "
+            + "(SELECT id FROM tb_escalacoes WHERE time_id IN (:ids))", nativeQuery = true)
+    int excluirJogadoresDasEscalacoes(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_escalacoes WHERE time_id IN (:ids)", nativeQuery = true)
+    int excluirEscalacoes(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_time_jogador WHERE time_id IN (:ids)", nativeQuery = true)
+    int excluirElencos(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM time_campeonatos_participados WHERE time_id IN (:ids)", nativeQuery = true)
+    int excluirCampeonatosParticipados(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_times WHERE id IN (:ids)", nativeQuery = true)
+    int excluirTimes(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Time t SET t.trofeus = COALESCE(t.trofeus, 0) + 1 WHERE t.id = :id")
+    int incrementarTrofeus(Long id);
+
+    // Reconciliação: troféus = campeonatos finalizados vencidos; só reescreve quem diverge
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tb_times"))
+    @Query(value = "UPDATE tb_times t SET trofeus = COALESCE(c.total, 0) "
+            + "FROM tb_times t2 LEFT JOIN (SELECT campeao_id, COUNT(*) AS total FROM tb_campeonatos "
+            + "WHERE status = 'FINALIZADO' AND campeao_id IS NOT NULL GROUP BY campeao_id) c ON c.campeao_id = t2.id "
+            + "WHERE t2.id = t.id AND t.trofeus IS DISTINCT FROM COALESCE(c.total, 0)", nativeQuery = true)
+    int recalcularTrofeus();
+
+    /**
+     * Times inativos: já jogaram, não têm partida desde {@code desde} (partida sem data
+     * conta como pendente, logo ativa) e não estão inscritos nem na lista de espera de
+     * um campeonato que ainda não terminou.
+     */
+    @Query("SELECT t.id FROM Time t WHERE "
+            + "EXISTS (SELECT p.id FROM Partida p WHERE p.time1 = t OR p.time2 = t) "
+            + "AND NOT EXISTS (SELECT p.id FROM Partida p WHERE (p.time1 = t OR p.time2 = t) "
+            + "AND (p.dataHora IS NULL OR p.dataHora >= :desde)) "
+            + "AND NOT EXISTS (SELECT c.id FROM Campeonato c JOIN c.timesParticipantes ct WHERE ct = t "
+            + "AND c.status NOT IN ('FINALIZADO', 'CANCELADO')) "
+            + "AND NOT EXISTS (SELECT e.id FROM InscricaoEspera e WHERE e.timeId = t.id) "
+            + "ORDER BY t.id")
+    List<Long> findIdsInativos(LocalDateTime desde);
 }
@@ -0,0 +1,30 @@
+package oficial.cbpitu.service;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * O que mudou num campeonato entre duas revisões do log: IDs de partidas (e quais
+ * delas foram criadas) e de grupos com tabela alterada. Só IDs; os dados são lidos
+ * na montagem dos eventos.
+ */
+final class AlteracoesCampeonato {
+
+    final Set<Long> partidas = new LinkedHashSet<>();
+    final Set<Long> partidasCriadas = new HashSet<>();
+    final Set<Long> grupos = new LinkedHashSet<>();
+
+    void partidaCriada(Long partidaId) {
+        partidas.add(partidaId);
+        partidasCriadas.add(partidaId);
+    }
+
+    void partida(Long partidaId) {
+        partidas.add(partidaId);
+    }
+
+    void grupo(Long grupoId) {
+        grupos.add(grupoId);
+    }
+}
@@ -0,0 +1,156 @@
+package oficial.cbpitu.service;
+
+import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.campeonato.AlteracoesCampeonatoDTO;
+import oficial.cbpitu.dto.campeonato.ClassificacaoDTO;
+import oficial.cbpitu.dto.campeonato.FaseDTO;
+import oficial.cbpitu.dto.campeonato.GrupoDTO;
+import oficial.cbpitu.exception.RecursoNaoEncontradoException;
+import oficial.cbpitu.mapper.CampeonatoMapper;
+import oficial.cbpitu.mapper.ClassificacaoMapper;
+import oficial.cbpitu.mapper.PartidaMapper;
+import oficial.cbpitu.mapper.TimeMapper;
+import oficial.cbpitu.model.AlteracaoCampeonato;
+import oficial.cbpitu.model.Campeonato;
+import oficial.cbpitu.model.Fase;
+import oficial.cbpitu.model.Grupo;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.enums.TipoAlteracao;
+import oficial.cbpitu.repository.AlteracaoCampeonatoRepository;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import oficial.cbpitu.repository.FaseRepository;
+import oficial.cbpitu.repository.GrupoRepository;
+import oficial.cbpitu.repository.PartidaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Consulta e compactação do log de alterações (ver RegistroAlteracoes).
+ */
+@Service
+@RequiredArgsConstructor
+public class AlteracoesService {
+
+    private final AlteracaoCampeonatoRepository alteracaoRepository;
+    private final CampeonatoRepository campeonatoRepository;
+    private final FaseRepository faseRepository;
+    private final GrupoRepository grupoRepository;
+    private final PartidaRepository partidaRepository;
+    private final ClassificacaoService classificacaoService;
+    private final CampeonatoMapper campeonatoMapper;
+    private final PartidaMapper partidaMapper;
+    private final ClassificacaoMapper classificacaoMapper;
+    private final TimeMapper timeMapper;
+
+    /**
+     * Registros alterados depois da revisão {@code desde}, até a revisão atual do
+     * campeonato. Registros que não existem mais voltam nas listas de removidos.
+     * Revisão anterior ao início do log (ou posterior à atual) pede recarregar.
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesCampeonatoDTO buscarDesde(Long campeonatoId, long desde) {
+        Campeonato campeonato = campeonatoRepository.findById(campeonatoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Campeonato", campeonatoId));
+        long revisao = campeonato.getRevisao();
+
+        AlteracoesCampeonatoDTO.AlteracoesCampeonatoDTOBuilder resposta = AlteracoesCampeonatoDTO.builder()
+                .campeonatoId(campeonatoId)
+                .revisao(revisao);
+
+        if (desde < campeonato.getInicioAlteracoes() || desde > revisao) {
+            return resposta.recarregar(true).build();
+        }
+
+        // IDs alterados por tipo; várias entradas do mesmo registro contam uma vez
+        Map<TipoAlteracao, Set<Long>> alterados = new EnumMap<>(TipoAlteracao.class);
+        for (AlteracaoCampeonato alteracao : alteracaoRepository.buscarEntre(campeonatoId, desde, revisao)) {
+            // Aqui a criação da partida é uma alteração como as outras
+            TipoAlteracao tipo = alteracao.getTipo() == TipoAlteracao.PARTIDA_CRIADA
+                    ? TipoAlteracao.PARTIDA : alteracao.getTipo();
+            alterados.computeIfAbsent(tipo, t -> new TreeSet<>()).add(alteracao.getRegistroId());
+        }
+
+        if (alterados.containsKey(TipoAlteracao.CAMPEONATO)) {
+            resposta.campeonato(campeonatoMapper.toResumoDTO(campeonato))
+                    .timesParticipantes(timeMapper.toResumoDTOList(new ArrayList<>(campeonato.getTimesParticipantes())));
+        }
+
+        Set<Long> faseIds = alterados.getOrDefault(TipoAlteracao.FASE, Set.of());
+        if (!faseIds.isEmpty()) {
+            List<FaseDTO> fases = new ArrayList<>();
+            Set<Long> encontradas = new HashSet<>();
+            for (Fase fase : faseRepository.findAllById(faseIds)) {
+                encontradas.add(fase.getId());
+                fases.add(FaseDTO.builder()
+                        .id(fase.getId())
+                        .nome(fase.getNome())
+                        .ordem(fase.getOrdem())
+                        .formato(fase.getFormato())
+                        .classificadosNecessarios(fase.getClassificadosNecessarios())
+                        .rodadasTotais(fase.getRodadasTotais())
+                        .finalizada(fase.getFinalizada())
+                        .build());
+            }
+            resposta.fases(fases).fasesRemovidas(removidos(faseIds, encontradas));
+        }
+
+        Set<Long> grupoIds = alterados.getOrDefault(TipoAlteracao.GRUPO, Set.of());
+        if (!grupoIds.isEmpty()) {
+            List<GrupoDTO> grupos = new ArrayList<>();
+            Set<Long> encontrados = new HashSet<>();
+            for (Grupo grupo : grupoRepository.findAllById(grupoIds)) {
+                encontrados.add(grupo.getId());
+                grupos.add(GrupoDTO.builder()
+                        .id(grupo.getId())
+                        .nome(grupo.getNome())
+                        .times(timeMapper.toResumoDTOList(new ArrayList<>(grupo.getTimes())))
+                        .build());
+            }
+            resposta.grupos(grupos).gruposRemovidos(removidos(grupoIds, encontrados));
+        }
+
+        Set<Long> tabelaIds = alterados.getOrDefault(TipoAlteracao.CLASSIFICACAO, Set.of());
+        if (!tabelaIds.isEmpty()) {
+            Map<Long, List<ClassificacaoDTO>> classificacoes = new LinkedHashMap<>();
+            for (Grupo grupo : grupoRepository.findAllById(tabelaIds)) {
+                classificacoes.put(grupo.getId(),
+                        classificacaoMapper.toDTOList(classificacaoService.getTabelaGrupo(grupo)));
+            }
+            resposta.classificacoes(classificacoes);
+        }
+
+        Set<Long> partidaIds = alterados.getOrDefault(TipoAlteracao.PARTIDA, Set.of());
+        if (!partidaIds.isEmpty()) {
+            List<Partida> partidas = partidaRepository.findAllById(partidaIds);
+            Set<Long> encontradas = new HashSet<>();
+            partidas.forEach(p -> encontradas.add(p.getId()));
+            resposta.partidas(partidaMapper.toDTOList(partidas))
+                    .partidasRemovidas(removidos(partidaIds, encontradas));
+        }
+
+        return resposta.build();
+    }
+
+    /**
+     * Apaga um lote de entradas substituídas por outras mais novas do mesmo registro.
+     * Retorna quantas apagou.
+     */
+    @Transactional
+    public int compactar(int lote) {
+        return alteracaoRepository.compactar(lote);
+    }
+
+    private static List<Long> removidos(Set<Long> alterados, Set<Long> encontrados) {
+        List<Long> removidos = alterados.stream().filter(id -> !encontrados.contains(id)).toList();
+        return removidos.isEmpty() ? null : removidos;
+    }
+}
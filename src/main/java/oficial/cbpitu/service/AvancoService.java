@@ -0,0 +1,154 @@
+package oficial.cbpitu.service;
+
+import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.exception.OperacaoInvalidaException;
+import oficial.cbpitu.exception.RecursoNaoEncontradoException;
+import oficial.cbpitu.exception.RegraNegocioException;
+import oficial.cbpitu.model.EventoAvanco;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.enums.FormatoCompeticao;
+import oficial.cbpitu.model.enums.StatusEventoAvanco;
+import oficial.cbpitu.repository.EventoAvancoRepository;
+import oficial.cbpitu.repository.PartidaRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fila de avanço de fase (outbox). O resultado da partida grava o evento na
+ * mesma transação; o AvancoWorker processa em segundo plano.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvancoService {
+
+    private static final int MAX_TENTATIVAS = 5;
+    private static final Duration RESERVA = Duration.ofMinutes(5);
+
+    private final EventoAvancoRepository eventoAvancoRepository;
+    private final PartidaRepository partidaRepository;
+    private final CampeonatoService campeonatoService;
+
+    /**
+     * Grava o pedido de avanço junto com o resultado. Partidas de grupo não
+     * geram avanço automático.
+     */
+    @Transactional
+    public void agendar(Partida partida) {
+        if (partida.getFase() == null || partida.getGrupo() != null) {
+            return;
+        }
+
+        eventoAvancoRepository.save(new EventoAvanco(partida));
+    }
+
+    /**
+     * Versão em lote: um evento por fase e rodada, pois o avanço olha a rodada
+     * inteira. No double elimination cada partida só preenche as próprias
+     * vagas, então cada uma ganha o seu evento.
+     */
+    @Transactional
+    public void agendarLote(List<Partida> partidas) {
+        Map<String, Partida> porRodada = new LinkedHashMap<>();
+        for (Partida partida : partidas) {
+            if (partida.getFase() == null || partida.getGrupo() != null) {
+                continue;
+            }
+
+            String chave = partida.getFase().getFormato() == FormatoCompeticao.LOSER_BRACKET
+                    ? "P" + partida.getId()
+                    : partida.getFase().getId() + "-R" + partida.getRodada();
+            porRodada.put(chave, partida);
+        }
+
+        eventoAvancoRepository.saveAll(porRodada.values().stream().map(EventoAvanco::new).toList());
+    }
+
+    /**
+     * Situação do último avanço pedido para a partida. Partidas gravadas em lote
+     * compartilham o evento da sua rodada.
+     */
+    public EventoAvanco buscarUltimo(Long partidaId) {
+        return eventoAvancoRepository.findFirstByPartidaIdOrderByIdDesc(partidaId)
+                .or(() -> partidaRepository.findById(partidaId)
+                        .filter(p -> p.getFase() != null)
+                        .flatMap(p -> eventoAvancoRepository.findFirstByFaseIdAndRodadaOrderByIdDesc(
+                                p.getFase().getId(), p.getRodada())))
+                .orElseThrow(() -> new RecursoNaoEncontradoException(
+                        "Nenhum avanço registrado para a partida " + partidaId));
+    }
+
+    // Processamento (usado pelo AvancoWorker)
+
+    /**
+     * Reserva um lote de eventos prontos e devolve seus IDs.
+     */
+    @Transactional
+    public List<Long> reservarLote(int tamanho) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoAvanco> eventos = eventoAvancoRepository.buscarProntos(agora, PageRequest.of(0, tamanho));
+
+        for (EventoAvanco evento : eventos) {
+            evento.setStatus(StatusEventoAvanco.PROCESSANDO);
+            evento.setProximaTentativaEm(agora.plus(RESERVA));
+        }
+
+        return eventos.stream().map(EventoAvanco::getId).toList();
+    }
+
+    /**
+     * Executa o avanço do evento. Pode rodar mais de uma vez para o mesmo
+     * evento (reserva vencida); o avanço em si é idempotente.
+     */
+    @Transactional
+    public void processar(Long eventoId) {
+        EventoAvanco evento = eventoAvancoRepository.findById(eventoId).orElse(null);
+        if (evento == null || evento.getStatus() != StatusEventoAvanco.PROCESSANDO) {
+            return;
+        }
+
+        // Partida removida depois do resultado: não há o que avançar
+        partidaRepository.findById(evento.getPartidaId())
+                .ifPresent(partida -> campeonatoService.verificarEProcessarAvanco(evento.getFaseId(), partida));
+
+        evento.setStatus(StatusEventoAvanco.CONCLUIDO);
+        evento.setProcessadoEm(LocalDateTime.now());
+    }
+
+    /**
+     * Registra a falha. Erros de regra de negócio não mudam com nova tentativa;
+     * os demais voltam para a fila com espera crescente (2, 4, 8... segundos).
+     */
+    @Transactional
+    public void registrarFalha(Long eventoId, Exception erro) {
+        EventoAvanco evento = eventoAvancoRepository.findById(eventoId).orElse(null);
+        if (evento == null) {
+            return;
+        }
+
+        int tentativas = evento.getTentativas() + 1;
+        String mensagem = String.valueOf(erro.getMessage());
+
+        evento.setTentativas(tentativas);
+        evento.setUltimoErro(mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem);
+
+        boolean definitiva = erro instanceof RegraNegocioException
+                || erro instanceof OperacaoInvalidaException
+                || erro instanceof RecursoNaoEncontradoException
+                || tentativas >= MAX_TENTATIVAS;
+
+        if (definitiva) {
+            evento.setStatus(StatusEventoAvanco.FALHOU);
+            evento.setProcessadoEm(LocalDateTime.now());
+        } else {
+            evento.setStatus(StatusEventoAvanco.PENDENTE);
+            evento.setProximaTentativaEm(LocalDateTime.now().plusSeconds(1L << tentativas));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package oficial.cbpitu.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drena a fila de avanço. Cada evento roda na própria transação; eventos da
+ * mesma fase se serializam pela trava da fase, fases diferentes rodam em paralelo.
+ * As threads são virtuais, mas continuam {@code workers}: cada uma segura uma
+ * conexão enquanto processa, e o resto do pool fica para as requisições.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvancoWorker {
+
+    private static final int TAMANHO_LOTE = 50;
+
+    private final AvancoService avancoService;
+
+    @Value("${cbpitu.avanco.workers:4}")
+    private int workers;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void iniciar() {
+        executor = Executors.newFixedThreadPool(workers, Thread.ofVirtual().name("avanco-", 1).factory());
+    }
+
+    @PreDestroy
+    void parar() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${cbpitu.avanco.intervalo-ms:500}")
+    public void drenar() throws InterruptedException {
+        List<Long> eventos = avancoService.reservarLote(TAMANHO_LOTE);
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        List<Callable<Void>> tarefas = eventos.stream()
+                .<Callable<Void>>map(id -> () -> {
+                    processar(id);
+                    return null;
+                })
+                .toList();
+
+        // Espera o lote terminar antes de reservar o próximo
+        executor.invokeAll(tarefas);
+    }
+
+    private void processar(Long eventoId) {
+        try {
+            avancoService.processar(eventoId);
+        } catch (Exception e) {
+            // A falha fica no ultimoErro do evento
+            avancoService.registrarFalha(eventoId, e);
+        }
+    }
+}
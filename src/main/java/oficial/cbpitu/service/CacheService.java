@@ -0,0 +1,69 @@
+package oficial.cbpitu.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.RegiaoCacheDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache de segundo nível do Hibernate para os dados de referência (times,
+ * jogadores, edições e os elencos dos times). As escritas pelas entidades e
+ * pelos UPDATEs/DELETEs em lote invalidam as regiões desta instância; como não
+ * há invalidação entre instâncias, o cache só fica ligado com uma instância
+ * ({@code cbpitu.instancia-unica}). Tamanho e expiração de cada região ficam em
+ * application.conf.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheService {
+
+    // Mesmos nomes das anotações @Cache das entidades
+    public static final List<String> REGIOES = List.of(
+            "times", "jogadores", "edicoes", "times-jogadores", "times-campeonatos-participados");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CampeonatoDetalheCache campeonatoDetalheCache;
+
+    public List<RegiaoCacheDTO> estatisticas() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Com o cache de segundo nível desligado, as regiões não existem
+        List<String> ativas = List.of(estatisticas.getSecondLevelCacheRegionNames());
+
+        List<RegiaoCacheDTO> regioes = new ArrayList<>(REGIOES.stream()
+                .filter(ativas::contains)
+                .map(regiao -> {
+                    CacheRegionStatistics regiaoStats = estatisticas.getDomainDataRegionStatistics(regiao);
+                    long acertos = regiaoStats.getHitCount();
+                    long falhas = regiaoStats.getMissCount();
+
+                    return RegiaoCacheDTO.builder()
+                            .regiao(regiao)
+                            .acertos(acertos)
+                            .falhas(falhas)
+                            .insercoes(regiaoStats.getPutCount())
+                            .elementos(regiaoStats.getElementCountInMemory())
+                            .taxaAcerto(acertos + falhas > 0 ? (double) acertos / (acertos + falhas) : 0)
+                            .build();
+                })
+                .toList());
+
+        // Detalhe montado dos campeonatos (fora do Hibernate)
+        regioes.add(campeonatoDetalheCache.estatisticas());
+        return regioes;
+    }
+
+    /**
+     * Esvazia os caches desta instância. Só é preciso depois de alterar o banco por
+     * fora da aplicação; do contrário a expiração das regiões acaba resolvendo.
+     */
+    public void limpar() {
+        entityManagerFactory.getCache().evictAll();
+        campeonatoDetalheCache.limpar();
+    }
+}
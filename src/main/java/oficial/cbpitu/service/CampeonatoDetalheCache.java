@@ -0,0 +1,181 @@
+package oficial.cbpitu.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import oficial.cbpitu.dto.RegiaoCacheDTO;
+import oficial.cbpitu.dto.campeonato.CampeonatoDTO;
+import oficial.cbpitu.dto.campeonato.FaseDTO;
+import oficial.cbpitu.dto.campeonato.GrupoDTO;
+import oficial.cbpitu.exception.RecursoNaoEncontradoException;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache do detalhe montado do campeonato (CampeonatoDTO), validado pela revisão
+ * do campeonato (tb_campeonatos.revisao).
+ *
+ * Toda escrita que muda o detalhe chama {@link #invalidar}; a revisão sobe uma vez
+ * por transação, no último comando antes do commit, para a linha do campeonato
+ * ficar travada o mínimo possível. A leitura confere a revisão (uma consulta pela
+ * chave primária, para várias instâncias enxergarem as escritas umas das outras)
+ * e só remonta o DTO quando ela mudou. O tamanho do cache é limitado por um peso
+ * aproximado de memória: a quantidade de itens (times, partidas, linhas de tabela).
+ */
+@Component
+public class CampeonatoDetalheCache {
+
+    /**
+     * Ordem da sincronização que sobe a revisão: antes das que gravam com a revisão nova
+     * (ver RegistroAlteracoes).
+     */
+    static final int ORDEM_REVISAO = 0;
+
+    private record Entrada(long revisao, CampeonatoDTO detalhe) {
+    }
+
+    private final CampeonatoRepository campeonatoRepository;
+    private final Cache<Long, Entrada> cache;
+
+    // Entrada de revisão antiga conta como falha
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    public CampeonatoDetalheCache(CampeonatoRepository campeonatoRepository,
+            @Value("${cbpitu.cache.campeonatos.peso-maximo:500000}") long pesoMaximo) {
+        this.campeonatoRepository = campeonatoRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(pesoMaximo)
+                .weigher((Long id, Entrada entrada) -> peso(entrada.detalhe()))
+                .build();
+    }
+
+    public long buscarRevisao(Long campeonatoId) {
+        return campeonatoRepository.findRevisaoById(campeonatoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Campeonato", campeonatoId));
+    }
+
+    public static String etag(Long campeonatoId, long revisao) {
+        return "\"c" + campeonatoId + "-r" + revisao + "\"";
+    }
+
+    /**
+     * Detalhe na revisão informada: o do cache, se for dela, senão o montado agora.
+     */
+    public CampeonatoDTO buscar(Long campeonatoId, long revisao, Supplier<CampeonatoDTO> montar) {
+        Entrada entrada = cache.getIfPresent(campeonatoId);
+        if (entrada != null && entrada.revisao() == revisao) {
+            acertos.increment();
+            return entrada.detalhe();
+        }
+        falhas.increment();
+
+        CampeonatoDTO detalhe = montar.get();
+        // Não troca uma revisão mais nova já guardada por outra requisição
+        cache.asMap().merge(campeonatoId, new Entrada(revisao, detalhe),
+                (atual, nova) -> atual.revisao() > nova.revisao() ? atual : nova);
+        return detalhe;
+    }
+
+    /**
+     * Marca o campeonato como alterado na transação atual. A revisão sobe num único
+     * UPDATE antes do commit (e some junto se a transação for desfeita).
+     */
+    public void invalidar(Long campeonatoId) {
+        if (campeonatoId == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            campeonatoRepository.incrementarRevisao(List.of(campeonatoId));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> pendentes = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            // Ordenados: transações com vários campeonatos travam as linhas na mesma ordem
+            Set<Long> novos = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return ORDEM_REVISAO;
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    campeonatoRepository.incrementarRevisao(novos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CampeonatoDetalheCache.this);
+                }
+            });
+            pendentes = novos;
+        }
+        pendentes.add(campeonatoId);
+    }
+
+    // Escritas fora da árvore que aparecem no detalhe (nome e troféus dos times, nome da edição)
+
+    public void invalidarPorTimes(Collection<Long> timeIds) {
+        if (!timeIds.isEmpty()) {
+            campeonatoRepository.incrementarRevisaoPorTimes(timeIds);
+        }
+    }
+
+    public void invalidarPorEdicao(Long edicaoId) {
+        campeonatoRepository.incrementarRevisaoPorEdicao(edicaoId);
+    }
+
+    public void invalidarTodos() {
+        campeonatoRepository.incrementarTodasAsRevisoes();
+    }
+
+    public RegiaoCacheDTO estatisticas() {
+        long totalAcertos = acertos.sum();
+        long totalFalhas = falhas.sum();
+        return RegiaoCacheDTO.builder()
+                .regiao("campeonatos-detalhe")
+                .acertos(totalAcertos)
+                .falhas(totalFalhas)
+                .insercoes(totalFalhas)
+                .elementos(cache.estimatedSize())
+                .taxaAcerto(totalAcertos + totalFalhas > 0 ? (double) totalAcertos / (totalAcertos + totalFalhas) : 0)
+                .build();
+    }
+
+    public void limpar() {
+        cache.invalidateAll();
+    }
+
+    private static int peso(CampeonatoDTO detalhe) {
+        int peso = 1 + tamanho(detalhe.getTimesParticipantes());
+        if (detalhe.getFases() != null) {
+            for (FaseDTO fase : detalhe.getFases()) {
+                peso += 1 + tamanho(fase.getPartidas());
+                if (fase.getGrupos() != null) {
+                    for (GrupoDTO grupo : fase.getGrupos()) {
+                        peso += 1 + tamanho(grupo.getTimes()) + tamanho(grupo.getClassificacao());
+                    }
+                }
+            }
+        }
+        return peso;
+    }
+
+    private static int tamanho(List<?> lista) {
+        return lista != null ? lista.size() : 0;
+    }
+}
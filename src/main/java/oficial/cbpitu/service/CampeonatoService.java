@@ -1,15 +1,20 @@
 package oficial.cbpitu.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.campeonato.CampeonatoDTO;
+import oficial.cbpitu.dto.campeonato.InscricaoDTO;
 import oficial.cbpitu.exception.OperacaoInvalidaException;
 import oficial.cbpitu.exception.RecursoNaoEncontradoException;
 import oficial.cbpitu.exception.RegraNegocioException;
+import oficial.cbpitu.mapper.CampeonatoMapper;
 import oficial.cbpitu.model.*;
 import oficial.cbpitu.model.enums.FormatoCompeticao;
 import oficial.cbpitu.model.enums.StatusCampeonato;
 import oficial.cbpitu.model.enums.StatusPartida;
 import oficial.cbpitu.repository.*;
 import oficial.cbpitu.service.strategy.*;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,8 +31,14 @@ public class CampeonatoService {
     private final GrupoRepository grupoRepository;
     private final PartidaRepository partidaRepository;
     private final TimeRepository timeRepository;
-    private final JogadorRepository jogadorRepository;
     private final EscalacaoRepository escalacaoRepository;
+    private final InscricaoEsperaRepository inscricaoEsperaRepository;
+    private final ClassificacaoService classificacaoService;
+    private final TitulosService titulosService;
+    private final CampeonatoDetalheCache detalheCache;
+    private final RegistroAlteracoes alteracoes;
+    private final CampeonatoMapper campeonatoMapper;
+    private final EntityManager entityManager;
 
     // Strategies
     private final MataMataStrategy mataMataStrategy;
@@ -37,14 +48,39 @@ public class CampeonatoService {
 
     // CRUD Campeonato
 
-    public List<Campeonato> listarTodos() {
-        return campeonatoRepository.findAll();
+    // Listagem por cursor (ver PaginaDTO)
+    public List<Campeonato> listarPagina(Long apos, StatusCampeonato status, Long edicaoId, int limite) {
+        return campeonatoRepository.buscarPagina(apos != null ? apos : 0L, status, edicaoId, Limit.of(limite + 1));
     }
 
     public Optional<Campeonato> buscarPorId(Long id) {
         return campeonatoRepository.findById(id);
     }
 
+    /**
+     * Carrega a árvore completa do campeonato (fases, grupos, partidas e times)
+     * em um número fixo de consultas, independente do tamanho do campeonato.
+     * As consultas populam as coleções das mesmas instâncias no contexto de persistência.
+     */
+    @Transactional(readOnly = true)
+    public Campeonato buscarDetalhado(Long id) {
+        Campeonato campeonato = campeonatoRepository.findComFasesById(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Campeonato", id));
+        campeonatoRepository.findComTimesById(id);
+        faseRepository.findComGruposByCampeonatoId(id);
+        faseRepository.findComPartidasByCampeonatoId(id);
+        return campeonato;
+    }
+
+    /**
+     * Detalhe já convertido em DTO. A árvore, as tabelas e o que o mapper ainda
+     * carrega saem na mesma transação, com uma conexão só do pool.
+     */
+    @Transactional(readOnly = true)
+    public CampeonatoDTO montarDetalhe(Long id) {
+        return campeonatoMapper.toDTO(buscarDetalhado(id));
+    }
+
     public List<Campeonato> listarAtivos() {
         return campeonatoRepository.findCampeonatosAtivos();
     }
@@ -64,13 +100,20 @@ public class CampeonatoService {
         campeonato.setDataInicio(dados.getDataInicio());
         campeonato.setDataFim(dados.getDataFim());
         campeonato.setLimiteMaximoTimes(dados.getLimiteMaximoTimes());
+        campeonatoRepository.saveAndFlush(campeonato);
 
-        return campeonatoRepository.save(campeonato);
+        // Se o limite subiu, as vagas novas vão para a lista de espera
+        preencherVagasDaListaDeEspera(campeonato);
+
+        alteracoes.campeonatoAlterado(id);
+        return campeonato;
     }
 
     @Transactional
     public void deletar(Long id) {
         Campeonato campeonato = buscarOuFalhar(id);
+        inscricaoEsperaRepository.deleteByCampeonatoId(id);
+        alteracoes.removerDoCampeonato(id);
         campeonatoRepository.delete(campeonato);
     }
 
@@ -80,62 +123,194 @@ public class CampeonatoService {
     public Campeonato abrirInscricoes(Long campeonatoId) {
         Campeonato campeonato = buscarOuFalhar(campeonatoId);
         campeonato.setStatus(StatusCampeonato.INSCRICOES_ABERTAS);
-        return campeonatoRepository.save(campeonato);
+        campeonatoRepository.saveAndFlush(campeonato);
+
+        // Reabertura: a fila pode ter ficado com vagas livres pela frente
+        preencherVagasDaListaDeEspera(campeonato);
+
+        alteracoes.campeonatoAlterado(campeonatoId);
+        return campeonato;
     }
 
     @Transactional
     public Campeonato fecharInscricoes(Long campeonatoId) {
         Campeonato campeonato = buscarOuFalhar(campeonatoId);
         campeonato.setStatus(StatusCampeonato.INSCRICOES_ENCERRADAS);
+        alteracoes.campeonatoAlterado(campeonatoId);
         return campeonatoRepository.save(campeonato);
     }
 
+    /**
+     * Inscreve o time sem carregar os inscritos: a vaga é reservada no contador com um
+     * UPDATE condicional e só então a linha da junção é gravada. Com as vagas esgotadas,
+     * o time entra no fim da lista de espera.
+     */
     @Transactional
-    public Campeonato inscreverTime(Long campeonatoId, Long timeId) {
-        Campeonato campeonato = buscarOuFalhar(campeonatoId);
+    public InscricaoDTO inscreverTime(Long campeonatoId, Long timeId) {
         Time time = timeRepository.findById(timeId)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Time", timeId));
+        StatusCampeonato status = campeonatoRepository.findStatusById(campeonatoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Campeonato", campeonatoId));
 
-        if (!campeonato.podeInscreverTime()) {
-            throw new OperacaoInvalidaException("Inscrições não estão abertas ou limite de times atingido");
+        if (status != StatusCampeonato.INSCRICOES_ABERTAS) {
+            throw new OperacaoInvalidaException("Inscrições não estão abertas");
         }
 
-        if (campeonato.getTimesParticipantes().contains(time)) {
+        if (campeonatoRepository.existsInscricao(campeonatoId, timeId)) {
             throw new RegraNegocioException("Time já está inscrito neste campeonato");
         }
 
-        if (campeonato.getEdicao() != null) {
-            // Verifica se já existe escalação para este time nesta edição
-            if (!escalacaoRepository.existsByTimeIdAndEdicaoId(time.getId(), campeonato.getEdicao().getId())) {
-                Escalacao novaEscalacao = new Escalacao();
-                novaEscalacao.setTime(time);
-                novaEscalacao.setEdicao(campeonato.getEdicao());
-                novaEscalacao.setCapitao(time.getCapitao());
-                // Copia os jogadores do time para a escalação da edição
-                novaEscalacao.setJogadores(new java.util.HashSet<>(time.getJogadores()));
-                
-                escalacaoRepository.save(novaEscalacao);
-                System.out.println("Escalação criada automaticamente para o time " + time.getNomeTime() 
-                        + " na edição " + campeonato.getEdicao().getNome());
+        if (campeonatoRepository.reservarVaga(campeonatoId) == 0) {
+            // Sem vaga (ou as inscrições fecharam entre a leitura e a reserva)
+            if (campeonatoRepository.findStatusById(campeonatoId).orElse(null) != StatusCampeonato.INSCRICOES_ABERTAS) {
+                throw new OperacaoInvalidaException("Inscrições não estão abertas");
             }
+            return entrarNaListaDeEspera(campeonatoId, timeId);
         }
 
-        campeonato.adicionarTime(time);
-        return campeonatoRepository.save(campeonato);
+        // Outra requisição do mesmo time pode ter gravado a junção depois da checagem:
+        // a exceção desfaz a reserva
+        if (campeonatoRepository.inserirInscricao(campeonatoId, timeId) == 0) {
+            throw new RegraNegocioException("Time já está inscrito neste campeonato");
+        }
+
+        criarEscalacaoSeNecessario(campeonatoId, time);
+        alteracoes.campeonatoAlterado(campeonatoId);
+
+        return InscricaoDTO.builder()
+                .campeonatoId(campeonatoId)
+                .timeId(timeId)
+                .situacao(InscricaoDTO.Situacao.INSCRITO)
+                .build();
     }
 
+    /**
+     * Remove o time; a vaga liberada vai direto para o primeiro da lista de espera.
+     */
     @Transactional
     public Campeonato removerTime(Long campeonatoId, Long timeId) {
-        Campeonato campeonato = buscarOuFalhar(campeonatoId);
-        Time time = timeRepository.findById(timeId)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Time", timeId));
+        if (!campeonatoRepository.existsById(campeonatoId)) {
+            throw new RecursoNaoEncontradoException("Campeonato", campeonatoId);
+        }
+        if (!timeRepository.existsById(timeId)) {
+            throw new RecursoNaoEncontradoException("Time", timeId);
+        }
 
-        if (!campeonato.getTimesParticipantes().contains(time)) {
-            throw new RegraNegocioException("Time não está inscrito neste campeonato");
+        if (campeonatoRepository.removerInscricao(campeonatoId, timeId) == 0) {
+            // Pode estar só na lista de espera
+            InscricaoEspera espera = inscricaoEsperaRepository.findByCampeonatoIdAndTimeId(campeonatoId, timeId)
+                    .orElseThrow(() -> new RegraNegocioException("Time não está inscrito neste campeonato"));
+            inscricaoEsperaRepository.delete(espera);
+        } else {
+            liberarVaga(campeonatoId);
         }
 
-        campeonato.removerTime(time);
-        return campeonatoRepository.save(campeonato);
+        return buscarOuFalhar(campeonatoId);
+    }
+
+    /**
+     * Devolve a vaga de uma inscrição removida: passa para o primeiro da lista de
+     * espera ou, com a fila vazia, volta ao contador.
+     */
+    @Transactional
+    public void liberarVaga(Long campeonatoId) {
+        if (!promoverDaListaDeEspera(campeonatoId)) {
+            campeonatoRepository.liberarVaga(campeonatoId);
+        }
+        alteracoes.campeonatoAlterado(campeonatoId);
+    }
+
+    public List<InscricaoDTO> listarListaDeEspera(Long campeonatoId) {
+        if (!campeonatoRepository.existsById(campeonatoId)) {
+            throw new RecursoNaoEncontradoException("Campeonato", campeonatoId);
+        }
+
+        List<InscricaoEspera> fila = inscricaoEsperaRepository.findByCampeonatoIdOrderByIdAsc(campeonatoId);
+        List<InscricaoDTO> resultado = new ArrayList<>();
+        for (int i = 0; i < fila.size(); i++) {
+            resultado.add(InscricaoDTO.builder()
+                    .campeonatoId(campeonatoId)
+                    .timeId(fila.get(i).getTimeId())
+                    .situacao(InscricaoDTO.Situacao.LISTA_ESPERA)
+                    .posicaoListaEspera((long) i + 1)
+                    .build());
+        }
+        return resultado;
+    }
+
+    private InscricaoDTO entrarNaListaDeEspera(Long campeonatoId, Long timeId) {
+        inscricaoEsperaRepository.entrar(campeonatoId, timeId);
+        InscricaoEspera espera = inscricaoEsperaRepository.findByCampeonatoIdAndTimeId(campeonatoId, timeId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Inscrição na lista de espera", timeId));
+
+        return InscricaoDTO.builder()
+                .campeonatoId(campeonatoId)
+                .timeId(timeId)
+                .situacao(InscricaoDTO.Situacao.LISTA_ESPERA)
+                .posicaoListaEspera(inscricaoEsperaRepository.posicao(campeonatoId, espera.getId()))
+                .build();
+    }
+
+    /**
+     * Ocupa as vagas livres com a lista de espera: reserva no contador como uma
+     * inscrição normal e devolve a reserva quando a fila acaba. O campeonato já
+     * gravado é relido, já que o contador muda por UPDATE direto.
+     */
+    private void preencherVagasDaListaDeEspera(Campeonato campeonato) {
+        Long campeonatoId = campeonato.getId();
+        if (inscricaoEsperaRepository.buscarPrimeiro(campeonatoId, Limit.of(1)).isEmpty()) {
+            return;
+        }
+        while (campeonatoRepository.reservarVaga(campeonatoId) == 1) {
+            if (!promoverDaListaDeEspera(campeonatoId)) {
+                campeonatoRepository.liberarVaga(campeonatoId);
+                break;
+            }
+        }
+        entityManager.refresh(campeonato);
+    }
+
+    /**
+     * Passa a vaga para o primeiro da fila (que sai da lista). Pula times removidos
+     * enquanto esperavam. Retorna false se a fila estiver vazia.
+     */
+    private boolean promoverDaListaDeEspera(Long campeonatoId) {
+        while (true) {
+            List<InscricaoEspera> primeiro = inscricaoEsperaRepository.buscarPrimeiro(campeonatoId, Limit.of(1));
+            if (primeiro.isEmpty()) {
+                return false;
+            }
+
+            InscricaoEspera espera = primeiro.get(0);
+            inscricaoEsperaRepository.delete(espera);
+
+            Optional<Time> time = timeRepository.findById(espera.getTimeId());
+            if (time.isPresent() && campeonatoRepository.inserirInscricao(campeonatoId, espera.getTimeId()) == 1) {
+                criarEscalacaoSeNecessario(campeonatoId, time.get());
+                return true;
+            }
+        }
+    }
+
+    private void criarEscalacaoSeNecessario(Long campeonatoId, Time time) {
+        Edicao edicao = campeonatoRepository.findEdicaoById(campeonatoId).orElse(null);
+        if (edicao == null) {
+            return;
+        }
+
+        // Verifica se já existe escalação para este time nesta edição
+        if (!escalacaoRepository.existsByTimeIdAndEdicaoId(time.getId(), edicao.getId())) {
+            Escalacao novaEscalacao = new Escalacao();
+            novaEscalacao.setTime(time);
+            novaEscalacao.setEdicao(edicao);
+            novaEscalacao.setCapitao(time.getCapitao());
+            // Copia os jogadores do time para a escalação da edição
+            novaEscalacao.setJogadores(new java.util.HashSet<>(time.getJogadores()));
+
+            escalacaoRepository.save(novaEscalacao);
+            System.out.println("Escalação criada automaticamente para o time " + time.getNomeTime()
+                    + " na edição " + edicao.getNome());
+        }
     }
 
     // Gerenciamento de Fases
@@ -154,7 +329,9 @@ public class CampeonatoService {
         fase.setFinalizada(false);
 
         campeonato.adicionarFase(fase);
+        faseRepository.save(fase);
         campeonatoRepository.save(campeonato);
+        alteracoes.faseAlterada(campeonatoId, fase.getId());
 
         return fase;
     }
@@ -186,6 +363,7 @@ public class CampeonatoService {
         gerarConfrontosDaFase(primeiraFase, new ArrayList<>(campeonato.getTimesParticipantes()));
 
         campeonato.setStatus(StatusCampeonato.EM_ANDAMENTO);
+        alteracoes.campeonatoAlterado(campeonatoId);
         return campeonatoRepository.save(campeonato);
     }
 
@@ -198,6 +376,7 @@ public class CampeonatoService {
             return;
         }
 
+        detalheCache.invalidar(fase.getCampeonato().getId());
         GeradorDeConfrontos strategy = getStrategy(fase.getFormato());
 
         if (!strategy.validarNumeroTimes(times.size())) {
@@ -215,6 +394,8 @@ public class CampeonatoService {
 
             List<Grupo> grupos = gruposStrategy.dividirEmGrupos(times, fase);
             grupoRepository.saveAll(grupos);
+            grupos.forEach(g -> alteracoes.grupoAlterado(fase.getCampeonato().getId(), g.getId()));
+            grupos.forEach(classificacaoService::inicializarGrupo);
 
             // Gera partidas para os grupos persistidos
             partidas = gruposStrategy.gerarPartidasParaGrupos(grupos, fase);
@@ -223,6 +404,7 @@ public class CampeonatoService {
         }
 
         partidaRepository.saveAll(partidas);
+        alteracoes.partidasCriadas(partidas);
     }
 
     @Transactional
@@ -239,6 +421,8 @@ public class CampeonatoService {
             throw new OperacaoInvalidaException("Confrontos já foram gerados para esta fase");
         }
 
+        detalheCache.invalidar(fase.getCampeonato().getId());
+
         List<Partida> partidas = new ArrayList<>();
         int rodada = 1;
         int numPartidas = confrontos.size();
@@ -271,6 +455,7 @@ public class CampeonatoService {
         }
 
         partidaRepository.saveAll(partidas);
+        alteracoes.partidasCriadas(partidas);
         
         // Atualiza status do campeonato se necessário
         Campeonato campeonato = fase.getCampeonato();
@@ -278,6 +463,7 @@ public class CampeonatoService {
             campeonato.getStatus() == StatusCampeonato.INSCRICOES_ABERTAS) {
             campeonato.setStatus(StatusCampeonato.EM_ANDAMENTO);
             campeonatoRepository.save(campeonato);
+            alteracoes.campeonatoAlterado(campeonato.getId());
         }
     }
 
@@ -290,6 +476,8 @@ public class CampeonatoService {
             throw new OperacaoInvalidaException("Fase já está finalizada");
         }
         
+        detalheCache.invalidar(fase.getCampeonato().getId());
+
         // Verifica se é realmente uma fase de grupos
         if (!fase.isGrupos()) {
              throw new OperacaoInvalidaException("Esta fase não é de grupos");
@@ -303,6 +491,7 @@ public class CampeonatoService {
         // Verifica se grupos já existem
         if (fase.getGrupos() != null && !fase.getGrupos().isEmpty()) {
              // Limpa grupos existentes se não houver partidas (caso raro de retry)
+             fase.getGrupos().forEach(g -> alteracoes.grupoAlterado(fase.getCampeonato().getId(), g.getId()));
              grupoRepository.deleteAll(fase.getGrupos());
              fase.getGrupos().clear();
         }
@@ -320,13 +509,17 @@ public class CampeonatoService {
                 grupo.adicionarTime(time);
             }
             
-            gruposSalvos.add(grupoRepository.save(grupo));
+            Grupo salvo = grupoRepository.save(grupo);
+            alteracoes.grupoAlterado(fase.getCampeonato().getId(), salvo.getId());
+            classificacaoService.inicializarGrupo(salvo);
+            gruposSalvos.add(salvo);
         }
         
         // Gera partidas usando a strategy existente
         if (getStrategy(fase.getFormato()) instanceof FaseDeGruposStrategy gruposStrategy) {
             List<Partida> partidas = gruposStrategy.gerarPartidasParaGrupos(gruposSalvos, fase);
             partidaRepository.saveAll(partidas);
+            alteracoes.partidasCriadas(partidas);
         }
         
         // Atualiza status do campeonato
@@ -335,20 +528,29 @@ public class CampeonatoService {
             campeonato.getStatus() == StatusCampeonato.INSCRICOES_ABERTAS) {
             campeonato.setStatus(StatusCampeonato.EM_ANDAMENTO);
             campeonatoRepository.save(campeonato);
+            alteracoes.campeonatoAlterado(campeonato.getId());
         }
     }
 
     // Lógica de Avanço Automático
 
+    /**
+     * Chamado pelo AvancoService depois que o resultado foi gravado. A trava na
+     * linha da fase faz com que avanços simultâneos da mesma fase rodem um de cada
+     * vez: quem chega por último já enxerga o resultado do outro e é o único a
+     * gerar a próxima rodada. Fases diferentes seguem em paralelo.
+     */
     @Transactional
     public void verificarEProcessarAvanco(Long faseId, Partida partidaRecente) {
-        Fase fase = faseRepository.findById(faseId)
+        Fase fase = faseRepository.findComLockById(faseId)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Fase", faseId));
 
         if (Boolean.TRUE.equals(fase.getFinalizada())) {
             return;
         }
 
+        detalheCache.invalidar(fase.getCampeonato().getId());
+
         switch (fase.getFormato()) {
             case MATA_MATA:
             case MATA_MATA_MD3:
@@ -373,6 +575,11 @@ public class CampeonatoService {
         boolean todasFinalizadas = partidasDaRodada.stream()
                 .allMatch(p -> p.getStatus() == StatusPartida.FINALIZADA || p.getStatus() == StatusPartida.WO);
 
+        // Próxima rodada já gerada (resultado corrigido ou avanço repetido)
+        if (todasFinalizadas && partidaRepository.existsByFaseIdAndRodada(fase.getId(), rodada + 1)) {
+            return;
+        }
+
         if (todasFinalizadas) {
             List<Time> vencedores = partidasDaRodada.stream()
                     .map(Partida::getVencedor)
@@ -381,6 +588,7 @@ public class CampeonatoService {
             if (!vencedores.isEmpty() && vencedores.size() >= 2) {
                 List<Partida> proximas = mataMataStrategy.gerarProximaRodada(fase, vencedores);
                 partidaRepository.saveAll(proximas);
+                alteracoes.partidasCriadas(proximas);
             }
         }
     }
@@ -401,21 +609,20 @@ public class CampeonatoService {
             int qtdTimes = fase.getCampeonato().getTimesParticipantes().size();
             System.out.println("Qtd times participantes: " + qtdTimes);
 
-            int calculado = Math.min(qtdTimes - 1, 5); // Default
-            int configurado = (fase.getRodadasTotais() != null) ? fase.getRodadasTotais() : 0;
-
-            // Se configurado for muito baixo (ex: 1) ou nulo, usa o calculado
-            int rodadasTotais = (configurado > 1) ? configurado : calculado;
+            int rodadasTotais = sistemaSuicoStrategy.calcularRodadasTotais(fase, qtdTimes);
 
-            System.out.println("Rodadas Totais (Config: " + configurado + ", Final: " + rodadasTotais + ")");
+            System.out.println("Rodadas Totais (Config: " + fase.getRodadasTotais() + ", Final: " + rodadasTotais + ")");
 
-            if (rodada < rodadasTotais) {
+            if (partidaRepository.existsByFaseIdAndRodada(fase.getId(), rodada + 1)) {
+                System.out.println("Rodada " + (rodada + 1) + " já gerada.");
+            } else if (rodada < rodadasTotais) {
                 System.out.println("Gerando proxima rodada...");
                 // Busca todas as partidas da fase para garantir cálculo correto
                 List<Partida> todasPartidasFase = partidaRepository.findByFaseId(fase.getId());
                 try {
                     List<Partida> proximas = sistemaSuicoStrategy.gerarProximaRodada(fase, todasPartidasFase, rodada);
                     partidaRepository.saveAll(proximas);
+                    alteracoes.partidasCriadas(proximas);
                     System.out.println("Salvas " + proximas.size() + " novas partidas.");
                 } catch (Exception e) {
                     System.err.println("Erro ao gerar rodada suico:");
@@ -428,255 +635,55 @@ public class CampeonatoService {
         }
     }
 
+    /**
+     * O chaveamento já nasce completo (ver LoserBracketStrategy): cada partida
+     * aponta para onde vão o vencedor e o perdedor, então o avanço só preenche
+     * as vagas dessas duas partidas.
+     */
     private void processarAvancoLoserBracket(Fase fase, Partida partidaRecente) {
-        int rodada = partidaRecente.getRodada();
-        String identificador = partidaRecente.getIdentificadorBracket();
-        
-        System.out.println("=== processarAvancoLoserBracket ===");
-        System.out.println("Rodada: " + rodada + ", Identificador: " + identificador);
-
-        // GRAND FINALS
-        if (rodada == 0 || (identificador != null && identificador.startsWith("GF"))) {
-            // Check if GF-RESET is needed
-            if (identificador != null && identificador.equals("GF") && partidaRecente.isFinalizada()) {
-                Time vencedor = partidaRecente.getVencedor();
-                Time vencedorWB = partidaRecente.getTime1(); // WB winner is always time1
-                
-                if (!vencedor.equals(vencedorWB)) {
-                    // LB winner beat WB winner - need reset!
-                    System.out.println("LB winner ganhou GF - Gerando RESET");
-                    Partida reset = loserBracketStrategy.gerarGrandFinalsReset(fase, 
-                            partidaRecente.getTime1(), partidaRecente.getTime2());
-                    partidaRepository.save(reset);
-                }
-            }
-            return;
-        }
-
-        // LOSERS BRACKET (rodada >= 100)
-        if (rodada >= 100) {
-            processarAvancoLB(fase, partidaRecente);
+        Time vencedor = partidaRecente.getVencedor();
+        if (vencedor == null) {
             return;
         }
 
-        // WINNERS BRACKET (rodada < 100)
-        processarAvancoWB(fase, partidaRecente);
-    }
+        // GRAND FINALS: se o vencedor do LB ganhar, gera o reset
+        if (LoserBracketStrategy.GRAND_FINALS.equals(partidaRecente.getIdentificadorBracket())) {
+            boolean vencedorWB = vencedor.equals(partidaRecente.getTime1()); // WB winner is always time1
+            String reset = LoserBracketStrategy.GRAND_FINALS + "-RESET";
 
-    private void processarAvancoWB(Fase fase, Partida partidaRecente) {
-        int rodada = partidaRecente.getRodada();
-        List<Partida> partidasWB = partidaRepository.findByFaseIdAndRodada(fase.getId(), rodada);
-        
-        if (!partidasWB.stream().allMatch(this::isFinalizada)) {
-            System.out.println("WB Rodada " + rodada + " ainda não finalizada");
+            if (!vencedorWB && !partidaRepository.existsByFaseIdAndIdentificadorBracket(fase.getId(), reset)) {
+                System.out.println("LB winner ganhou GF - Gerando RESET");
+                Partida grandFinalsReset = partidaRepository.save(loserBracketStrategy.gerarGrandFinalsReset(fase,
+                        partidaRecente.getTime1(), partidaRecente.getTime2()));
+                alteracoes.partidasCriadas(List.of(grandFinalsReset));
+            }
             return;
         }
 
-        List<Time> vencedoresWB = partidasWB.stream().map(Partida::getVencedor).toList();
-        List<Time> perdedoresWB = partidasWB.stream().map(Partida::getPerdedor).toList();
-        
-        System.out.println("WB R" + rodada + " finalizada. Vencedores: " + vencedoresWB.size() + ", Perdedores: " + perdedoresWB.size());
-
-        // Calcula número total de rodadas WB baseado no tamanho inicial
-        int numTimesTotal = calcularNumTimesInicial(fase);
-        int totalRodadasWB = calcularTotalRodadasWB(numTimesTotal);
-        int rodadaAtualWB = totalRodadasWB - rodada + 1; // Converte para 1-indexed
-
-        System.out.println("Total times: " + numTimesTotal + ", Total rodadas WB: " + totalRodadasWB);
-        System.out.println("Rodada atual WB (1-indexed): " + rodadaAtualWB);
-
-        boolean isWBFinal = (rodada == 1);
-
-        // 1. Avança vencedores no WB (se não for final)
-        if (!isWBFinal && vencedoresWB.size() >= 2) {
-            List<Partida> proxWB = loserBracketStrategy.gerarProximaRodadaWinners(fase, vencedoresWB, rodada);
-            partidaRepository.saveAll(proxWB);
-            System.out.println("Geradas " + proxWB.size() + " partidas para WB R" + (rodada - 1));
-        }
-
-        // 2. Processa perdedores para o LB
-        if (rodadaAtualWB == 1) {
-            // Primeira rodada WB - perdedores vão para LB R1
-            // Verifica se LB R1 já existe
-            List<Partida> lbR1Existente = partidaRepository.findByFaseIdAndRodada(fase.getId(), 101);
-            if (lbR1Existente.isEmpty()) {
-                List<Partida> lbR1 = loserBracketStrategy.gerarRodadaLosers(fase, null, perdedoresWB, 1);
-                partidaRepository.saveAll(lbR1);
-                System.out.println("Geradas " + lbR1.size() + " partidas para LB R1");
-            }
-        } else if (isWBFinal) {
-            // WB Final - perdedor vai para LB Final enfrentar vencedor do LB
-            Time perdedorWBFinal = perdedoresWB.get(0);
-            Time vencedorWB = vencedoresWB.get(0);
-            
-            // Calcula qual é a última rodada do LB
-            int lbFinalRodada = calcularLBFinalRodada(numTimesTotal);
-            
-            // Verifica se o LB está pronto (vencedor do LB)
-            List<Partida> partidasLBAnterior = partidaRepository.findByFaseIdAndRodada(fase.getId(), 100 + lbFinalRodada - 1);
-            
-            if (!partidasLBAnterior.isEmpty() && partidasLBAnterior.stream().allMatch(this::isFinalizada)) {
-                Time vencedorLB = partidasLBAnterior.get(0).getVencedor();
-                
-                // Gera LB Final
-                List<Partida> lbFinal = loserBracketStrategy.gerarRodadaLosers(fase, 
-                        List.of(perdedorWBFinal), List.of(vencedorLB), lbFinalRodada);
-                partidaRepository.saveAll(lbFinal);
-                System.out.println("Gerada LB Final (R" + lbFinalRodada + ")");
-            } else {
-                // LB ainda não está pronto - o gatilho virá do LB
-                System.out.println("LB ainda não finalizado, aguardando...");
-            }
-            
-            // Guarda o vencedor WB para Grand Finals (será resgatado depois)
-        } else {
-            // Rodadas intermediárias WB - perdedores caem para rodada LB correspondente
-            // Para 8 times: WB R2 perdedores -> LB R2 (enfrentam winners LB R1)
-            int targetLBRodada = rodadaAtualWB; // Simplificado para este caso
-            
-            // Verifica se LB anterior está finalizado
-            List<Partida> lbAnterior = partidaRepository.findByFaseIdAndRodada(fase.getId(), 100 + targetLBRodada - 1);
-            
-            if (!lbAnterior.isEmpty() && lbAnterior.stream().allMatch(this::isFinalizada)) {
-                List<Time> vencedoresLB = lbAnterior.stream().map(Partida::getVencedor).toList();
-                List<Partida> proxLB = loserBracketStrategy.gerarRodadaLosers(fase, perdedoresWB, vencedoresLB, targetLBRodada);
-                partidaRepository.saveAll(proxLB);
-                System.out.println("Geradas " + proxLB.size() + " partidas para LB R" + targetLBRodada);
-            }
-        }
+        preencherVaga(partidaRecente.getProximaPartidaVencedor(), partidaRecente.getVagaVencedor(), vencedor);
+        preencherVaga(partidaRecente.getProximaPartidaPerdedor(), partidaRecente.getVagaPerdedor(),
+                partidaRecente.getPerdedor());
     }
 
-    private void processarAvancoLB(Fase fase, Partida partidaRecente) {
-        int rodada = partidaRecente.getRodada();
-        int rodadaLB = rodada - 100;
-        
-        List<Partida> partidasLB = partidaRepository.findByFaseIdAndRodada(fase.getId(), rodada);
-        
-        if (!partidasLB.stream().allMatch(this::isFinalizada)) {
-            System.out.println("LB Rodada " + rodadaLB + " ainda não finalizada");
+    private void preencherVaga(Partida destino, Integer vaga, Time time) {
+        if (destino == null || vaga == null) {
             return;
         }
 
-        List<Time> vencedoresLB = partidasLB.stream().map(Partida::getVencedor).toList();
-        System.out.println("LB R" + rodadaLB + " finalizada. Vencedores: " + vencedoresLB.size());
-
-        int numTimesTotal = calcularNumTimesInicial(fase);
-        int lbFinalRodada = calcularLBFinalRodada(numTimesTotal);
-
-        // Verifica se é a LB Final
-        if (rodadaLB == lbFinalRodada) {
-            // LB Final acabou - gera Grand Finals
-            Time vencedorLB = vencedoresLB.get(0);
-            
-            // Busca vencedor do WB Final
-            List<Partida> wbFinal = partidaRepository.findByFaseIdAndRodada(fase.getId(), 1);
-            if (!wbFinal.isEmpty() && wbFinal.get(0).isFinalizada()) {
-                Time vencedorWB = wbFinal.get(0).getVencedor();
-                
-                // Verifica se GF já existe
-                List<Partida> gfExistentes = partidaRepository.findByFaseIdAndRodada(fase.getId(), 0);
-                if (gfExistentes.isEmpty()) {
-                    Partida grandFinals = loserBracketStrategy.gerarGrandFinals(fase, vencedorWB, vencedorLB);
-                    partidaRepository.save(grandFinals);
-                    System.out.println("Gerada Grand Finals!");
-                }
-            }
+        Time atual = (vaga == 1) ? destino.getTime1() : destino.getTime2();
+        if (time.equals(atual)) {
             return;
         }
 
-        // Verifica se precisa aguardar perdedores do WB
-        int proximaLBRodada = rodadaLB + 1;
-        
-        // Para 4 times: LB R1 -> LB R2 (Final) que precisa do perdedor WB Final
-        // Para 8 times: LB R1 -> LB R2 (precisa perdedores WB R2)
-        
-        if (proximaLBRodada == lbFinalRodada) {
-            // Próxima é a LB Final - precisa do perdedor da WB Final
-            List<Partida> wbFinal = partidaRepository.findByFaseIdAndRodada(fase.getId(), 1);
-            
-            if (!wbFinal.isEmpty() && wbFinal.stream().allMatch(this::isFinalizada)) {
-                List<Time> perdedoresWBFinal = wbFinal.stream().map(Partida::getPerdedor).toList();
-                List<Partida> lbFinal = loserBracketStrategy.gerarRodadaLosers(fase, 
-                        perdedoresWBFinal, vencedoresLB, proximaLBRodada);
-                partidaRepository.saveAll(lbFinal);
-                System.out.println("Gerada LB Final (R" + proximaLBRodada + ")");
-            } else {
-                System.out.println("Aguardando WB Final terminar...");
-            }
-        } else {
-            // Rodada intermediária - verifica se há perdedores WB para misturar
-            // Para 8 times, LB R2 recebe perdedores de WB R2
-            int wbRodadaCorrespondente = calcularWBRodadaParaLB(numTimesTotal, proximaLBRodada);
-            
-            if (wbRodadaCorrespondente > 0) {
-                List<Partida> wbCorrespondente = partidaRepository.findByFaseIdAndRodada(fase.getId(), wbRodadaCorrespondente);
-                
-                if (!wbCorrespondente.isEmpty() && wbCorrespondente.stream().allMatch(this::isFinalizada)) {
-                    List<Time> perdedoresWB = wbCorrespondente.stream().map(Partida::getPerdedor).toList();
-                    List<Partida> proxLB = loserBracketStrategy.gerarRodadaLosers(fase, 
-                            perdedoresWB, vencedoresLB, proximaLBRodada);
-                    partidaRepository.saveAll(proxLB);
-                    System.out.println("Geradas " + proxLB.size() + " partidas para LB R" + proximaLBRodada);
-                }
-            } else {
-                // Só vencedores LB avançam entre si
-                if (vencedoresLB.size() >= 2) {
-                    List<Partida> proxLB = loserBracketStrategy.gerarRodadaLosers(fase, 
-                            null, vencedoresLB, proximaLBRodada);
-                    partidaRepository.saveAll(proxLB);
-                    System.out.println("Geradas " + proxLB.size() + " partidas para LB R" + proximaLBRodada);
-                }
-            }
+        // Correção de resultado depois que a partida seguinte já foi jogada
+        if (isFinalizada(destino)) {
+            throw new OperacaoInvalidaException("A partida " + destino.getIdentificadorBracket()
+                    + " já foi disputada com o resultado anterior");
         }
-    }
 
-    // Helpers para Double Elimination
-    private int calcularNumTimesInicial(Fase fase) {
-        // Pega da contagem de times do campeonato
-        return fase.getCampeonato().getTimesParticipantes().size();
-    }
-
-    private int calcularTotalRodadasWB(int numTimes) {
-        // 4 times = 2 rodadas WB (R2, R1=Final)
-        // 8 times = 3 rodadas WB (R3, R2, R1=Final)
-        return (int) (Math.log(numTimes) / Math.log(2));
-    }
-
-    private int calcularLBFinalRodada(int numTimes) {
-        // 4 times: LB Final = R2
-        // 8 times: LB Final = R4
-        // Fórmula: 2 * (rodadas WB - 1)
-        int rodadasWB = calcularTotalRodadasWB(numTimes);
-        return Math.max(2, 2 * (rodadasWB - 1));
-    }
-
-    private int calcularWBRodadaParaLB(int numTimes, int lbRodada) {
-        // Retorna qual rodada WB alimenta perdedores para a LB rodada especificada
-        // Para 8 times:
-        //   LB R1 <- WB R3 perdedores (primeira rodada)
-        //   LB R2 <- WB R2 perdedores + LB R1 winners
-        //   LB R3 <- só LB R2 winners (rodada de redução)
-        //   LB R4 <- WB R1 (final) perdedor + LB R3 winner
-        
-        int rodadasWB = calcularTotalRodadasWB(numTimes);
-        
-        // Para 4 times (2 rodadas WB):
-        //   LB R1 <- WB R2 perdedores
-        //   LB R2 <- WB R1 perdedor + LB R1 winner
-        if (numTimes == 4) {
-            if (lbRodada == 1) return 2; // WB R2 -> LB R1
-            if (lbRodada == 2) return 1; // WB Final -> LB Final
-        }
-        
-        // Para 8 times (3 rodadas WB):
-        if (numTimes == 8) {
-            if (lbRodada == 1) return 3; // WB R3 -> LB R1
-            if (lbRodada == 2) return 2; // WB R2 -> LB R2
-            if (lbRodada == 3) return 0; // Só LB winners
-            if (lbRodada == 4) return 1; // WB Final -> LB Final
-        }
-        
-        return 0;
+        destino.preencherVaga(vaga, time);
+        partidaRepository.save(destino);
+        alteracoes.partidaAtualizada(destino);
     }
 
     private boolean isFinalizada(Partida p) {
@@ -685,9 +692,14 @@ public class CampeonatoService {
 
     // Avançar Fase
 
+    /**
+     * Não deve ser repetido automaticamente: refazer avançaria a fase seguinte.
+     * Em duas chamadas simultâneas, a segunda falha na versão da fase (409).
+     */
     @Transactional
     public Campeonato avancarParaProximaFase(Long campeonatoId) {
         Campeonato campeonato = buscarOuFalhar(campeonatoId);
+        detalheCache.invalidar(campeonatoId);
 
         // Encontra fase atual em andamento
         Fase faseAtual = faseRepository
@@ -714,6 +726,7 @@ public class CampeonatoService {
         // Marca fase como finalizada
         faseAtual.setFinalizada(true);
         faseRepository.save(faseAtual);
+        alteracoes.faseAlterada(campeonatoId, faseAtual.getId());
 
         // Verifica se há próxima fase
         int proximaOrdem = faseAtual.getOrdem() + 1;
@@ -732,57 +745,15 @@ public class CampeonatoService {
                 campeonato.setCampeao(campeao);
                 
                 // Atribui títulos ao time e jogadores
-                atribuirTitulos(campeonato, campeao);
+                titulosService.atribuir(campeonato, campeao);
             }
             campeonato.setStatus(StatusCampeonato.FINALIZADO);
+            alteracoes.campeonatoAlterado(campeonatoId);
         }
 
         return campeonatoRepository.save(campeonato);
     }
     
-    /**
-     * Atribui títulos ao time campeão e seus jogadores.
-     * Usa a escalação da edição se existir, senão usa os jogadores atuais do time.
-     */
-    private void atribuirTitulos(Campeonato campeonato, Time campeao) {
-        System.out.println("Atribuindo títulos para o campeão: " + campeao.getNomeTime());
-        
-        // Incrementa troféu do time
-        Integer trofeusAtuais = campeao.getTrofeus() != null ? campeao.getTrofeus() : 0;
-        campeao.setTrofeus(trofeusAtuais + 1);
-        timeRepository.save(campeao);
-        System.out.println("Time agora tem " + campeao.getTrofeus() + " troféu(s)");
-        
-        // Busca jogadores que devem receber o título
-        java.util.Set<Jogador> jogadoresParaPremiar = new java.util.HashSet<>();
-        
-        // Se campeonato tem edição, busca escalação daquela edição
-        if (campeonato.getEdicao() != null) {
-            Optional<Escalacao> escalacaoOpt = escalacaoRepository
-                    .findByTimeIdAndEdicaoId(campeao.getId(), campeonato.getEdicao().getId());
-            
-            if (escalacaoOpt.isPresent()) {
-                jogadoresParaPremiar.addAll(escalacaoOpt.get().getJogadores());
-                System.out.println("Usando escalação da edição: " + jogadoresParaPremiar.size() + " jogadores");
-            }
-        }
-        
-        // Se não encontrou escalação, usa jogadores atuais do time
-        if (jogadoresParaPremiar.isEmpty() && campeao.getJogadores() != null) {
-            jogadoresParaPremiar.addAll(campeao.getJogadores());
-            System.out.println("Usando roster atual do time: " + jogadoresParaPremiar.size() + " jogadores");
-        }
-        
-        // Incrementa título de cada jogador
-        for (Jogador jogador : jogadoresParaPremiar) {
-            Integer titulosAtuais = jogador.getTitulos() != null ? jogador.getTitulos() : 0;
-            jogador.setTitulos(titulosAtuais + 1);
-            jogadorRepository.save(jogador);
-            System.out.println("Jogador " + jogador.getNickname() + " agora tem " + jogador.getTitulos() + " título(s)");
-        }
-    }
-
-
     // Helpers
 
     private Campeonato buscarOuFalhar(Long id) {
@@ -0,0 +1,288 @@
+package oficial.cbpitu.service;
+
+import oficial.cbpitu.dto.campeonato.EventoCampeonatoDTO;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transmissão de um campeonato: os assinantes conectados e os últimos eventos
+ * emitidos, guardados para quem reconecta com o Last-Event-ID.
+ *
+ * Os eventos saem por revisão do campeonato (a do log de alterações), e o ID
+ * SSE é a própria revisão, que vale em qualquer instância. Os eventos de uma
+ * revisão saem juntos e só o último leva o ID: quem cai no meio retoma da
+ * revisão anterior e recebe a revisão inteira de novo. Um ID anterior ao buffer
+ * não é aceito e o cliente recebe RESINCRONIZAR. Cada assinante envia na própria
+ * virtual thread, na ordem do buffer; quem fica para trás além do buffer também
+ * recebe RESINCRONIZAR.
+ */
+final class CanalTransmissao {
+
+    record EventoEmitido(long revisao, boolean ultimoDaRevisao, EventoCampeonatoDTO evento) {
+    }
+
+    private final Long campeonatoId;
+    private final int capacidade;
+    private final long reconexaoMs;
+    private final Executor executor;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    // Buffer dos últimos eventos (protegido por this)
+    private final ArrayDeque<EventoEmitido> retidos = new ArrayDeque<>();
+    private long descartadoAte;
+    private volatile long revisao;
+    private volatile long ociosoDesde;
+
+    // Revisão mais nova vista no banco, à espera da montagem dos eventos (protegido por this)
+    private long revisaoVista;
+    private boolean montando;
+
+    CanalTransmissao(Long campeonatoId, long revisao, int capacidade, long reconexaoMs, Executor executor) {
+        this.campeonatoId = campeonatoId;
+        this.capacidade = capacidade;
+        this.reconexaoMs = reconexaoMs;
+        this.executor = executor;
+        this.descartadoAte = revisao;
+        this.revisao = revisao;
+        this.revisaoVista = revisao;
+        this.ociosoDesde = System.currentTimeMillis();
+    }
+
+    Long getCampeonatoId() {
+        return campeonatoId;
+    }
+
+    /**
+     * Revisão até a qual os eventos já foram emitidos.
+     */
+    long getRevisao() {
+        return revisao;
+    }
+
+    // Assinantes
+
+    /**
+     * Conecta o emitter. Sem Last-Event-ID recebe só o que vier daqui em diante;
+     * com um ID válido recebe o que perdeu; com um ID desconhecido, RESINCRONIZAR.
+     */
+    void assinar(SseEmitter emitter, String ultimoEventoId) {
+        Assinante assinante = new Assinante(emitter);
+
+        synchronized (this) {
+            long retomarDe = revisaoDoId(ultimoEventoId);
+            if (retomarDe >= descartadoAte && retomarDe <= revisao) {
+                assinante.ultimoEnviado = retomarDe;
+            } else {
+                assinante.ultimoEnviado = revisao;
+                assinante.resincronizar = ultimoEventoId != null;
+            }
+        }
+
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+
+        assinantes.add(assinante);
+        ociosoDesde = 0;
+        assinante.agendar();
+    }
+
+    private void remover(Assinante assinante) {
+        if (assinantes.remove(assinante) && assinantes.isEmpty()) {
+            ociosoDesde = System.currentTimeMillis();
+        }
+    }
+
+    boolean isOcioso(long agora, long retencaoMs) {
+        long desde = ociosoDesde;
+        return assinantes.isEmpty() && desde > 0 && agora - desde >= retencaoMs;
+    }
+
+    void heartbeat() {
+        for (Assinante assinante : assinantes) {
+            assinante.heartbeat = true;
+            assinante.agendar();
+        }
+    }
+
+    void encerrar() {
+        for (Assinante assinante : assinantes) {
+            assinante.emitter.complete();
+        }
+        assinantes.clear();
+    }
+
+    // Montagem (revisões que chegam enquanto a anterior é lida vão juntas na próxima volta)
+
+    /**
+     * Registra a revisão lida do banco. Retorna true se quem chamou deve iniciar a montagem.
+     */
+    synchronized boolean avancar(long revisaoAtual) {
+        if (revisaoAtual <= revisaoVista) {
+            return false;
+        }
+        revisaoVista = revisaoAtual;
+
+        if (montando) {
+            return false;
+        }
+        montando = true;
+        return true;
+    }
+
+    /**
+     * Revisão até a qual montar o próximo lote (a partir de {@link #getRevisao()}),
+     * ou -1 (e a montagem termina) se não houver mais nada.
+     */
+    synchronized long proximoLote() {
+        if (revisaoVista <= revisao) {
+            montando = false;
+            return -1;
+        }
+        return revisaoVista;
+    }
+
+    // Emissão
+
+    /**
+     * Emite os eventos da revisão; sem eventos (só mudanças que a transmissão não
+     * mostra), a revisão só avança.
+     */
+    void emitir(long revisaoNova, List<EventoCampeonatoDTO> eventos) {
+        synchronized (this) {
+            for (int i = 0; i < eventos.size(); i++) {
+                retidos.addLast(new EventoEmitido(revisaoNova, i == eventos.size() - 1, eventos.get(i)));
+                if (retidos.size() > capacidade) {
+                    descartadoAte = retidos.removeFirst().revisao();
+                }
+            }
+            revisao = revisaoNova;
+        }
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        for (Assinante assinante : assinantes) {
+            assinante.agendar();
+        }
+    }
+
+    /**
+     * Eventos das revisões depois de {@code desde}, ou null se parte deles já saiu do buffer.
+     */
+    private synchronized List<EventoEmitido> eventosApos(long desde) {
+        if (desde < descartadoAte) {
+            return null;
+        }
+
+        List<EventoEmitido> eventos = new ArrayList<>();
+        for (EventoEmitido emitido : retidos) {
+            if (emitido.revisao() > desde) {
+                eventos.add(emitido);
+            }
+        }
+        return eventos;
+    }
+
+    private static long revisaoDoId(String id) {
+        if (id == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+
+        // Só a thread de envio mexe nestes (a primeira atribuição acontece antes de agendar)
+        private long ultimoEnviado;
+        private boolean resincronizar;
+        private boolean conectado;
+
+        private volatile boolean heartbeat;
+
+        Assinante(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void agendar() {
+            if (agendado.compareAndSet(false, true)) {
+                executor.execute(this::drenar);
+            }
+        }
+
+        private void drenar() {
+            try {
+                while (true) {
+                    enviarPendentes();
+                    agendado.set(false);
+
+                    boolean temMais = heartbeat || revisao > ultimoEnviado;
+                    if (!temMais || !agendado.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                // Conexão caiu; o container avisa o emitter e o navegador reconecta
+                agendado.set(false);
+                remover(this);
+            }
+        }
+
+        private void enviarPendentes() throws Exception {
+            if (!conectado) {
+                conectado = true;
+                emitter.send(SseEmitter.event().reconnectTime(reconexaoMs).comment("conectado"));
+            }
+
+            // Os eventos de uma revisão entram no buffer antes de ela ser publicada
+            long ate = revisao;
+            List<EventoEmitido> novos = eventosApos(ultimoEnviado);
+            if (novos == null || resincronizar) {
+                resincronizar = false;
+                ultimoEnviado = revisao;
+                enviar(new EventoEmitido(ultimoEnviado, true, EventoCampeonatoDTO.builder()
+                        .tipo(EventoCampeonatoDTO.Tipo.RESINCRONIZAR)
+                        .campeonatoId(campeonatoId)
+                        .build()));
+            } else {
+                for (EventoEmitido emitido : novos) {
+                    enviar(emitido);
+                    ultimoEnviado = emitido.revisao();
+                }
+                // Revisões sem evento também contam como enviadas
+                ultimoEnviado = Math.max(ultimoEnviado, ate);
+            }
+
+            if (heartbeat) {
+                heartbeat = false;
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+        }
+
+        private void enviar(EventoEmitido emitido) throws Exception {
+            SseEmitter.SseEventBuilder evento = SseEmitter.event();
+            if (emitido.ultimoDaRevisao()) {
+                evento.id(Long.toString(emitido.revisao()));
+            }
+            emitter.send(evento
+                    .name(emitido.evento().getTipo().name())
+                    .data(emitido.evento(), MediaType.APPLICATION_JSON));
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package oficial.cbpitu.service;
 
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.exception.RecursoNaoEncontradoException;
+import oficial.cbpitu.model.Classificacao;
 import oficial.cbpitu.model.Grupo;
+import oficial.cbpitu.model.Partida;
 import oficial.cbpitu.model.Time;
+import oficial.cbpitu.repository.ClassificacaoRepository;
 import oficial.cbpitu.repository.GrupoRepository;
+import oficial.cbpitu.service.strategy.CenariosGrupo;
 import oficial.cbpitu.service.strategy.FaseDeGruposStrategy;
 import oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -18,15 +27,73 @@ public class ClassificacaoService {
     private final GrupoRepository grupoRepository;
     private final FaseDeGruposStrategy faseDeGruposStrategy;
     private final oficial.cbpitu.repository.PartidaRepository partidaRepository;
+    private final ClassificacaoRepository classificacaoRepository;
+    private final CampeonatoDetalheCache detalheCache;
+    private final RegistroAlteracoes alteracoes;
 
     /**
      * Retorna a tabela de classificação de um grupo.
      */
     public List<ClassificacaoGrupo> getTabelaGrupo(Long grupoId) {
         Grupo grupo = grupoRepository.findById(grupoId)
-                .orElseThrow(() -> new RuntimeException("Grupo não encontrado: " + grupoId));
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Grupo", grupoId));
 
-        return faseDeGruposStrategy.calcularTabelaGrupo(grupo, partidaRepository.findByGrupoId(grupoId));
+        return getTabelaGrupo(grupo);
+    }
+
+    /**
+     * Lê a tabela persistida do grupo. Grupos criados antes da tabela
+     * persistida (sem linhas) caem no recálculo a partir das partidas.
+     */
+    public List<ClassificacaoGrupo> getTabelaGrupo(Grupo grupo) {
+        List<Classificacao> linhas = classificacaoRepository.findByGrupoId(grupo.getId());
+
+        if (linhas.isEmpty()) {
+            return faseDeGruposStrategy.calcularTabelaGrupo(grupo, partidaRepository.findByGrupoId(grupo.getId()));
+        }
+
+        return faseDeGruposStrategy.ordenarTabela(linhas, () -> partidaRepository.findByGrupoId(grupo.getId()));
+    }
+
+    /**
+     * Cenários do grupo com as partidas que faltam: quem já garantiu vaga, quem já
+     * está fora e a faixa de posições de cada time. As vagas seguem a regra por
+     * grupo da fase (classificadosNecessarios / grupos).
+     */
+    public CenariosGrupo getCenariosGrupo(Long grupoId) {
+        Grupo grupo = grupoRepository.findById(grupoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Grupo", grupoId));
+
+        List<ClassificacaoGrupo> tabela = getTabelaGrupo(grupo);
+        List<Partida> partidas = partidaRepository.findByGrupoId(grupoId);
+        int vagas = faseDeGruposStrategy.calcularClassificadosPorGrupo(grupo.getFase());
+        return CenariosGrupo.de(tabela, partidas, vagas);
+    }
+
+    /**
+     * Lê de uma vez as tabelas de todos os grupos do campeonato, indexadas pelo ID do grupo.
+     * Grupos sem linhas persistidas ficam fora do mapa. Se algum grupo precisar do
+     * confronto direto, as partidas de grupo do campeonato são lidas numa consulta só.
+     */
+    public Map<Long, List<ClassificacaoGrupo>> getTabelasCampeonato(Long campeonatoId) {
+        Map<Long, List<Classificacao>> linhasPorGrupo = new HashMap<>();
+        for (Classificacao linha : classificacaoRepository.findByCampeonatoId(campeonatoId)) {
+            linhasPorGrupo.computeIfAbsent(linha.getGrupo().getId(), id -> new ArrayList<>()).add(linha);
+        }
+
+        Map<Long, List<Partida>> partidasPorGrupo = new HashMap<>();
+        Map<Long, List<ClassificacaoGrupo>> tabelas = new HashMap<>();
+        linhasPorGrupo.forEach((grupoId, linhas) -> tabelas.put(grupoId,
+                faseDeGruposStrategy.ordenarTabela(linhas, () -> {
+                    if (partidasPorGrupo.isEmpty()) {
+                        for (Partida partida : partidaRepository.findEncerradasDeGruposByCampeonatoId(campeonatoId)) {
+                            partidasPorGrupo.computeIfAbsent(partida.getGrupo().getId(), id -> new ArrayList<>())
+                                    .add(partida);
+                        }
+                    }
+                    return partidasPorGrupo.getOrDefault(grupoId, List.of());
+                })));
+        return tabelas;
     }
 
     /**
@@ -63,7 +130,120 @@ public class ClassificacaoService {
         List<Grupo> grupos = grupoRepository.findByFaseIdOrderByNomeAsc(faseId);
 
         return grupos.stream()
-                .map(g -> faseDeGruposStrategy.calcularTabelaGrupo(g, partidaRepository.findByGrupoId(g.getId())))
+                .map(this::getTabelaGrupo)
                 .toList();
     }
+
+    // Manutenção da tabela persistida
+
+    /**
+     * Cria as linhas zeradas de um grupo recém-criado.
+     */
+    @Transactional
+    public void inicializarGrupo(Grupo grupo) {
+        List<Classificacao> linhas = grupo.getTimes().stream()
+                .map(time -> new Classificacao(grupo, time))
+                .toList();
+        classificacaoRepository.saveAll(linhas);
+        alteracoes.classificacaoAlterada(grupo.getFase().getCampeonato().getId(), grupo.getId());
+    }
+
+    /**
+     * Soma à tabela o resultado de uma partida de grupo recém-finalizada.
+     */
+    @Transactional
+    public void registrarPartida(Partida partida) {
+        if (partida.getGrupo() == null || !FaseDeGruposStrategy.contaParaClassificacao(partida)) {
+            return;
+        }
+
+        aplicar(partida, partida.getPlacarTime1(), partida.getPlacarTime2(), 1);
+    }
+
+    /**
+     * Troca na tabela o placar anterior de uma partida pelo placar atual.
+     */
+    @Transactional
+    public void corrigirPartida(Partida partida, int placarAnterior1, int placarAnterior2) {
+        if (partida.getGrupo() == null || !FaseDeGruposStrategy.contaParaClassificacao(partida)) {
+            return;
+        }
+
+        if (aplicar(partida, placarAnterior1, placarAnterior2, -1)) {
+            aplicar(partida, partida.getPlacarTime1(), partida.getPlacarTime2(), 1);
+        }
+    }
+
+    /**
+     * Reconstrói a tabela do grupo a partir das partidas. Usado para grupos
+     * legados e quando partidas/times são removidos do grupo.
+     */
+    @Transactional
+    public void recalcularGrupo(Grupo grupo) {
+        List<ClassificacaoGrupo> tabela = faseDeGruposStrategy.calcularTabelaGrupo(grupo,
+                partidaRepository.findByGrupoId(grupo.getId()));
+
+        Map<Long, Classificacao> existentes = new HashMap<>();
+        for (Classificacao linha : classificacaoRepository.findByGrupoId(grupo.getId())) {
+            existentes.put(linha.getTime().getId(), linha);
+        }
+
+        for (ClassificacaoGrupo c : tabela) {
+            Classificacao linha = existentes.remove(c.getTime().getId());
+            if (linha == null) {
+                linha = new Classificacao(grupo, c.getTime());
+            }
+            linha.setJogos(c.getJogos());
+            linha.setVitorias(c.getVitorias());
+            linha.setEmpates(c.getEmpates());
+            linha.setDerrotas(c.getDerrotas());
+            linha.setGolsPro(c.getGolsPro());
+            linha.setGolsContra(c.getGolsContra());
+            linha.setPontos(c.getPontos());
+            classificacaoRepository.save(linha);
+        }
+
+        classificacaoRepository.deleteAll(existentes.values());
+        alteracoes.classificacaoAlterada(grupo.getFase().getCampeonato().getId(), grupo.getId());
+    }
+
+    @Transactional
+    public void recalcularGrupo(Long grupoId) {
+        Grupo grupo = grupoRepository.findById(grupoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Grupo", grupoId));
+        detalheCache.invalidar(grupo.getFase().getCampeonato().getId());
+        recalcularGrupo(grupo);
+    }
+
+    /**
+     * Aplica (sinal = 1) ou desfaz (sinal = -1) um placar nas linhas dos dois times.
+     * Se alguma linha não existir, reconstrói o grupo inteiro e retorna false,
+     * pois o recálculo já reflete o estado atual da partida.
+     */
+    private boolean aplicar(Partida partida, int placar1, int placar2, int sinal) {
+        Long grupoId = partida.getGrupo().getId();
+
+        if (incrementar(grupoId, partida.getTime1().getId(), placar1, placar2, sinal) == 0
+                || incrementar(grupoId, partida.getTime2().getId(), placar2, placar1, sinal) == 0) {
+            recalcularGrupo(partida.getGrupo());
+            return false;
+        }
+        alteracoes.classificacaoAlterada(partida.getCampeonatoId(), grupoId);
+        return true;
+    }
+
+    private int incrementar(Long grupoId, Long timeId, int golsPro, int golsContra, int sinal) {
+        int vitoria = golsPro > golsContra ? 1 : 0;
+        int empate = golsPro == golsContra ? 1 : 0;
+        int derrota = golsPro < golsContra ? 1 : 0;
+
+        return classificacaoRepository.incrementar(grupoId, timeId,
+                sinal,
+                sinal * vitoria,
+                sinal * empate,
+                sinal * derrota,
+                sinal * golsPro,
+                sinal * golsContra,
+                sinal * (vitoria * 3 + empate));
+    }
 }
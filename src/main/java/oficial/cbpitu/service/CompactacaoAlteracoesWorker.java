@@ -0,0 +1,26 @@
+package oficial.cbpitu.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compacta o log de alterações dos campeonatos, lote a lote, até não sobrar
+ * entrada substituída. Cada lote roda na própria transação.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompactacaoAlteracoesWorker {
+
+    private static final int TAMANHO_LOTE = 5000;
+
+    private final AlteracoesService alteracoesService;
+
+    @Scheduled(fixedDelayString = "${cbpitu.alteracoes.compactacao-ms:600000}")
+    public void compactar() {
+        int apagadas;
+        do {
+            apagadas = alteracoesService.compactar(TAMANHO_LOTE);
+        } while (apagadas == TAMANHO_LOTE);
+    }
+}
@@ -21,6 +21,7 @@ public class EdicaoService {
     
     private final EdicaoRepository edicaoRepository;
     private final EdicaoMapper edicaoMapper;
+    private final CampeonatoDetalheCache detalheCache;
     
     public List<EdicaoDTO> listarTodas() {
         return edicaoRepository.findAllByOrderByAnoDescNumeroEdicaoDesc()
@@ -76,6 +77,8 @@ public class EdicaoService {
         edicao.setDescricao(dto.getDescricao());
         
         edicao = edicaoRepository.save(edicao);
+        // O nome da edição aparece no detalhe dos seus campeonatos
+        detalheCache.invalidarPorEdicao(id);
         return edicaoMapper.toDTO(edicao);
     }
     
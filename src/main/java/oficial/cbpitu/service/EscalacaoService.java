@@ -1,6 +1,7 @@
 package oficial.cbpitu.service;
 
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.PaginaDTO;
 import oficial.cbpitu.dto.edicao.CriarEscalacaoDTO;
 import oficial.cbpitu.dto.edicao.EscalacaoDTO;
 import oficial.cbpitu.exception.RecursoNaoEncontradoException;
@@ -14,6 +15,7 @@ import oficial.cbpitu.repository.EdicaoRepository;
 import oficial.cbpitu.repository.EscalacaoRepository;
 import oficial.cbpitu.repository.JogadorRepository;
 import oficial.cbpitu.repository.TimeRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,11 +35,11 @@ public class EscalacaoService {
     private final JogadorRepository jogadorRepository;
     private final EscalacaoMapper escalacaoMapper;
     
-    public List<EscalacaoDTO> listarTodas() {
-        return escalacaoRepository.findAll()
-            .stream()
-            .map(escalacaoMapper::toDTO)
-            .collect(Collectors.toList());
+    // Listagem por cursor, já convertida (ver PaginaDTO)
+    public PaginaDTO<EscalacaoDTO> listarPagina(Long apos, Long timeId, Long edicaoId, int limite) {
+        List<Escalacao> escalacoes = escalacaoRepository.buscarPagina(
+            apos != null ? apos : 0L, timeId, edicaoId, Limit.of(limite + 1));
+        return PaginaDTO.de(escalacoes, limite, Escalacao::getId, escalacaoMapper::toDTO);
     }
     
     public EscalacaoDTO buscarPorId(Long id) {
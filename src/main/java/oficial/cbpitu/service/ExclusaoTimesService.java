@@ -0,0 +1,107 @@
+package oficial.cbpitu.service;
+
+import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.exception.RecursoNaoEncontradoException;
+import oficial.cbpitu.exception.RegraNegocioException;
+import oficial.cbpitu.model.TarefaExclusao;
+import oficial.cbpitu.model.enums.StatusTarefaExclusao;
+import oficial.cbpitu.repository.TarefaExclusaoRepository;
+import oficial.cbpitu.repository.TimeRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Exclusão de times em segundo plano: a tarefa guarda os IDs e o
+ * ExclusaoTimesWorker exclui em lotes, um por transação, atualizando o progresso.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExclusaoTimesService {
+
+    private static final int TAMANHO_LOTE = 100;
+
+    private final TarefaExclusaoRepository tarefaExclusaoRepository;
+    private final TimeRepository timeRepository;
+    private final TimeService timeService;
+
+    @Transactional
+    public TarefaExclusao agendar(Collection<Long> timeIds) {
+        if (timeIds == null || timeIds.isEmpty()) {
+            throw new RegraNegocioException("Informe ao menos um time para excluir");
+        }
+
+        return tarefaExclusaoRepository.save(new TarefaExclusao(new HashSet<>(timeIds)));
+    }
+
+    /**
+     * Agenda a exclusão dos times inativos desde a data (ver TimeRepository.findIdsInativos).
+     */
+    @Transactional
+    public TarefaExclusao agendarInativos(LocalDate desde) {
+        List<Long> inativos = timeRepository.findIdsInativos(desde.atStartOfDay());
+        if (inativos.isEmpty()) {
+            throw new RegraNegocioException("Nenhum time inativo desde " + desde);
+        }
+
+        return agendar(inativos);
+    }
+
+    public TarefaExclusao buscar(Long id) {
+        return tarefaExclusaoRepository.findById(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Tarefa de exclusão", id));
+    }
+
+    public Long buscarProximaTarefa() {
+        List<Long> abertas = tarefaExclusaoRepository.buscarAbertas(Limit.of(1));
+        return abertas.isEmpty() ? null : abertas.get(0);
+    }
+
+    /**
+     * Exclui o próximo lote da tarefa. Retorna false se outra instância estiver com ela.
+     */
+    @Transactional
+    public boolean processarLote(Long tarefaId) {
+        Optional<TarefaExclusao> travada = tarefaExclusaoRepository.travar(tarefaId);
+        if (travada.isEmpty()) {
+            return false;
+        }
+
+        TarefaExclusao tarefa = travada.get();
+        tarefa.setStatus(StatusTarefaExclusao.PROCESSANDO);
+
+        List<Long> lote = tarefaExclusaoRepository.buscarLotePendente(tarefaId, TAMANHO_LOTE);
+        if (!lote.isEmpty()) {
+            timeService.excluirEmLote(lote);
+            tarefaExclusaoRepository.removerPendentes(tarefaId, lote);
+            tarefa.setProcessados(tarefa.getProcessados() + lote.size());
+        }
+
+        if (lote.size() < TAMANHO_LOTE) {
+            tarefa.setStatus(StatusTarefaExclusao.CONCLUIDA);
+            tarefa.setConcluidaEm(LocalDateTime.now());
+        }
+
+        return true;
+    }
+
+    /**
+     * O lote com erro foi desfeito; a tarefa para com o que já excluiu e o erro fica registrado.
+     */
+    @Transactional
+    public void registrarFalha(Long tarefaId, Exception erro) {
+        tarefaExclusaoRepository.findById(tarefaId).ifPresent(tarefa -> {
+            String mensagem = erro.getMessage() != null ? erro.getMessage() : erro.getClass().getSimpleName();
+            tarefa.setStatus(StatusTarefaExclusao.FALHOU);
+            tarefa.setUltimoErro(mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem);
+            tarefa.setConcluidaEm(LocalDateTime.now());
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package oficial.cbpitu.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Processa as exclusões de times pendentes, lote a lote, até esvaziar a fila.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExclusaoTimesWorker {
+
+    private final ExclusaoTimesService exclusaoTimesService;
+
+    @Scheduled(fixedDelayString = "${cbpitu.exclusao.intervalo-ms:1000}")
+    public void processar() {
+        Long tarefaId;
+        while ((tarefaId = exclusaoTimesService.buscarProximaTarefa()) != null) {
+            try {
+                if (!exclusaoTimesService.processarLote(tarefaId)) {
+                    return; // Outra instância está com a tarefa
+                }
+            } catch (Exception e) {
+                // O erro fica na própria tarefa (ultimoErro)
+                exclusaoTimesService.registrarFalha(tarefaId, e);
+            }
+        }
+    }
+}
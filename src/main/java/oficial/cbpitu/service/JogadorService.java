@@ -5,6 +5,9 @@ import oficial.cbpitu.exception.RecursoNaoEncontradoException;
 import oficial.cbpitu.model.Jogador;
 import oficial.cbpitu.model.Time;
 import oficial.cbpitu.repository.JogadorRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -49,8 +52,9 @@ public class JogadorService {
             .build();
     }
 
-    public List<Jogador> listarTodos() {
-        return jogadorRepository.findAll();
+    // Listagem por cursor (ver PaginaDTO)
+    public List<Jogador> listarPagina(Long apos, String lane, int limite) {
+        return jogadorRepository.buscarPagina(apos != null ? apos : 0L, lane, Limit.of(limite + 1));
     }
 
     public Optional<Jogador> buscarPorId(Long id) {
@@ -102,16 +106,12 @@ public class JogadorService {
         jogadorRepository.delete(jogador);
     }
 
-    public List<Jogador> buscarPorLane(String lane) {
-        return jogadorRepository.findAll().stream()
-                .filter(j -> lane.equalsIgnoreCase(j.getLaneLol()))
-                .toList();
+    public Page<Jogador> buscarPorLane(String lane, Pageable pageable) {
+        return jogadorRepository.findByLaneLolIgnoreCase(lane, pageable);
     }
 
-    public List<Jogador> buscarSemTime() {
-        return jogadorRepository.findAll().stream()
-                .filter(j -> j.getTimes().isEmpty())
-                .toList();
+    public Page<Jogador> buscarSemTime(Pageable pageable) {
+        return jogadorRepository.findSemTime(pageable);
     }
 
     // Helper
@@ -1,6 +1,7 @@
 package oficial.cbpitu.service;
 
 import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.campeonato.ItemResultadoDTO;
 import oficial.cbpitu.exception.OperacaoInvalidaException;
 import oficial.cbpitu.exception.RecursoNaoEncontradoException;
 import oficial.cbpitu.exception.RegraNegocioException;
@@ -9,23 +10,36 @@ import oficial.cbpitu.model.Time;
 import oficial.cbpitu.model.enums.StatusPartida;
 import oficial.cbpitu.repository.PartidaRepository;
 import oficial.cbpitu.repository.TimeRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class PartidaService {
 
+    private static final int DIAS_AGENDA_PADRAO = 7;
+
     private final PartidaRepository partidaRepository;
     private final TimeRepository timeRepository;
-    private final CampeonatoService campeonatoService;
-
-    public List<Partida> listarTodas() {
-        return partidaRepository.findAll();
+    private final AvancoService avancoService;
+    private final ClassificacaoService classificacaoService;
+    private final CampeonatoDetalheCache detalheCache;
+    private final RegistroAlteracoes alteracoes;
+
+    // Listagem por cursor (ver PaginaDTO)
+    public List<Partida> listarPagina(Long apos, Long faseId, StatusPartida status, int limite) {
+        return partidaRepository.buscarPagina(apos != null ? apos : 0L, faseId, status, Limit.of(limite + 1));
     }
 
     public Optional<Partida> buscarPorId(Long id) {
@@ -54,9 +68,14 @@ public class PartidaService {
 
     // Agendamento
 
+    /**
+     * Os métodos de escrita aceitam a versão da partida que o cliente leu
+     * ({@code versaoEsperada}, opcional). Se a partida mudou desde então, a
+     * operação é recusada em vez de sobrescrever a alteração do outro.
+     */
     @Transactional
-    public Partida agendarPartida(Long partidaId, LocalDateTime dataHora) {
-        Partida partida = buscarOuFalhar(partidaId);
+    public Partida agendarPartida(Long partidaId, LocalDateTime dataHora, Long versaoEsperada) {
+        Partida partida = buscarParaAlterar(partidaId, versaoEsperada);
 
         if (partida.isFinalizada()) {
             throw new OperacaoInvalidaException("Não é possível agendar uma partida já finalizada");
@@ -69,65 +88,203 @@ public class PartidaService {
         partida.setDataHora(dataHora);
         partida.setStatus(StatusPartida.AGENDADA);
 
-        return partidaRepository.save(partida);
+        Partida salva = partidaRepository.save(partida);
+        alteracoes.partidaAtualizada(salva);
+        return salva;
     }
 
     @Transactional
     public Partida iniciarPartida(Long partidaId) {
-        Partida partida = buscarOuFalhar(partidaId);
+        Partida partida = buscarParaAlterar(partidaId);
 
         if (partida.isFinalizada()) {
             throw new OperacaoInvalidaException("Partida já foi finalizada");
         }
 
         partida.setStatus(StatusPartida.EM_ANDAMENTO);
-        return partidaRepository.save(partida);
+        Partida salva = partidaRepository.save(partida);
+        alteracoes.partidaAtualizada(salva);
+        return salva;
     }
 
     // Registro de resultado
 
     @Transactional
-    public Partida registrarResultado(Long partidaId, int placarTime1, int placarTime2) {
-        Partida partida = buscarOuFalhar(partidaId);
+    public Partida registrarResultado(Long partidaId, int placarTime1, int placarTime2, Long versaoEsperada) {
+        Partida partida = buscarParaAlterar(partidaId, versaoEsperada);
 
         if (partida.isFinalizada()) {
             throw new OperacaoInvalidaException("Partida já foi finalizada. Use a opção de corrigir resultado.");
         }
 
+        if (!partida.temTimesDefinidos()) {
+            throw new OperacaoInvalidaException("Partida ainda aguarda a definição dos times");
+        }
+
         partida.registrarResultado(placarTime1, placarTime2);
 
         Partida salva = partidaRepository.save(partida);
-        campeonatoService.verificarEProcessarAvanco(salva.getFase().getId(), salva);
+        classificacaoService.registrarPartida(salva);
+        avancoService.agendar(salva);
+        alteracoes.resultadoRegistrado(salva);
 
         return salva;
     }
 
     @Transactional
-    public Partida registrarResultadoSerie(Long partidaId, int vitoriasTime1, int vitoriasTime2) {
-        Partida partida = buscarOuFalhar(partidaId);
+    public Partida registrarResultadoSerie(Long partidaId, int vitoriasTime1, int vitoriasTime2, Long versaoEsperada) {
+        Partida partida = buscarParaAlterar(partidaId, versaoEsperada);
 
         if (partida.isFinalizada()) {
             throw new OperacaoInvalidaException("Série já foi finalizada");
         }
 
+        if (!partida.temTimesDefinidos()) {
+            throw new OperacaoInvalidaException("Série ainda aguarda a definição dos times");
+        }
+
         partida.registrarResultadoSerie(vitoriasTime1, vitoriasTime2);
 
         Partida salva = partidaRepository.save(partida);
-        campeonatoService.verificarEProcessarAvanco(salva.getFase().getId(), salva);
+        classificacaoService.registrarPartida(salva);
+        avancoService.agendar(salva);
+        alteracoes.resultadoRegistrado(salva);
 
         return salva;
     }
 
     @Transactional
     public Partida registrarWO(Long partidaId, Long timeVencedorId) {
-        Partida partida = buscarOuFalhar(partidaId);
+        Partida partida = buscarParaAlterar(partidaId);
         Time vencedor = timeRepository.findById(timeVencedorId)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Time", timeVencedorId));
 
+        if (!partida.temTimesDefinidos()) {
+            throw new OperacaoInvalidaException("Partida ainda aguarda a definição dos times");
+        }
+
         if (!vencedor.equals(partida.getTime1()) && !vencedor.equals(partida.getTime2())) {
             throw new RegraNegocioException("Time informado não participa desta partida");
         }
 
+        // W.O. pode substituir um resultado já lançado
+        boolean jaFinalizada = partida.isFinalizada() || partida.getStatus() == StatusPartida.WO;
+        int placarAnterior1 = partida.getPlacarTime1();
+        int placarAnterior2 = partida.getPlacarTime2();
+
+        aplicarWO(partida, vencedor);
+        validarPartidasSeguintes(partida);
+
+        Partida salva = partidaRepository.save(partida);
+        if (jaFinalizada) {
+            classificacaoService.corrigirPartida(salva, placarAnterior1, placarAnterior2);
+        } else {
+            classificacaoService.registrarPartida(salva);
+        }
+        avancoService.agendar(salva);
+        alteracoes.resultadoRegistrado(salva);
+
+        return salva;
+    }
+
+    /**
+     * Registra vários resultados de uma vez. O lote inteiro é validado antes de
+     * gravar qualquer coisa; as partidas são gravadas juntas (batch JDBC) e o
+     * avanço é pedido uma vez por fase/rodada.
+     */
+    @Transactional
+    public List<Partida> registrarResultadosEmLote(List<ItemResultadoDTO> itens) {
+        List<Long> ids = itens.stream().map(ItemResultadoDTO::getPartidaId).toList();
+        Map<Long, Partida> partidas = new HashMap<>();
+        partidaRepository.findAllById(ids).forEach(p -> partidas.put(p.getId(), p));
+
+        List<String> erros = new ArrayList<>();
+        Set<Long> repetidas = new HashSet<>();
+        for (ItemResultadoDTO item : itens) {
+            String erro = validarItem(item, partidas.get(item.getPartidaId()), repetidas);
+            if (erro != null) {
+                erros.add("Partida " + item.getPartidaId() + ": " + erro);
+            }
+        }
+
+        if (!erros.isEmpty()) {
+            throw new RegraNegocioException("Lote rejeitado. " + String.join("; ", erros));
+        }
+
+        record Anterior(boolean jaFinalizada, int placar1, int placar2) {
+        }
+
+        List<Partida> atualizadas = new ArrayList<>();
+        List<Anterior> anteriores = new ArrayList<>();
+        for (ItemResultadoDTO item : itens) {
+            Partida partida = partidas.get(item.getPartidaId());
+            detalheCache.invalidar(partida.getCampeonatoId());
+            anteriores.add(new Anterior(partida.isFinalizada() || partida.getStatus() == StatusPartida.WO,
+                    partida.getPlacarTime1(), partida.getPlacarTime2()));
+
+            switch (item.getTipo()) {
+                case PLACAR -> partida.registrarResultado(item.getPlacarTime1(), item.getPlacarTime2());
+                case SERIE -> partida.registrarResultadoSerie(item.getPlacarTime1(), item.getPlacarTime2());
+                case WO -> aplicarWO(partida,
+                        partida.getTime1().getId().equals(item.getTimeVencedorId())
+                                ? partida.getTime1()
+                                : partida.getTime2());
+            }
+            validarPartidasSeguintes(partida);
+            atualizadas.add(partida);
+        }
+
+        // Grava todas as partidas de uma vez antes de mexer na tabela de classificação
+        partidaRepository.saveAll(atualizadas);
+        partidaRepository.flush();
+
+        for (int i = 0; i < atualizadas.size(); i++) {
+            Anterior anterior = anteriores.get(i);
+            if (anterior.jaFinalizada()) {
+                classificacaoService.corrigirPartida(atualizadas.get(i), anterior.placar1(), anterior.placar2());
+            } else {
+                classificacaoService.registrarPartida(atualizadas.get(i));
+            }
+        }
+
+        avancoService.agendarLote(atualizadas);
+        atualizadas.forEach(alteracoes::resultadoRegistrado);
+
+        return atualizadas;
+    }
+
+    private String validarItem(ItemResultadoDTO item, Partida partida, Set<Long> repetidas) {
+        if (partida == null) {
+            return "não encontrada";
+        }
+        if (!repetidas.add(partida.getId())) {
+            return "aparece mais de uma vez no lote";
+        }
+        if (!partida.temTimesDefinidos()) {
+            return "ainda aguarda a definição dos times";
+        }
+
+        if (item.getTipo() == ItemResultadoDTO.Tipo.WO) {
+            Long vencedorId = item.getTimeVencedorId();
+            if (vencedorId == null) {
+                return "informe o time vencedor do W.O.";
+            }
+            if (!vencedorId.equals(partida.getTime1().getId()) && !vencedorId.equals(partida.getTime2().getId())) {
+                return "time informado não participa desta partida";
+            }
+            return null;
+        }
+
+        if (partida.isFinalizada()) {
+            return "já foi finalizada. Use a opção de corrigir resultado.";
+        }
+        if (item.getPlacarTime1() == null || item.getPlacarTime2() == null) {
+            return "informe os dois placares";
+        }
+        return null;
+    }
+
+    private void aplicarWO(Partida partida, Time vencedor) {
         partida.setVencedor(vencedor);
         partida.setStatus(StatusPartida.WO);
 
@@ -139,30 +296,54 @@ public class PartidaService {
             partida.setPlacarTime1(0);
             partida.setPlacarTime2(3);
         }
+    }
 
-        Partida salva = partidaRepository.save(partida);
-        campeonatoService.verificarEProcessarAvanco(salva.getFase().getId(), salva);
+    /**
+     * Correção ou W.O. que muda quem vai para uma partida seguinte do chaveamento já
+     * disputada: recusa na hora, em vez de gravar e deixar o avanço falhar depois.
+     */
+    private void validarPartidasSeguintes(Partida partida) {
+        Time vencedor = partida.getVencedor();
+        if (vencedor == null) {
+            return;
+        }
 
-        return salva;
+        validarVaga(partida.getProximaPartidaVencedor(), partida.getVagaVencedor(), vencedor);
+        validarVaga(partida.getProximaPartidaPerdedor(), partida.getVagaPerdedor(), partida.getPerdedor());
+    }
+
+    private void validarVaga(Partida destino, Integer vaga, Time time) {
+        if (destino == null || vaga == null) {
+            return;
+        }
+
+        Time atual = (vaga == 1) ? destino.getTime1() : destino.getTime2();
+        boolean disputada = destino.isFinalizada() || destino.getStatus() == StatusPartida.WO;
+        if (disputada && !time.equals(atual)) {
+            throw new OperacaoInvalidaException("A partida " + destino.getIdentificadorBracket()
+                    + " já foi disputada com o resultado anterior");
+        }
     }
 
     // Alterações de status
 
     @Transactional
     public Partida cancelarPartida(Long partidaId) {
-        Partida partida = buscarOuFalhar(partidaId);
+        Partida partida = buscarParaAlterar(partidaId);
 
         if (partida.isFinalizada()) {
             throw new OperacaoInvalidaException("Não é possível cancelar uma partida já finalizada");
         }
 
         partida.setStatus(StatusPartida.CANCELADA);
-        return partidaRepository.save(partida);
+        Partida salva = partidaRepository.save(partida);
+        alteracoes.partidaAtualizada(salva);
+        return salva;
     }
 
     @Transactional
     public Partida adiarPartida(Long partidaId) {
-        Partida partida = buscarOuFalhar(partidaId);
+        Partida partida = buscarParaAlterar(partidaId);
 
         if (partida.isFinalizada()) {
             throw new OperacaoInvalidaException("Não é possível adiar uma partida já finalizada");
@@ -170,12 +351,16 @@ public class PartidaService {
 
         partida.setStatus(StatusPartida.ADIADA);
         partida.setDataHora(null);
-        return partidaRepository.save(partida);
+        Partida salva = partidaRepository.save(partida);
+        alteracoes.partidaAtualizada(salva);
+        return salva;
     }
 
     @Transactional
-    public Partida corrigirResultado(Long partidaId, int novoPlacarTime1, int novoPlacarTime2) {
-        Partida partida = buscarOuFalhar(partidaId);
+    public Partida corrigirResultado(Long partidaId, int novoPlacarTime1, int novoPlacarTime2, Long versaoEsperada) {
+        Partida partida = buscarParaAlterar(partidaId, versaoEsperada);
+        int placarAnterior1 = partida.getPlacarTime1();
+        int placarAnterior2 = partida.getPlacarTime2();
 
         partida.setPlacarTime1(novoPlacarTime1);
         partida.setPlacarTime2(novoPlacarTime2);
@@ -188,9 +373,12 @@ public class PartidaService {
         } else {
             partida.setVencedor(null);
         }
+        validarPartidasSeguintes(partida);
 
         Partida salva = partidaRepository.save(partida);
-        campeonatoService.verificarEProcessarAvanco(salva.getFase().getId(), salva);
+        classificacaoService.corrigirPartida(salva, placarAnterior1, placarAnterior2);
+        avancoService.agendar(salva);
+        alteracoes.partidaAtualizada(salva);
 
         return salva;
     }
@@ -198,24 +386,30 @@ public class PartidaService {
     // Consultas
 
     public List<Partida> buscarPartidasDeHoje(Long campeonatoId) {
-        LocalDateTime inicioDia = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
+        LocalDateTime inicioDia = LocalDate.now().atStartOfDay();
         LocalDateTime fimDia = inicioDia.plusDays(1);
 
-        return partidaRepository.findByCampeonatoId(campeonatoId).stream()
-                .filter(p -> p.getDataHora() != null)
-                .filter(p -> !p.getDataHora().isBefore(inicioDia) && p.getDataHora().isBefore(fimDia))
-                .toList();
+        return partidaRepository.buscarPorCampeonatoEPeriodo(campeonatoId, inicioDia, fimDia);
     }
 
     public List<Partida> buscarProximasPartidas(Long campeonatoId, int limite) {
-        LocalDateTime agora = LocalDateTime.now();
+        return partidaRepository.buscarProximasDoCampeonato(
+                campeonatoId, StatusPartida.AGENDADA, LocalDateTime.now(), Limit.of(limite));
+    }
 
-        return partidaRepository.findByCampeonatoIdAndStatus(campeonatoId, StatusPartida.AGENDADA)
-                .stream()
-                .filter(p -> p.getDataHora() != null && p.getDataHora().isAfter(agora))
-                .sorted((a, b) -> a.getDataHora().compareTo(b.getDataHora()))
-                .limit(limite)
-                .toList();
+    /**
+     * Partidas agendadas de todos os campeonatos no intervalo [inicio, fim), em ordem de horário.
+     * Sem início, parte de agora; sem fim, olha os próximos 7 dias.
+     */
+    public List<Partida> buscarAgenda(LocalDateTime inicio, LocalDateTime fim, int limite) {
+        LocalDateTime de = inicio != null ? inicio : LocalDateTime.now();
+        LocalDateTime ate = fim != null ? fim : de.plusDays(DIAS_AGENDA_PADRAO);
+
+        if (!ate.isAfter(de)) {
+            throw new RegraNegocioException("O fim do intervalo da agenda deve ser depois do início");
+        }
+
+        return partidaRepository.buscarAgenda(StatusPartida.AGENDADA, de, ate, Limit.of(limite));
     }
 
     // Helper
@@ -224,4 +418,21 @@ public class PartidaService {
         return partidaRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Partida", id));
     }
+
+    // Toda escrita passa por aqui: carrega a partida e marca o detalhe do campeonato como alterado
+    private Partida buscarParaAlterar(Long id) {
+        Partida partida = buscarOuFalhar(id);
+        detalheCache.invalidar(partida.getCampeonatoId());
+        return partida;
+    }
+
+    private Partida buscarParaAlterar(Long id, Long versaoEsperada) {
+        Partida partida = buscarParaAlterar(id);
+        if (versaoEsperada != null && !versaoEsperada.equals(partida.getVersao())) {
+            throw new OperacaoInvalidaException(String.format(
+                    "A partida foi alterada por outra operação (versão %d, esperada %d). Recarregue e tente novamente.",
+                    partida.getVersao(), versaoEsperada));
+        }
+        return partida;
+    }
 }
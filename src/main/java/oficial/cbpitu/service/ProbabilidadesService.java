@@ -0,0 +1,212 @@
+package oficial.cbpitu.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import oficial.cbpitu.dto.TimeResumoDTO;
+import oficial.cbpitu.dto.campeonato.ProbabilidadeTimeDTO;
+import oficial.cbpitu.dto.campeonato.ProbabilidadesFaseDTO;
+import oficial.cbpitu.exception.LimiteExcedidoException;
+import oficial.cbpitu.exception.RecursoNaoEncontradoException;
+import oficial.cbpitu.exception.RegraNegocioException;
+import oficial.cbpitu.mapper.TimeMapper;
+import oficial.cbpitu.model.Fase;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.Time;
+import oficial.cbpitu.model.enums.FormatoCompeticao;
+import oficial.cbpitu.repository.FaseRepository;
+import oficial.cbpitu.repository.PartidaRepository;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy;
+import oficial.cbpitu.service.strategy.SimulacaoFase;
+import oficial.cbpitu.service.strategy.SistemaSuicoStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Probabilidades de classificação das fases de grupos e de sistema suíço
+ * (ver SimulacaoFase).
+ *
+ * Os dados da fase são lidos numa transação curta; a simulação roda depois,
+ * fora dela, num ForkJoinPool próprio (não no comum, que o resto da aplicação
+ * usa), sem segurar conexão. O resultado fica em cache pela revisão do
+ * campeonato, que sobe a cada resultado lançado: pedidos repetidos na mesma
+ * revisão não simulam de novo, e a semente sai da fase e da revisão, então o
+ * mesmo pedido sempre dá a mesma resposta.
+ *
+ * Só alguns tamanhos de simulação são aceitos (o cache fica com poucas chaves por
+ * fase) e poucas simulações rodam ao mesmo tempo: com o pool ocupado, o pedido
+ * recebe 429 em vez de entrar na fila.
+ */
+@Service
+public class ProbabilidadesService {
+
+    private record Chave(Long faseId, long revisao, int simulacoes, SimulacaoFase.Modelo modelo) {
+    }
+
+    // Fase pronta para simular; os times já mapeados, porque a simulação roda fora da transação
+    private record Preparo(long revisao, SimulacaoFase simulacao, List<TimeResumoDTO> times) {
+    }
+
+    private final FaseRepository faseRepository;
+    private final PartidaRepository partidaRepository;
+    private final CampeonatoDetalheCache detalheCache;
+    private final FaseDeGruposStrategy faseDeGruposStrategy;
+    private final SistemaSuicoStrategy sistemaSuicoStrategy;
+    private final TimeMapper timeMapper;
+    private final TransactionTemplate leitura;
+    private final ForkJoinPool pool;
+    private final List<Integer> simulacoesPermitidas;
+    private final Semaphore simultaneas;
+    private final Cache<Chave, ProbabilidadesFaseDTO> cache;
+
+    public ProbabilidadesService(FaseRepository faseRepository,
+            PartidaRepository partidaRepository,
+            CampeonatoDetalheCache detalheCache,
+            FaseDeGruposStrategy faseDeGruposStrategy,
+            SistemaSuicoStrategy sistemaSuicoStrategy,
+            TimeMapper timeMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${cbpitu.probabilidades.paralelismo:0}") int paralelismo,
+            @Value("${cbpitu.probabilidades.simulacoes-permitidas:10000,50000,100000}") List<Integer> simulacoesPermitidas,
+            @Value("${cbpitu.probabilidades.simultaneas:2}") int simultaneas,
+            @Value("${cbpitu.probabilidades.cache.tamanho:256}") long tamanhoCache) {
+        this.faseRepository = faseRepository;
+        this.partidaRepository = partidaRepository;
+        this.detalheCache = detalheCache;
+        this.faseDeGruposStrategy = faseDeGruposStrategy;
+        this.sistemaSuicoStrategy = sistemaSuicoStrategy;
+        this.timeMapper = timeMapper;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+        this.simulacoesPermitidas = List.copyOf(simulacoesPermitidas);
+        this.simultaneas = new Semaphore(simultaneas);
+        this.cache = Caffeine.newBuilder().maximumSize(tamanhoCache).build();
+    }
+
+    @PreDestroy
+    void parar() {
+        pool.shutdownNow();
+    }
+
+    public ProbabilidadesFaseDTO calcular(Long faseId, int simulacoes, SimulacaoFase.Modelo modelo) {
+        if (!simulacoesPermitidas.contains(simulacoes)) {
+            throw new RegraNegocioException("Número de simulações deve ser um destes: " + simulacoesPermitidas + ".");
+        }
+
+        // Na transação: o resultado em cache, se for da revisão atual, ou a fase pronta para simular
+        Object lido = leitura.execute(status -> {
+            Fase fase = faseRepository.findById(faseId)
+                    .orElseThrow(() -> new RecursoNaoEncontradoException("Fase", faseId));
+            long revisao = detalheCache.buscarRevisao(fase.getCampeonato().getId());
+
+            ProbabilidadesFaseDTO emCache = cache.getIfPresent(new Chave(faseId, revisao, simulacoes, modelo));
+            if (emCache != null) {
+                return emCache;
+            }
+
+            List<Partida> partidas = partidaRepository.findByFaseId(faseId);
+            SimulacaoFase simulacao = prepararSimulacao(fase, partidas, modelo);
+            List<TimeResumoDTO> times = new ArrayList<>();
+            for (Time time : simulacao.getTimes()) {
+                times.add(timeMapper.toResumoDTO(time));
+            }
+            return new Preparo(revisao, simulacao, times);
+        });
+        if (lido instanceof ProbabilidadesFaseDTO emCache) {
+            return emCache;
+        }
+
+        Preparo preparo = (Preparo) lido;
+        long semente = faseId * 0x9E3779B97F4A7C15L ^ preparo.revisao();
+        if (!simultaneas.tryAcquire()) {
+            throw new LimiteExcedidoException("Muitas simulações em andamento. Tente novamente em instantes.");
+        }
+        SimulacaoFase.Resultado resultado;
+        try {
+            resultado = preparo.simulacao().executar(simulacoes, pool, semente);
+        } finally {
+            simultaneas.release();
+        }
+
+        ProbabilidadesFaseDTO dto = montarDTO(faseId, preparo, modelo, resultado);
+        cache.put(new Chave(faseId, preparo.revisao(), simulacoes, modelo), dto);
+        return dto;
+    }
+
+    private SimulacaoFase prepararSimulacao(Fase fase, List<Partida> partidas, SimulacaoFase.Modelo modelo) {
+        FormatoCompeticao formato = fase.getFormato();
+        if (fase.isGrupos()) {
+            if (fase.getGrupos() == null || fase.getGrupos().isEmpty()) {
+                throw new RegraNegocioException("A fase ainda não tem grupos definidos.");
+            }
+            return faseDeGruposStrategy.prepararSimulacao(fase, partidas, modelo);
+        }
+        if (formato == FormatoCompeticao.SISTEMA_SUICO) {
+            if (fase.getCampeonato().getTimesParticipantes().size() < 2) {
+                throw new RegraNegocioException("A fase não tem times suficientes para simular.");
+            }
+            return sistemaSuicoStrategy.prepararSimulacao(fase, partidas, modelo);
+        }
+        throw new RegraNegocioException(
+                "Probabilidades só estão disponíveis para fases de grupos e de sistema suíço.");
+    }
+
+    private ProbabilidadesFaseDTO montarDTO(Long faseId, Preparo preparo, SimulacaoFase.Modelo modelo,
+            SimulacaoFase.Resultado resultado) {
+        double total = resultado.simulacoes();
+        Long[] grupoIds = preparo.simulacao().getGrupoIds();
+
+        // Os times de um grupo são contíguos: ordena pelo primeiro índice do grupo e, nele, pela chance
+        Map<Long, Integer> inicioGrupo = new HashMap<>();
+        Integer[] ordem = new Integer[grupoIds.length];
+        for (int t = 0; t < grupoIds.length; t++) {
+            ordem[t] = t;
+            inicioGrupo.putIfAbsent(grupoIds[t], t);
+        }
+        long[] classificacoes = resultado.classificacoes();
+        Arrays.sort(ordem, Comparator.<Integer>comparingInt(t -> inicioGrupo.get(grupoIds[t]))
+                .thenComparing(t -> -classificacoes[t])
+                .thenComparing(t -> preparo.times().get(t).getId()));
+
+        // Fases de grupos de tamanhos diferentes: só as posições que existem no grupo
+        Map<Long, Integer> tamanhoGrupo = new HashMap<>();
+        for (Long grupoId : grupoIds) {
+            tamanhoGrupo.merge(grupoId, 1, Integer::sum);
+        }
+
+        List<ProbabilidadeTimeDTO> times = new ArrayList<>(ordem.length);
+        for (int t : ordem) {
+            long[] posicoes = resultado.posicoes()[t];
+            List<Double> chances = new ArrayList<>();
+            for (int p = 0; p < tamanhoGrupo.get(grupoIds[t]); p++) {
+                chances.add(posicoes[p] / total);
+            }
+            times.add(ProbabilidadeTimeDTO.builder()
+                    .time(preparo.times().get(t))
+                    .grupoId(grupoIds[t])
+                    .classificacao(classificacoes[t] / total)
+                    .posicoes(chances)
+                    .build());
+        }
+
+        return ProbabilidadesFaseDTO.builder()
+                .faseId(faseId)
+                .revisao(preparo.revisao())
+                .simulacoes(resultado.simulacoes())
+                .modelo(modelo)
+                .times(times)
+                .build();
+    }
+}
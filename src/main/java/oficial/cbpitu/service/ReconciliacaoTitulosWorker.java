@@ -0,0 +1,22 @@
+package oficial.cbpitu.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconciliação periódica dos troféus e títulos. Desligada por padrão ("-");
+ * ative com {@code cbpitu.titulos.reconciliacao-cron}. Uma falha fica no log do
+ * agendador e a próxima execução tenta de novo.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReconciliacaoTitulosWorker {
+
+    private final TitulosService titulosService;
+
+    @Scheduled(cron = "${cbpitu.titulos.reconciliacao-cron:-}")
+    public void reconciliar() {
+        titulosService.reconciliar();
+    }
+}
@@ -0,0 +1,130 @@
+package oficial.cbpitu.service;
+
+import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.model.AlteracaoCampeonato;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.enums.TipoAlteracao;
+import oficial.cbpitu.repository.AlteracaoCampeonatoRepository;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ponto único onde as escritas avisam o que mudou no campeonato. Cada aviso:
+ * <ul>
+ * <li>marca o detalhe como alterado (a revisão sobe, ver CampeonatoDetalheCache);</li>
+ * <li>entra no log de alterações, gravado antes do commit com a revisão nova.</li>
+ * </ul>
+ * A transmissão ao vivo lê o mesmo log (ver TransmissaoCampeonatos), então vê as
+ * escritas de todas as instâncias.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistroAlteracoes {
+
+    private record Chave(TipoAlteracao tipo, Long registroId) {
+    }
+
+    private final AlteracaoCampeonatoRepository alteracaoRepository;
+    private final CampeonatoRepository campeonatoRepository;
+    private final CampeonatoDetalheCache detalheCache;
+
+    // Partidas
+
+    public void partidasCriadas(Collection<Partida> partidas) {
+        partidas.forEach(p -> registrar(p.getCampeonatoId(), TipoAlteracao.PARTIDA_CRIADA, p.getId()));
+    }
+
+    public void resultadoRegistrado(Partida partida) {
+        registrar(partida.getCampeonatoId(), TipoAlteracao.PARTIDA, partida.getId());
+    }
+
+    public void partidaAtualizada(Partida partida) {
+        registrar(partida.getCampeonatoId(), TipoAlteracao.PARTIDA, partida.getId());
+    }
+
+    // Demais registros da árvore
+
+    public void classificacaoAlterada(Long campeonatoId, Long grupoId) {
+        registrar(campeonatoId, TipoAlteracao.CLASSIFICACAO, grupoId);
+    }
+
+    /**
+     * Grupo criado ou removido (a tabela tem aviso próprio).
+     */
+    public void grupoAlterado(Long campeonatoId, Long grupoId) {
+        registrar(campeonatoId, TipoAlteracao.GRUPO, grupoId);
+    }
+
+    public void faseAlterada(Long campeonatoId, Long faseId) {
+        registrar(campeonatoId, TipoAlteracao.FASE, faseId);
+    }
+
+    /**
+     * Dados do próprio campeonato: status, campeão, inscritos.
+     */
+    public void campeonatoAlterado(Long campeonatoId) {
+        registrar(campeonatoId, TipoAlteracao.CAMPEONATO, campeonatoId);
+    }
+
+    public void removerDoCampeonato(Long campeonatoId) {
+        alteracaoRepository.removerDoCampeonato(campeonatoId);
+    }
+
+    private void registrar(Long campeonatoId, TipoAlteracao tipo, Long registroId) {
+        if (campeonatoId == null || registroId == null) {
+            return;
+        }
+
+        detalheCache.invalidar(campeonatoId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            gravar(Map.of(campeonatoId, Set.of(new Chave(tipo, registroId))));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Long, Set<Chave>> pendentes = (Map<Long, Set<Chave>>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            Map<Long, Set<Chave>> novos = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // Depois da sincronização que sobe a revisão
+                @Override
+                public int getOrder() {
+                    return CampeonatoDetalheCache.ORDEM_REVISAO + 1;
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    gravar(novos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RegistroAlteracoes.this);
+                }
+            });
+            pendentes = novos;
+        }
+        pendentes.computeIfAbsent(campeonatoId, id -> new LinkedHashSet<>()).add(new Chave(tipo, registroId));
+    }
+
+    // A linha do campeonato já está travada pela subida da revisão: a leitura devolve a revisão desta transação
+    private void gravar(Map<Long, Set<Chave>> alteracoes) {
+        List<AlteracaoCampeonato> entradas = new ArrayList<>();
+        alteracoes.forEach((campeonatoId, chaves) -> campeonatoRepository.findRevisaoById(campeonatoId)
+                .ifPresent(revisao -> chaves.forEach(chave -> entradas.add(
+                        new AlteracaoCampeonato(campeonatoId, revisao, chave.tipo(), chave.registroId())))));
+        alteracaoRepository.saveAll(entradas);
+    }
+}
@@ -0,0 +1,46 @@
+package oficial.cbpitu.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Repete uma operação que perdeu a disputa de versão (lock otimista).
+ *
+ * Cada tentativa precisa ser uma transação nova, então a operação deve chamar o
+ * método transacional do service, não rodar dentro dele. Só serve para operações
+ * idempotentes (agendar, iniciar, adiar, cancelar): a tentativa seguinte relê a
+ * entidade e aplica a mesma mudança por cima do que o concorrente gravou, o que
+ * num resultado ou numa correção sobrescreveria a escrita do outro sem aviso.
+ * Esgotadas as tentativas, o conflito chega ao GlobalExceptionHandler como 409.
+ */
+@Component
+public class RetentativaOtimista {
+
+    private static final int MAX_TENTATIVAS = 3;
+    private static final int ESPERA_MAXIMA_MS = 50;
+
+    public <T> T executar(Supplier<T> operacao) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return operacao.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa >= MAX_TENTATIVAS) {
+                    throw e;
+                }
+                esperar(tentativa);
+            }
+        }
+    }
+
+    // Espera aleatória e crescente para os concorrentes não colidirem de novo
+    private void esperar(int tentativa) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(1, ESPERA_MAXIMA_MS * tentativa));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
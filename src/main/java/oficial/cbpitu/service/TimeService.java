@@ -3,15 +3,15 @@ package oficial.cbpitu.service;
 import lombok.RequiredArgsConstructor;
 import oficial.cbpitu.exception.RecursoNaoEncontradoException;
 import oficial.cbpitu.exception.RegraNegocioException;
-import oficial.cbpitu.model.Campeonato;
 import oficial.cbpitu.model.Jogador;
 import oficial.cbpitu.model.Time;
-import oficial.cbpitu.repository.CampeonatoRepository;
 import oficial.cbpitu.repository.JogadorRepository;
 import oficial.cbpitu.repository.TimeRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,13 +21,14 @@ public class TimeService {
 
     private final TimeRepository timeRepository;
     private final JogadorRepository jogadorRepository;
-    private final CampeonatoRepository campeonatoRepository;
     private final oficial.cbpitu.repository.EscalacaoRepository escalacaoRepository;
-    private final oficial.cbpitu.repository.PartidaRepository partidaRepository;
-    private final oficial.cbpitu.repository.GrupoRepository grupoRepository;
+    private final ClassificacaoService classificacaoService;
+    private final CampeonatoService campeonatoService;
+    private final CampeonatoDetalheCache detalheCache;
 
-    public List<Time> listarTodos() {
-        return timeRepository.findAll();
+    // Listagem por cursor (ver PaginaDTO)
+    public List<Time> listarPagina(Long apos, int limite) {
+        return timeRepository.buscarPagina(apos != null ? apos : 0L, Limit.of(limite + 1));
     }
     
     public org.springframework.data.domain.Page<Time> listarPaginado(org.springframework.data.domain.Pageable pageable) {
@@ -106,6 +107,8 @@ public class TimeService {
 
         time.setNomeTime(nomeTime);
         time.setTrofeus(trofeus != null ? trofeus : 0);
+        // Nome e troféus aparecem no detalhe dos campeonatos do time
+        detalheCache.invalidarPorTimes(List.of(id));
 
         if (capitaoId != null) {
             Jogador capitao = jogadorRepository.findById(capitaoId)
@@ -118,44 +121,50 @@ public class TimeService {
 
     @Transactional
     public void deletar(Long id) {
-        Time time = buscarOuFalhar(id);
-
-        // 1. Remover de Confrontos/Partidas (Histórico de jogos se perde ou vira null?)
-        // Decisão: Deletar partidas para manter integridade, pois partida com time null quebraria muita coisa
-        List<oficial.cbpitu.model.Partida> partidas = partidaRepository.findByTimeId(id);
-        partidaRepository.deleteAll(partidas);
-
-        // 2. Remover de Grupos
-        List<oficial.cbpitu.model.Grupo> gruposComTime = grupoRepository.findAll().stream()
-                .filter(g -> g.getTimes().contains(time))
-                .toList();
-        for (oficial.cbpitu.model.Grupo g : gruposComTime) {
-            g.removerTime(time);
-            grupoRepository.save(g);
+        if (!timeRepository.existsById(id)) {
+            throw new RecursoNaoEncontradoException("Time", id);
         }
 
-        // 3. Remover de Escalações (Histórico de roster)
-        List<oficial.cbpitu.model.Escalacao> escalacoes = escalacaoRepository.findByTimeId(id);
-        escalacaoRepository.deleteAll(escalacoes);
-
-        // 4. Remove o time de todos os campeonatos em que está inscrito
-        List<Campeonato> campeonatos = campeonatoRepository.findByTimeParticipante(id);
-        for (Campeonato campeonato : campeonatos) {
-            campeonato.removerTime(time);
-            // Se o time era o campeão, remove também
-            if (time.equals(campeonato.getCampeao())) {
-                campeonato.setCampeao(null);
-            }
-            campeonatoRepository.save(campeonato);
-        }
+        excluirEmLote(List.of(id));
+    }
 
-        // 5. Limpa os jogadores do time (desassocia)
-        time.getJogadores().clear();
-        time.setCapitao(null);
-        timeRepository.save(time);
+    /**
+     * Exclui os times com um comando por tabela, sem carregar entidades. As partidas
+     * dos times são apagadas (partida com time nulo quebraria o chaveamento), e antes
+     * disso se desfazem as ligações do chaveamento que apontam para elas. Também saem
+     * tabelas, grupos, inscrições, lista de espera, escalações e elencos. No fim, as
+     * tabelas dos grupos afetados são refeitas e cada vaga liberada volta ao campeonato.
+     */
+    @Transactional
+    public int excluirEmLote(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
 
-        // Agora pode deletar
-        timeRepository.delete(time);
+        List<Long> grupos = timeRepository.findGrupoIdsByTimeIds(ids);
+        List<Long> inscricoes = timeRepository.findCampeonatoIdsByTimeIds(ids);
+        detalheCache.invalidarPorTimes(ids);
+
+        timeRepository.desligarDestinosVencedor(ids);
+        timeRepository.desligarDestinosPerdedor(ids);
+        timeRepository.excluirPartidas(ids);
+        timeRepository.excluirClassificacoes(ids);
+        timeRepository.excluirDosGrupos(ids);
+        timeRepository.removerTitulosDeCampeao(ids);
+        timeRepository.excluirInscricoes(ids);
+        timeRepository.excluirDaListaDeEspera(ids);
+        timeRepository.excluirJogadoresDasEscalacoes(ids);
+        timeRepository.excluirEscalacoes(ids);
+        timeRepository.excluirElencos(ids);
+        timeRepository.excluirCampeonatosParticipados(ids);
+        int excluidos = timeRepository.excluirTimes(ids);
+
+        // Partidas dos times foram removidas: refaz as tabelas dos grupos
+        grupos.forEach(classificacaoService::recalcularGrupo);
+        // Uma vaga por inscrição removida (vai para a lista de espera, se houver)
+        inscricoes.forEach(campeonatoService::liberarVaga);
+
+        return excluidos;
     }
 
     // Gerenciamento de jogadores no time
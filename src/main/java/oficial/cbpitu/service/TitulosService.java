@@ -0,0 +1,69 @@
+package oficial.cbpitu.service;
+
+import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.dto.campeonato.ReconciliacaoTitulosDTO;
+import oficial.cbpitu.model.Campeonato;
+import oficial.cbpitu.model.Time;
+import oficial.cbpitu.repository.JogadorRepository;
+import oficial.cbpitu.repository.TimeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Troféus dos times e títulos dos jogadores.
+ * Os contadores só mudam por UPDATEs atômicos no banco, então dois campeonatos
+ * finalizando ao mesmo tempo não perdem incrementos.
+ */
+@Service
+@RequiredArgsConstructor
+public class TitulosService {
+
+    private final TimeRepository timeRepository;
+    private final JogadorRepository jogadorRepository;
+    private final CampeonatoDetalheCache detalheCache;
+
+    /**
+     * Atribui o troféu ao campeão e o título aos seus jogadores.
+     * Usa a escalação da edição se existir, senão usa os jogadores atuais do time;
+     * quem foi premiado fica gravado no campeonato, para a reconciliação não depender
+     * do elenco que o time tiver depois.
+     * As entidades carregadas não são alteradas; seus contadores ficam desatualizados
+     * até a próxima leitura.
+     */
+    @Transactional
+    public void atribuir(Campeonato campeonato, Time campeao) {
+        timeRepository.incrementarTrofeus(campeao.getId());
+        // Os troféus do time aparecem no detalhe de todos os seus campeonatos
+        detalheCache.invalidarPorTimes(List.of(campeao.getId()));
+
+        int premiados = 0;
+        if (campeonato.getEdicao() != null) {
+            premiados = jogadorRepository.premiarEscalacao(
+                    campeonato.getId(), campeao.getId(), campeonato.getEdicao().getId());
+        }
+        if (premiados == 0) {
+            jogadorRepository.premiarElenco(campeonato.getId(), campeao.getId());
+        }
+        jogadorRepository.incrementarTitulosDosPremiados(campeonato.getId());
+    }
+
+    /**
+     * Recalcula todos os troféus e títulos a partir do histórico de campeonatos
+     * finalizados, um UPDATE por tabela. Sobrescreve ajustes manuais de troféus.
+     */
+    @Transactional
+    public ReconciliacaoTitulosDTO reconciliar() {
+        int times = timeRepository.recalcularTrofeus();
+        int jogadores = jogadorRepository.recalcularTitulos();
+        if (times > 0) {
+            detalheCache.invalidarTodos();
+        }
+
+        return ReconciliacaoTitulosDTO.builder()
+                .timesCorrigidos(times)
+                .jogadoresCorrigidos(jogadores)
+                .build();
+    }
+}
@@ -0,0 +1,249 @@
+package oficial.cbpitu.service;
+
+import jakarta.annotation.PreDestroy;
+import oficial.cbpitu.dto.campeonato.EventoCampeonatoDTO;
+import oficial.cbpitu.dto.campeonato.EventoCampeonatoDTO.Tipo;
+import oficial.cbpitu.dto.campeonato.PartidaDTO;
+import oficial.cbpitu.exception.RecursoNaoEncontradoException;
+import oficial.cbpitu.mapper.ClassificacaoMapper;
+import oficial.cbpitu.mapper.PartidaMapper;
+import oficial.cbpitu.model.AlteracaoCampeonato;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.enums.StatusPartida;
+import oficial.cbpitu.repository.AlteracaoCampeonatoRepository;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import oficial.cbpitu.repository.CampeonatoRepository.RevisaoCampeonato;
+import oficial.cbpitu.repository.ClassificacaoRepository;
+import oficial.cbpitu.repository.PartidaRepository;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Transmissão ao vivo dos campeonatos (SSE).
+ *
+ * Os eventos saem do log de alterações (tb_alteracoes_campeonato), não de avisos
+ * em memória: a cada ciclo uma consulta lê a revisão dos campeonatos com canal
+ * aberto nesta instância, e os que avançaram têm as entradas novas lidas numa
+ * virtual thread e viradas em eventos com só o que mudou. Assim uma escrita feita
+ * em qualquer instância chega aos assinantes de todas, com atraso de até um
+ * ciclo. Campeonatos sem ninguém assistindo não custam nada.
+ */
+@Component
+public class TransmissaoCampeonatos {
+
+    private final CampeonatoRepository campeonatoRepository;
+    private final AlteracaoCampeonatoRepository alteracaoRepository;
+    private final PartidaRepository partidaRepository;
+    private final ClassificacaoRepository classificacaoRepository;
+    private final PartidaMapper partidaMapper;
+    private final ClassificacaoMapper classificacaoMapper;
+    private final FaseDeGruposStrategy faseDeGruposStrategy;
+    private final TransactionTemplate leitura;
+
+    private final long timeoutMs;
+    private final int eventosRetidos;
+    private final long retencaoMs;
+    private final long reconexaoMs;
+
+    private final Map<Long, CanalTransmissao> canais = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public TransmissaoCampeonatos(CampeonatoRepository campeonatoRepository,
+            AlteracaoCampeonatoRepository alteracaoRepository,
+            PartidaRepository partidaRepository,
+            ClassificacaoRepository classificacaoRepository,
+            PartidaMapper partidaMapper,
+            ClassificacaoMapper classificacaoMapper,
+            FaseDeGruposStrategy faseDeGruposStrategy,
+            PlatformTransactionManager transactionManager,
+            @Value("${cbpitu.transmissao.timeout-ms:1800000}") long timeoutMs,
+            @Value("${cbpitu.transmissao.eventos-retidos:256}") int eventosRetidos,
+            @Value("${cbpitu.transmissao.retencao-canal-ms:300000}") long retencaoMs,
+            @Value("${cbpitu.transmissao.reconexao-ms:3000}") long reconexaoMs) {
+        this.campeonatoRepository = campeonatoRepository;
+        this.alteracaoRepository = alteracaoRepository;
+        this.partidaRepository = partidaRepository;
+        this.classificacaoRepository = classificacaoRepository;
+        this.partidaMapper = partidaMapper;
+        this.classificacaoMapper = classificacaoMapper;
+        this.faseDeGruposStrategy = faseDeGruposStrategy;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.timeoutMs = timeoutMs;
+        this.eventosRetidos = eventosRetidos;
+        this.retencaoMs = retencaoMs;
+        this.reconexaoMs = reconexaoMs;
+    }
+
+    @PreDestroy
+    void parar() {
+        canais.values().forEach(CanalTransmissao::encerrar);
+        executor.shutdown();
+    }
+
+    /**
+     * Abre a conexão SSE do campeonato, retomando do Last-Event-ID (uma revisão) quando houver.
+     */
+    public SseEmitter assinar(Long campeonatoId, String ultimoEventoId) {
+        return assinar(campeonatoId, ultimoEventoId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter assinar(Long campeonatoId, String ultimoEventoId, SseEmitter emitter) {
+        long revisao = campeonatoRepository.findRevisaoById(campeonatoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Campeonato", campeonatoId));
+
+        canais.compute(campeonatoId, (id, canal) -> {
+            CanalTransmissao aberto = canal != null ? canal
+                    : new CanalTransmissao(id, revisao, eventosRetidos, reconexaoMs, executor);
+            aberto.assinar(emitter, ultimoEventoId);
+            return aberto;
+        });
+        return emitter;
+    }
+
+    /**
+     * Mantém as conexões vivas através de proxies e fecha os canais sem assinantes
+     * há mais tempo que a retenção (quem voltar depois disso recebe RESINCRONIZAR).
+     */
+    @Scheduled(fixedRateString = "${cbpitu.transmissao.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long agora = System.currentTimeMillis();
+        for (Long campeonatoId : canais.keySet()) {
+            canais.computeIfPresent(campeonatoId,
+                    (id, canal) -> canal.isOcioso(agora, retencaoMs) ? null : canal);
+        }
+        canais.values().forEach(CanalTransmissao::heartbeat);
+    }
+
+    /**
+     * Lê a revisão dos campeonatos com canal aberto e dispara a montagem dos que
+     * avançaram. Canal de campeonato removido é encerrado.
+     */
+    @Scheduled(fixedDelayString = "${cbpitu.transmissao.intervalo-ms:500}")
+    public void acompanhar() {
+        if (canais.isEmpty()) {
+            return;
+        }
+
+        Map<Long, RevisaoCampeonato> revisoes = new HashMap<>();
+        campeonatoRepository.buscarRevisoes(List.copyOf(canais.keySet()))
+                .forEach(r -> revisoes.put(r.getId(), r));
+
+        for (CanalTransmissao canal : canais.values()) {
+            RevisaoCampeonato atual = revisoes.get(canal.getCampeonatoId());
+            if (atual == null) {
+                canais.remove(canal.getCampeonatoId(), canal);
+                canal.encerrar();
+            } else if (canal.avancar(atual.getRevisao())) {
+                executor.execute(() -> montar(canal));
+            }
+        }
+    }
+
+    // Montagem dos eventos
+
+    /**
+     * Lê e emite as revisões novas do canal até alcançar a última vista. Uma
+     * montagem por canal de cada vez, para os eventos saírem na ordem das revisões.
+     * Revisões fora do log (alteração em lote, ver inicioAlteracoes) ou uma falha
+     * na leitura viram RESINCRONIZAR.
+     */
+    private void montar(CanalTransmissao canal) {
+        Long campeonatoId = canal.getCampeonatoId();
+        long ate;
+        while ((ate = canal.proximoLote()) >= 0) {
+            long desde = canal.getRevisao();
+            long fim = ate;
+            List<EventoCampeonatoDTO> eventos;
+            try {
+                eventos = leitura.execute(status -> montarEventos(campeonatoId, desde, fim));
+            } catch (Exception e) {
+                // O cliente recarrega o campeonato; a próxima revisão volta a sair do log
+                eventos = null;
+            }
+            canal.emitir(ate, eventos != null ? eventos : List.of(EventoCampeonatoDTO.builder()
+                    .tipo(Tipo.RESINCRONIZAR)
+                    .campeonatoId(campeonatoId)
+                    .build()));
+        }
+    }
+
+    // null se o log não cobre o intervalo
+    private List<EventoCampeonatoDTO> montarEventos(Long campeonatoId, long desde, long ate) {
+        Long inicio = campeonatoRepository.findInicioAlteracoesById(campeonatoId).orElse(null);
+        if (inicio == null || desde < inicio) {
+            return null;
+        }
+
+        AlteracoesCampeonato alteracoes = new AlteracoesCampeonato();
+        for (AlteracaoCampeonato alteracao : alteracaoRepository.buscarEntre(campeonatoId, desde, ate)) {
+            switch (alteracao.getTipo()) {
+                case PARTIDA_CRIADA -> alteracoes.partidaCriada(alteracao.getRegistroId());
+                case PARTIDA -> alteracoes.partida(alteracao.getRegistroId());
+                case CLASSIFICACAO -> alteracoes.grupo(alteracao.getRegistroId());
+                default -> {
+                    // Fases, grupos e dados do campeonato não são transmitidos
+                }
+            }
+        }
+        return montarEventos(campeonatoId, alteracoes);
+    }
+
+    private List<EventoCampeonatoDTO> montarEventos(Long campeonatoId, AlteracoesCampeonato alteracoes) {
+        List<EventoCampeonatoDTO> eventos = new ArrayList<>();
+
+        if (!alteracoes.partidas.isEmpty()) {
+            Map<Long, Partida> porId = new HashMap<>();
+            partidaRepository.findAllById(alteracoes.partidas).forEach(p -> porId.put(p.getId(), p));
+
+            // Um evento por tipo, na ordem do enum (criadas antes das finalizadas). Série
+            // ainda sem vencedor sai como atualização
+            Map<Tipo, List<PartidaDTO>> porTipo = new EnumMap<>(Tipo.class);
+            for (Long id : alteracoes.partidas) {
+                Partida partida = porId.get(id);
+                if (partida == null) {
+                    continue;
+                }
+                boolean encerrada = partida.isFinalizada() || partida.getStatus() == StatusPartida.WO;
+                Tipo tipo = alteracoes.partidasCriadas.contains(id) ? Tipo.PARTIDAS_CRIADAS
+                        : encerrada ? Tipo.PARTIDA_FINALIZADA : Tipo.PARTIDA_ATUALIZADA;
+                porTipo.computeIfAbsent(tipo, t -> new ArrayList<>()).add(partidaMapper.toDTO(partida));
+            }
+
+            porTipo.forEach((tipo, partidas) -> eventos.add(EventoCampeonatoDTO.builder()
+                    .tipo(tipo)
+                    .campeonatoId(campeonatoId)
+                    .partidas(partidas)
+                    .build()));
+        }
+
+        for (Long grupoId : alteracoes.grupos) {
+            List<ClassificacaoGrupo> tabela = faseDeGruposStrategy.ordenarTabela(
+                    classificacaoRepository.findByGrupoId(grupoId), () -> partidaRepository.findByGrupoId(grupoId));
+
+            eventos.add(EventoCampeonatoDTO.builder()
+                    .tipo(Tipo.CLASSIFICACAO_ALTERADA)
+                    .campeonatoId(campeonatoId)
+                    .grupoId(grupoId)
+                    .classificacao(classificacaoMapper.toDTOList(tabela))
+                    .build());
+        }
+
+        return eventos;
+    }
+}
@@ -0,0 +1,397 @@
+package oficial.cbpitu.service.strategy;
+
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.enums.StatusPartida;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cenários de um grupo em andamento: a melhor e a pior posição que cada time
+ * ainda pode alcançar, quem já garantiu vaga, quem já está fora e quantos pontos
+ * faltam para garantir ("número mágico").
+ *
+ * A busca é exata sobre os resultados (vitória, empate, derrota) das partidas
+ * restantes, com poda: para a melhor posição de um time, ele vence todas as suas
+ * e só as outras partidas são percorridas, cortando o ramo assim que os times já
+ * acima dele bastam para não melhorar o que foi achado (os pontos só sobem ao
+ * longo do ramo); para a pior, ele perde todas e o corte usa os pontos que cada
+ * adversário ainda pode somar.
+ *
+ * Empate em pontos: se nenhum dos times empatados tem partida por jogar, vale a
+ * ordem atual da tabela (saldo, gols e confronto direto já estão fechados); senão
+ * o desempate ainda depende de placar e conta a favor do time no melhor caso e
+ * contra no pior.
+ */
+public final class CenariosGrupo {
+
+    public enum Situacao {
+        CLASSIFICADO, ELIMINADO, EM_ABERTO
+    }
+
+    private final List<ClassificacaoGrupo> tabela;
+    private final int vagas;
+    private final int numTimes;
+
+    // Por índice da tabela atual (0 = líder)
+    private final int[] pontos;
+    private final int[] restantes;
+
+    // Partidas restantes, por índices da tabela
+    private final int[] mandantes;
+    private final int[] visitantes;
+
+    private final int[] melhores;
+    private final int[] piores;
+    private final Integer[] pontosParaGarantir;
+
+    // Estado da busca
+    private int alvo;
+    private int[] outras;
+    private final int[] pts;
+    private final int[] restam;
+    private int encontrada;
+
+    private CenariosGrupo(List<ClassificacaoGrupo> tabela, int[] mandantes, int[] visitantes, int vagas) {
+        this.tabela = tabela;
+        this.vagas = vagas;
+        this.numTimes = tabela.size();
+        this.mandantes = mandantes;
+        this.visitantes = visitantes;
+        this.pontos = new int[numTimes];
+        this.restantes = new int[numTimes];
+        for (int t = 0; t < numTimes; t++) {
+            pontos[t] = tabela.get(t).getPontos();
+        }
+        for (int k = 0; k < mandantes.length; k++) {
+            restantes[mandantes[k]]++;
+            restantes[visitantes[k]]++;
+        }
+
+        this.pts = new int[numTimes];
+        this.restam = new int[numTimes];
+        this.melhores = new int[numTimes];
+        this.piores = new int[numTimes];
+        this.pontosParaGarantir = new Integer[numTimes];
+        for (int t = 0; t < numTimes; t++) {
+            melhores[t] = calcularMelhorPosicao(t);
+            piores[t] = calcularPiorPosicao(t);
+            pontosParaGarantir[t] = calcularPontosParaGarantir(t);
+        }
+    }
+
+    /**
+     * Cenários a partir da tabela ordenada (ClassificacaoService.getTabelaGrupo) e
+     * das partidas do grupo; as que não contam para a tabela e não foram canceladas
+     * são as restantes.
+     */
+    public static CenariosGrupo de(List<ClassificacaoGrupo> tabela, Collection<Partida> partidasDoGrupo, int vagas) {
+        Map<Long, Integer> indice = new HashMap<>();
+        for (int t = 0; t < tabela.size(); t++) {
+            indice.put(tabela.get(t).getTime().getId(), t);
+        }
+
+        int[] mandantes = new int[partidasDoGrupo.size()];
+        int[] visitantes = new int[partidasDoGrupo.size()];
+        int total = 0;
+        for (Partida partida : partidasDoGrupo) {
+            if (FaseDeGruposStrategy.contaParaClassificacao(partida) || partida.getStatus() == StatusPartida.CANCELADA
+                    || partida.getTime1() == null || partida.getTime2() == null) {
+                continue;
+            }
+            Integer t1 = indice.get(partida.getTime1().getId());
+            Integer t2 = indice.get(partida.getTime2().getId());
+            if (t1 != null && t2 != null) {
+                mandantes[total] = t1;
+                visitantes[total] = t2;
+                total++;
+            }
+        }
+        return new CenariosGrupo(tabela, Arrays.copyOf(mandantes, total), Arrays.copyOf(visitantes, total), vagas);
+    }
+
+    public List<ClassificacaoGrupo> getTabela() {
+        return tabela;
+    }
+
+    public int getVagas() {
+        return vagas;
+    }
+
+    public int getPartidasRestantes() {
+        return mandantes.length;
+    }
+
+    public int getJogosRestantes(int indice) {
+        return restantes[indice];
+    }
+
+    public int getPontosMaximos(int indice) {
+        return pontos[indice] + 3 * restantes[indice];
+    }
+
+    /**
+     * Melhor e pior posição possíveis (1 = primeiro) do time no índice da tabela.
+     */
+    public int getMelhorPosicao(int indice) {
+        return melhores[indice];
+    }
+
+    public int getPiorPosicao(int indice) {
+        return piores[indice];
+    }
+
+    public Situacao getSituacao(int indice) {
+        if (piores[indice] <= vagas) {
+            return Situacao.CLASSIFICADO;
+        }
+        if (melhores[indice] > vagas) {
+            return Situacao.ELIMINADO;
+        }
+        return Situacao.EM_ABERTO;
+    }
+
+    /**
+     * Pontos que o time ainda precisa somar para garantir a vaga com qualquer
+     * resultado das outras partidas: 0 se já garantiu, null se nem vencendo tudo
+     * a vaga fica garantida.
+     */
+    public Integer getPontosParaGarantir(int indice) {
+        return pontosParaGarantir[indice];
+    }
+
+    // Busca
+
+    private int calcularMelhorPosicao(int t) {
+        iniciarBusca(t);
+        for (int k = 0; k < mandantes.length; k++) {
+            if (mandantes[k] == t || visitantes[k] == t) {
+                pts[t] += 3;
+            }
+        }
+        encontrada = numTimes + 1;
+        buscarMelhor(0);
+        return encontrada;
+    }
+
+    private int calcularPiorPosicao(int t) {
+        iniciarBusca(t);
+        for (int k = 0; k < mandantes.length; k++) {
+            if (mandantes[k] == t) {
+                pts[visitantes[k]] += 3;
+            } else if (visitantes[k] == t) {
+                pts[mandantes[k]] += 3;
+            }
+        }
+        encontrada = 0;
+        buscarPior(0);
+        return encontrada;
+    }
+
+    /**
+     * Para cada combinação de resultados do próprio time, a pior posição com as
+     * outras partidas em aberto; o número mágico é o menor total de pontos a partir
+     * do qual todas as combinações garantem a vaga.
+     */
+    private Integer calcularPontosParaGarantir(int t) {
+        if (piores[t] <= vagas) {
+            return 0;
+        }
+        if (melhores[t] > vagas) {
+            return null;
+        }
+
+        int[] proprias = new int[restantes[t]];
+        int r = 0;
+        for (int k = 0; k < mandantes.length; k++) {
+            if (mandantes[k] == t || visitantes[k] == t) {
+                proprias[r++] = k;
+            }
+        }
+
+        // garante[g]: todas as combinações em que o time soma g pontos garantem a vaga
+        boolean[] garante = new boolean[3 * r + 1];
+        boolean[] possivel = new boolean[3 * r + 1];
+        Arrays.fill(garante, true);
+        int combinacoes = 1;
+        for (int i = 0; i < r; i++) {
+            combinacoes *= 3;
+        }
+
+        for (int c = 0; c < combinacoes; c++) {
+            iniciarBusca(t);
+            int ganhos = 0;
+            int resto = c;
+            for (int i = 0; i < r; i++) {
+                int k = proprias[i];
+                int adversario = mandantes[k] == t ? visitantes[k] : mandantes[k];
+                switch (resto % 3) {
+                    case 0 -> ganhos += 3;
+                    case 1 -> {
+                        ganhos += 1;
+                        pts[adversario] += 1;
+                    }
+                    default -> pts[adversario] += 3;
+                }
+                resto /= 3;
+            }
+            pts[t] += ganhos;
+            possivel[ganhos] = true;
+            if (!garante[ganhos]) {
+                continue;
+            }
+            encontrada = 0;
+            buscarPior(0);
+            if (encontrada > vagas) {
+                garante[ganhos] = false;
+            }
+        }
+
+        // Menor g tal que todo total alcançável a partir dele garante
+        Integer minimo = null;
+        for (int g = 3 * r; g >= 0; g--) {
+            if (possivel[g] && !garante[g]) {
+                break;
+            }
+            if (possivel[g]) {
+                minimo = g;
+            }
+        }
+        return minimo;
+    }
+
+    // Pontos atuais e, em outras, as partidas restantes que não são do time t
+    private void iniciarBusca(int t) {
+        alvo = t;
+        System.arraycopy(pontos, 0, pts, 0, numTimes);
+        Arrays.fill(restam, 0);
+        if (outras == null) {
+            outras = new int[mandantes.length];
+        }
+        int total = 0;
+        for (int k = 0; k < mandantes.length; k++) {
+            if (mandantes[k] != t && visitantes[k] != t) {
+                outras[total++] = k;
+                restam[mandantes[k]]++;
+                restam[visitantes[k]]++;
+            }
+        }
+        if (total < outras.length) {
+            outras[total] = -1; // fim da lista
+        }
+    }
+
+    private void buscarMelhor(int i) {
+        // Quem já passou dos pontos do time continua acima em todo o ramo
+        int acima = 0;
+        for (int u = 0; u < numTimes; u++) {
+            if (u != alvo && pts[u] > pts[alvo]) {
+                acima++;
+            }
+        }
+        if (acima + 1 >= encontrada) {
+            return;
+        }
+        if (i == outras.length || outras[i] < 0) {
+            encontrada = Math.min(encontrada, posicao(true));
+            return;
+        }
+
+        int k = outras[i];
+        int a = mandantes[k];
+        int b = visitantes[k];
+        restam[a]--;
+        restam[b]--;
+        // Primeiro a vitória de quem já está acima: o outro fica mais longe
+        int primeiro = pts[a] >= pts[b] ? a : b;
+        int segundo = primeiro == a ? b : a;
+        pts[primeiro] += 3;
+        buscarMelhor(i + 1);
+        pts[primeiro] -= 3;
+        if (encontrada > 1) {
+            pts[a]++;
+            pts[b]++;
+            buscarMelhor(i + 1);
+            pts[a]--;
+            pts[b]--;
+        }
+        if (encontrada > 1) {
+            pts[segundo] += 3;
+            buscarMelhor(i + 1);
+            pts[segundo] -= 3;
+        }
+        restam[a]++;
+        restam[b]++;
+    }
+
+    private void buscarPior(int i) {
+        // Só pode ficar acima quem ainda alcança os pontos do time
+        int alcancam = 0;
+        for (int u = 0; u < numTimes; u++) {
+            if (u != alvo && pts[u] + 3 * restam[u] >= pts[alvo]) {
+                alcancam++;
+            }
+        }
+        if (alcancam + 1 <= encontrada) {
+            return;
+        }
+        if (i == outras.length || outras[i] < 0) {
+            encontrada = Math.max(encontrada, posicao(false));
+            return;
+        }
+
+        int k = outras[i];
+        int a = mandantes[k];
+        int b = visitantes[k];
+        restam[a]--;
+        restam[b]--;
+        // Primeiro a vitória de quem está abaixo: pode passar o time
+        int primeiro = pts[a] <= pts[b] ? a : b;
+        int segundo = primeiro == a ? b : a;
+        pts[primeiro] += 3;
+        buscarPior(i + 1);
+        pts[primeiro] -= 3;
+        if (encontrada < numTimes) {
+            pts[a]++;
+            pts[b]++;
+            buscarPior(i + 1);
+            pts[a]--;
+            pts[b]--;
+        }
+        if (encontrada < numTimes) {
+            pts[segundo] += 3;
+            buscarPior(i + 1);
+            pts[segundo] -= 3;
+        }
+        restam[a]++;
+        restam[b]++;
+    }
+
+    // Posição do alvo (1 = primeiro) com os pontos finais em pts
+    private int posicao(boolean otimista) {
+        int p = pts[alvo];
+        boolean fechado = true;
+        for (int u = 0; u < numTimes && fechado; u++) {
+            if ((pts[u] == p || pontos[u] == p) && restantes[u] > 0) {
+                fechado = false;
+            }
+        }
+
+        int acima = 0;
+        for (int u = 0; u < numTimes; u++) {
+            if (u == alvo) {
+                continue;
+            }
+            if (pts[u] > p) {
+                acima++;
+            } else if (pts[u] == p && (fechado ? u < alvo : !otimista)) {
+                acima++;
+            }
+        }
+        return acima + 1;
+    }
+}
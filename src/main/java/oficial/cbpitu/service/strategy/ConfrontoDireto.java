@@ -0,0 +1,165 @@
+package oficial.cbpitu.service.strategy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Desempate por confronto direto (minitabela). Entre os times empatados, monta a
+ * tabela só com as partidas entre eles (pontos, saldo, gols pró); quem continua
+ * empatado num grupo menor passa por outra minitabela só com esses, como nos
+ * regulamentos da UEFA.
+ *
+ * Cada minitabela fica memorizada pelo conteúdo (times e placares entre eles):
+ * o mesmo empate não é refeito a cada leitura da tabela, e não há o que invalidar,
+ * porque um placar novo já é outra chave.
+ */
+@Component
+public class ConfrontoDireto {
+
+    private static final class Chave {
+        private final long[] ids;
+        private final int[] pontos;
+        private final int[] gols;
+        private final int hash;
+
+        Chave(long[] ids, int[] pontos, int[] gols) {
+            this.ids = ids;
+            this.pontos = pontos;
+            this.gols = gols;
+            this.hash = 31 * (31 * Arrays.hashCode(ids) + Arrays.hashCode(pontos)) + Arrays.hashCode(gols);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Chave outra && hash == outra.hash && Arrays.equals(ids, outra.ids)
+                    && Arrays.equals(pontos, outra.pontos) && Arrays.equals(gols, outra.gols);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final Cache<Chave, int[]> memo;
+
+    public ConfrontoDireto(@Value("${cbpitu.cache.confronto-direto.tamanho:10000}") long tamanho) {
+        this.memo = Caffeine.newBuilder().maximumSize(tamanho).build();
+    }
+
+    /**
+     * Posição de cada time do bloco na minitabela: 0 é o melhor, posições iguais
+     * seguem empatadas. {@code ids} em ordem crescente; {@code pontos[a * k + b]} e
+     * {@code gols[a * k + b]} são os pontos e os gols de a contra b. O array
+     * devolvido é compartilhado: não alterar.
+     */
+    public int[] classificar(long[] ids, int[] pontos, int[] gols) {
+        Chave chave = new Chave(ids, pontos, gols);
+        int[] posicoes = memo.getIfPresent(chave);
+        if (posicoes == null) {
+            // Sem computeIfAbsent: a resolução chama classificar de novo para os subgrupos
+            posicoes = resolver(ids, pontos, gols, this);
+            memo.put(chave, posicoes);
+        }
+        return posicoes;
+    }
+
+    /**
+     * Mesmo que {@link #classificar}, sem passar pela memória. Para as simulações,
+     * em que quase todo empate é único e só encheria o cache.
+     */
+    static int[] classificarSemMemoria(long[] ids, int[] pontos, int[] gols) {
+        return resolver(ids, pontos, gols, null);
+    }
+
+    private static int[] resolver(long[] ids, int[] pontos, int[] gols, ConfrontoDireto memoria) {
+        int k = ids.length;
+        int[] p = new int[k];
+        int[] saldo = new int[k];
+        int[] pro = new int[k];
+        for (int a = 0; a < k; a++) {
+            for (int b = 0; b < k; b++) {
+                p[a] += pontos[a * k + b];
+                pro[a] += gols[a * k + b];
+                saldo[a] += gols[a * k + b] - gols[b * k + a];
+            }
+        }
+
+        // Ordem da minitabela (inserção estável, melhor primeiro)
+        int[] ordem = new int[k];
+        for (int i = 0; i < k; i++) {
+            ordem[i] = i;
+        }
+        for (int i = 1; i < k; i++) {
+            int t = ordem[i];
+            int j = i - 1;
+            while (j >= 0 && comparar(ordem[j], t, p, saldo, pro) > 0) {
+                ordem[j + 1] = ordem[j];
+                j--;
+            }
+            ordem[j + 1] = t;
+        }
+
+        int[] posicoes = new int[k];
+        int inicio = 0;
+        while (inicio < k) {
+            int fim = inicio + 1;
+            while (fim < k && comparar(ordem[inicio], ordem[fim], p, saldo, pro) == 0) {
+                fim++;
+            }
+
+            if (fim - inicio == k) {
+                return posicoes; // minitabela não separa ninguém: todos seguem empatados
+            }
+            if (fim - inicio == 1) {
+                posicoes[ordem[inicio]] = inicio;
+            } else {
+                resolverSubgrupo(ids, pontos, gols, ordem, inicio, fim, posicoes, memoria);
+            }
+            inicio = fim;
+        }
+        return posicoes;
+    }
+
+    // Nova minitabela só com os times ainda empatados em ordem[inicio, fim)
+    private static void resolverSubgrupo(long[] ids, int[] pontos, int[] gols, int[] ordem, int inicio, int fim,
+            int[] posicoes, ConfrontoDireto memoria) {
+        int k = ids.length;
+        int[] membros = Arrays.copyOfRange(ordem, inicio, fim);
+        Arrays.sort(membros);
+
+        int m = membros.length;
+        long[] subIds = new long[m];
+        int[] subPontos = new int[m * m];
+        int[] subGols = new int[m * m];
+        for (int a = 0; a < m; a++) {
+            subIds[a] = ids[membros[a]];
+            for (int b = 0; b < m; b++) {
+                subPontos[a * m + b] = pontos[membros[a] * k + membros[b]];
+                subGols[a * m + b] = gols[membros[a] * k + membros[b]];
+            }
+        }
+
+        int[] subPosicoes = memoria != null
+                ? memoria.classificar(subIds, subPontos, subGols)
+                : resolver(subIds, subPontos, subGols, null);
+        for (int a = 0; a < m; a++) {
+            posicoes[membros[a]] = inicio + subPosicoes[a];
+        }
+    }
+
+    // Negativo se a fica à frente de b
+    private static int comparar(int a, int b, int[] pontos, int[] saldo, int[] pro) {
+        if (pontos[a] != pontos[b]) {
+            return Integer.compare(pontos[b], pontos[a]);
+        }
+        if (saldo[a] != saldo[b]) {
+            return Integer.compare(saldo[b], saldo[a]);
+        }
+        return Integer.compare(pro[b], pro[a]);
+    }
+}
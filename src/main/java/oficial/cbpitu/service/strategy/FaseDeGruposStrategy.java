@@ -4,11 +4,11 @@ import oficial.cbpitu.model.*;
 import oficial.cbpitu.model.enums.FormatoCompeticao;
 import oficial.cbpitu.model.enums.StatusPartida;
 import oficial.cbpitu.repository.PartidaRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * Strategy para formato Fase de Grupos.
@@ -20,6 +20,11 @@ public class FaseDeGruposStrategy implements GeradorDeConfrontos {
     private static final int TIMES_POR_GRUPO_PADRAO = 4;
 
     private final PartidaRepository partidaRepository;
+    private final ConfrontoDireto confrontoDireto;
+
+    // Critérios de desempate da tabela, em ordem (ver TabelaClassificacao)
+    @Value("${cbpitu.classificacao.criterios:PONTOS,SALDO_GOLS,GOLS_PRO,CONFRONTO_DIRETO}")
+    private List<TabelaClassificacao.Criterio> criterios = TabelaClassificacao.CRITERIOS_PADRAO;
 
     @Override
     public List<Partida> gerarConfrontos(List<Time> times, Fase fase) {
@@ -83,43 +88,68 @@ public class FaseDeGruposStrategy implements GeradorDeConfrontos {
     }
 
     /**
-     * Gera round-robin (todos contra todos) para um grupo.
+     * Gera round-robin (todos contra todos) para um grupo pelo método do círculo
+     * (tabela de Berger): cada rodada tem n/2 jogos e ninguém joga duas vezes na
+     * mesma rodada. Com número ímpar de times, um folga por rodada. No ida e volta,
+     * o returno repete as rodadas com o mando invertido.
      */
     private List<Partida> gerarRoundRobin(List<Time> times, Fase fase, Grupo grupo) {
-        List<Partida> partidas = new ArrayList<>();
-        int numTimes = times.size();
+        List<Time> sorteados = new ArrayList<>(times);
+        Collections.shuffle(sorteados);
+
+        int numTimes = sorteados.size();
+        if (numTimes < 2) {
+            return new ArrayList<>();
+        }
         boolean idaEVolta = fase.getFormato() == FormatoCompeticao.GRUPOS_IDA_VOLTA;
 
-        int rodada = 1;
-        for (int i = 0; i < numTimes - 1; i++) {
-            for (int j = i + 1; j < numTimes; j++) {
-                // Jogo de ida
-                Partida partidaIda = new Partida();
-                partidaIda.setTime1(times.get(i));
-                partidaIda.setTime2(times.get(j));
-                partidaIda.setFase(fase);
-                partidaIda.setGrupo(grupo);
-                partidaIda.setRodada(rodada);
-                partidaIda.setStatus(StatusPartida.PENDENTE);
-                partidas.add(partidaIda);
-
-                // Jogo de volta (se configurado)
+        // Com número ímpar, a posição extra (índice numTimes) é a folga
+        int posicoes = numTimes % 2 == 0 ? numTimes : numTimes + 1;
+        int rodadasTurno = posicoes - 1;
+        int jogosTurno = numTimes * (numTimes - 1) / 2;
+
+        Partida[] partidas = new Partida[idaEVolta ? jogosTurno * 2 : jogosTurno];
+        int total = 0;
+
+        for (int r = 0; r < rodadasTurno; r++) {
+            for (int i = 0; i < posicoes / 2; i++) {
+                int mandante;
+                int visitante;
+                if (i == 0) {
+                    // A última posição fica fixa; o mando dela alterna a cada rodada
+                    boolean fixoEmCasa = r % 2 == 1;
+                    mandante = fixoEmCasa ? posicoes - 1 : r;
+                    visitante = fixoEmCasa ? r : posicoes - 1;
+                } else {
+                    mandante = (r + i) % rodadasTurno;
+                    visitante = (r + rodadasTurno - i) % rodadasTurno;
+                }
+
+                if (mandante >= numTimes || visitante >= numTimes) {
+                    continue; // folga
+                }
+
+                partidas[total++] = criarPartida(sorteados.get(mandante), sorteados.get(visitante),
+                        fase, grupo, r + 1);
                 if (idaEVolta) {
-                    Partida partidaVolta = new Partida();
-                    partidaVolta.setTime1(times.get(j)); // Inverte mandante
-                    partidaVolta.setTime2(times.get(i));
-                    partidaVolta.setFase(fase);
-                    partidaVolta.setGrupo(grupo);
-                    partidaVolta.setRodada(rodada + numTimes - 1);
-                    partidaVolta.setStatus(StatusPartida.PENDENTE);
-                    partidas.add(partidaVolta);
+                    partidas[jogosTurno + total - 1] = criarPartida(sorteados.get(visitante),
+                            sorteados.get(mandante), fase, grupo, r + 1 + rodadasTurno);
                 }
             }
-            rodada++;
         }
 
-        Collections.shuffle(partidas);
-        return partidas;
+        return new ArrayList<>(Arrays.asList(partidas));
+    }
+
+    private Partida criarPartida(Time mandante, Time visitante, Fase fase, Grupo grupo, int rodada) {
+        Partida partida = new Partida();
+        partida.setTime1(mandante);
+        partida.setTime2(visitante);
+        partida.setFase(fase);
+        partida.setGrupo(grupo);
+        partida.setRodada(rodada);
+        partida.setStatus(StatusPartida.PENDENTE);
+        return partida;
     }
 
     @Override
@@ -131,21 +161,12 @@ public class FaseDeGruposStrategy implements GeradorDeConfrontos {
         System.out.println("classificadosNecessarios: " + fase.getClassificadosNecessarios());
         System.out.println("Numero de grupos: " + (fase.getGrupos() != null ? fase.getGrupos().size() : 0));
 
-        // Calcula quantos classificados por grupo
-        // Se a divisão der 0 (ex: 1 vaga / 2 grupos), assume o padrão de 2 por grupo
-        int classificadosPorGrupo = fase.getClassificadosNecessarios() != null
-                ? fase.getClassificadosNecessarios() / fase.getGrupos().size()
-                : 2;
-
-        if (classificadosPorGrupo < 1) {
-            classificadosPorGrupo = 2;
-        }
-
-        System.out.println("classificadosPorGrupo calculado: " + classificadosPorGrupo);
-
         if (fase.getGrupos() == null)
             return classificados;
 
+        int classificadosPorGrupo = calcularClassificadosPorGrupo(fase);
+        System.out.println("classificadosPorGrupo calculado: " + classificadosPorGrupo);
+
         for (Grupo grupo : fase.getGrupos()) {
             System.out.println("Processando grupo: " + grupo.getNome() + " (ID: " + grupo.getId() + ")");
             List<Partida> partidasDoGrupo = partidaRepository.findByGrupoId(grupo.getId());
@@ -165,54 +186,159 @@ public class FaseDeGruposStrategy implements GeradorDeConfrontos {
     }
 
     /**
-     * Calcula a tabela de classificação de um grupo.
+     * Quantos times avançam de cada grupo. Se a divisão der 0 (ex: 1 vaga / 2 grupos),
+     * assume o padrão de 2 por grupo.
      */
-    public List<ClassificacaoGrupo> calcularTabelaGrupo(Grupo grupo, List<Partida> partidasDoGrupo) {
-        Map<Time, ClassificacaoGrupo> classificacoes = new HashMap<>();
+    public int calcularClassificadosPorGrupo(Fase fase) {
+        int classificadosPorGrupo = fase.getClassificadosNecessarios() != null && !fase.getGrupos().isEmpty()
+                ? fase.getClassificadosNecessarios() / fase.getGrupos().size()
+                : 2;
+        return classificadosPorGrupo < 1 ? 2 : classificadosPorGrupo;
+    }
 
-        // Inicializa classificação para cada time
-        for (Time time : grupo.getTimes()) {
-            classificacoes.put(time, new ClassificacaoGrupo(time));
+    /**
+     * Prepara a simulação do que falta da fase: parte da tabela atual de cada grupo,
+     * sorteia as partidas pendentes e classifica com os mesmos critérios e o mesmo
+     * número de vagas por grupo de calcularClassificados.
+     */
+    public SimulacaoFase prepararSimulacao(Fase fase, List<Partida> partidasDaFase, SimulacaoFase.Modelo modelo) {
+        List<Grupo> grupos = fase.getGrupos();
+        int porGrupo = calcularClassificadosPorGrupo(fase);
+
+        Map<Long, List<Partida>> partidasPorGrupo = new HashMap<>();
+        for (Partida partida : partidasDaFase) {
+            if (partida.getGrupo() != null) {
+                partidasPorGrupo.computeIfAbsent(partida.getGrupo().getId(), id -> new ArrayList<>()).add(partida);
+            }
         }
 
-        // Processa cada partida finalizada
-        for (Partida partida : partidasDoGrupo) {
-            if (!partida.isFinalizada())
-                continue;
-
-            ClassificacaoGrupo c1 = classificacoes.get(partida.getTime1());
-            ClassificacaoGrupo c2 = classificacoes.get(partida.getTime2());
-
-            if (c1 == null || c2 == null)
-                continue;
-
-            c1.adicionarJogo();
-            c2.adicionarJogo();
-
-            c1.adicionarGolsPro(partida.getPlacarTime1());
-            c1.adicionarGolsContra(partida.getPlacarTime2());
-            c2.adicionarGolsPro(partida.getPlacarTime2());
-            c2.adicionarGolsContra(partida.getPlacarTime1());
-
-            if (partida.getPlacarTime1() > partida.getPlacarTime2()) {
-                c1.adicionarVitoria();
-                c2.adicionarDerrota();
-            } else if (partida.getPlacarTime2() > partida.getPlacarTime1()) {
-                c2.adicionarVitoria();
-                c1.adicionarDerrota();
-            } else {
-                c1.adicionarEmpate();
-                c2.adicionarEmpate();
+        TabelaClassificacao[] bases = new TabelaClassificacao[grupos.size()];
+        int[][] globais = new int[grupos.size()][];
+        int[][] pendentes = new int[grupos.size()][];
+        List<Time> times = new ArrayList<>();
+        List<Long> grupoIds = new ArrayList<>();
+        List<Partida> jogadas = new ArrayList<>();
+        int numPosicoes = 1;
+
+        for (int g = 0; g < grupos.size(); g++) {
+            Grupo grupo = grupos.get(g);
+            List<Partida> doGrupo = partidasPorGrupo.getOrDefault(grupo.getId(), List.of());
+            TabelaClassificacao base = TabelaClassificacao.baseDeSimulacao(grupo.getTimes(), doGrupo);
+            bases[g] = base;
+
+            // Índice global (do resultado) de cada índice da tabela do grupo
+            globais[g] = new int[base.getNumTimes()];
+            for (int t = 0; t < base.getNumTimes(); t++) {
+                globais[g][t] = times.size();
+                times.add(base.getTime(t));
+                grupoIds.add(grupo.getId());
+            }
+            numPosicoes = Math.max(numPosicoes, base.getNumTimes());
+
+            // Pendentes em pares (t1, t2) de índices da tabela
+            int[] pares = new int[doGrupo.size() * 2];
+            int total = 0;
+            for (Partida partida : doGrupo) {
+                if (contaParaClassificacao(partida)) {
+                    jogadas.add(partida);
+                } else if (partida.getStatus() != StatusPartida.CANCELADA
+                        && partida.getTime1() != null && partida.getTime2() != null) {
+                    int t1 = base.indice(partida.getTime1().getId());
+                    int t2 = base.indice(partida.getTime2().getId());
+                    if (t1 >= 0 && t2 >= 0) {
+                        pares[total++] = t1;
+                        pares[total++] = t2;
+                    }
+                }
+            }
+            pendentes[g] = Arrays.copyOf(pares, total);
+        }
+
+        int[] vitorias = new int[times.size()];
+        int[] jogos = new int[times.size()];
+        for (int g = 0; g < bases.length; g++) {
+            for (int t = 0; t < bases[g].getNumTimes(); t++) {
+                vitorias[globais[g][t]] = bases[g].getVitorias(t);
+                jogos[globais[g][t]] = bases[g].getJogos(t);
             }
         }
+        SimulacaoFase.Sorteio sorteio = SimulacaoFase.Sorteio.de(jogadas, modelo, vitorias, jogos);
+        List<TabelaClassificacao.Criterio> criteriosDaFase = criterios;
 
-        // Ordena por pontos, saldo, gols pró
-        return classificacoes.values().stream()
-                .sorted(Comparator
-                        .comparingInt(ClassificacaoGrupo::getPontos).reversed()
-                        .thenComparingInt(ClassificacaoGrupo::getSaldoGols).reversed()
-                        .thenComparingInt(ClassificacaoGrupo::getGolsPro).reversed())
-                .collect(Collectors.toList());
+        return new SimulacaoFase(times.toArray(new Time[0]), grupoIds.toArray(new Long[0]), numPosicoes,
+                () -> new CenarioGrupos(bases, globais, pendentes, porGrupo, criteriosDaFase, sorteio));
+    }
+
+    // Estado de uma tarefa da simulação: uma cópia de trabalho por grupo
+    private static final class CenarioGrupos implements SimulacaoFase.Cenario {
+
+        private final TabelaClassificacao[] bases;
+        private final TabelaClassificacao[] tabelas;
+        private final int[][] globais;
+        private final int[][] pendentes;
+        private final int porGrupo;
+        private final List<TabelaClassificacao.Criterio> criterios;
+        private final SimulacaoFase.Sorteio sorteio;
+
+        CenarioGrupos(TabelaClassificacao[] bases, int[][] globais, int[][] pendentes, int porGrupo,
+                List<TabelaClassificacao.Criterio> criterios, SimulacaoFase.Sorteio sorteio) {
+            this.bases = bases;
+            this.globais = globais;
+            this.pendentes = pendentes;
+            this.porGrupo = porGrupo;
+            this.criterios = criterios;
+            this.sorteio = sorteio;
+            this.tabelas = new TabelaClassificacao[bases.length];
+            for (int g = 0; g < bases.length; g++) {
+                tabelas[g] = bases[g].copiarParaSimulacao();
+            }
+        }
+
+        @Override
+        public void sortear(SplittableRandom aleatorio, int[] posicoes, boolean[] classificados) {
+            for (int g = 0; g < tabelas.length; g++) {
+                TabelaClassificacao tabela = tabelas[g];
+                int[] global = globais[g];
+                int[] pares = pendentes[g];
+
+                tabela.restaurar(bases[g]);
+                for (int k = 0; k < pares.length; k += 2) {
+                    int sorteado = sorteio.sortear(aleatorio, global[pares[k]], global[pares[k + 1]]);
+                    tabela.registrar(pares[k], pares[k + 1],
+                            SimulacaoFase.Sorteio.placar1(sorteado), SimulacaoFase.Sorteio.placar2(sorteado));
+                }
+
+                int[] ordem = tabela.ordenarSimulacao(criterios);
+                for (int p = 0; p < ordem.length; p++) {
+                    posicoes[global[ordem[p]]] = p;
+                    classificados[global[ordem[p]]] = p < porGrupo;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula a tabela de classificação de um grupo.
+     */
+    public List<ClassificacaoGrupo> calcularTabelaGrupo(Grupo grupo, List<Partida> partidasDoGrupo) {
+        return TabelaClassificacao.dasPartidas(grupo.getTimes(), partidasDoGrupo).ordenar(criterios, confrontoDireto);
+    }
+
+    /**
+     * Ordena as linhas persistidas de um grupo. As partidas só são lidas se o
+     * confronto direto precisar desempatar.
+     */
+    public List<ClassificacaoGrupo> ordenarTabela(Collection<Classificacao> linhas,
+            Supplier<? extends Collection<Partida>> partidasDoGrupo) {
+        return TabelaClassificacao.dasLinhas(linhas, partidasDoGrupo).ordenar(criterios, confrontoDireto);
+    }
+
+    /**
+     * Indica se a partida entra no cálculo da tabela (finalizada ou W.O.).
+     */
+    public static boolean contaParaClassificacao(Partida partida) {
+        return (partida.getStatus() == StatusPartida.FINALIZADA || partida.getStatus() == StatusPartida.WO)
+                && partida.getTime1() != null && partida.getTime2() != null;
     }
 
     @Override
@@ -254,18 +380,25 @@ public class FaseDeGruposStrategy implements GeradorDeConfrontos {
         return numTimes / 8;
     }
 
-    // Classe auxiliar para classificação
+    // Linha da tabela de classificação (montada por TabelaClassificacao)
     public static class ClassificacaoGrupo {
         private final Time time;
-        private int jogos = 0;
-        private int vitorias = 0;
-        private int empates = 0;
-        private int derrotas = 0;
-        private int golsPro = 0;
-        private int golsContra = 0;
-
-        public ClassificacaoGrupo(Time time) {
+        private final int jogos;
+        private final int vitorias;
+        private final int empates;
+        private final int derrotas;
+        private final int golsPro;
+        private final int golsContra;
+
+        public ClassificacaoGrupo(Time time, int jogos, int vitorias, int empates, int derrotas,
+                int golsPro, int golsContra) {
             this.time = time;
+            this.jogos = jogos;
+            this.vitorias = vitorias;
+            this.empates = empates;
+            this.derrotas = derrotas;
+            this.golsPro = golsPro;
+            this.golsContra = golsContra;
         }
 
         public Time getTime() {
@@ -303,29 +436,5 @@ public class FaseDeGruposStrategy implements GeradorDeConfrontos {
         public int getSaldoGols() {
             return golsPro - golsContra;
         }
-
-        public void adicionarJogo() {
-            jogos++;
-        }
-
-        public void adicionarVitoria() {
-            vitorias++;
-        }
-
-        public void adicionarEmpate() {
-            empates++;
-        }
-
-        public void adicionarDerrota() {
-            derrotas++;
-        }
-
-        public void adicionarGolsPro(int gols) {
-            golsPro += gols;
-        }
-
-        public void adicionarGolsContra(int gols) {
-            golsContra += gols;
-        }
     }
 }
@@ -19,100 +19,112 @@ public class LoserBracketStrategy implements GeradorDeConfrontos {
     public static final String LOSERS_BRACKET = "LB";
     public static final String GRAND_FINALS = "GF";
 
+    /**
+     * Gera o chaveamento completo de uma vez: Winners, Losers e Grand Finals.
+     * Só a primeira rodada do Winners nasce com times; as demais partidas ficam
+     * com as vagas em aberto e cada partida aponta para onde vão seu vencedor e
+     * seu perdedor. A lista sai com os destinos antes das origens, para que
+     * sejam salvos primeiro.
+     */
     @Override
     public List<Partida> gerarConfrontos(List<Time> times, Fase fase) {
-        List<Partida> partidas = new ArrayList<>();
         List<Time> timesSorteados = new ArrayList<>(times);
         Collections.shuffle(timesSorteados);
 
-        // Gera primeira rodada do Winners Bracket
-        int rodadaWB = calcularRodadaInicial(times.size());
-
-        for (int i = 0; i < timesSorteados.size(); i += 2) {
-            Partida partida = new Partida();
-            partida.setTime1(timesSorteados.get(i));
-            partida.setTime2(timesSorteados.get(i + 1));
-            partida.setFase(fase);
-            partida.setRodada(rodadaWB);
-            partida.setStatus(StatusPartida.PENDENTE);
-            partida.setIdentificadorBracket(WINNERS_BRACKET + "-R" + rodadaWB + "-" + ((i / 2) + 1));
-            partidas.add(partida);
+        int numTimes = timesSorteados.size();
+        int rodadasWB = calcularRodadaInicial(numTimes);
+        int rodadasLB = 2 * (rodadasWB - 1);
+
+        // Winners: wb.get(0) é a primeira rodada, a última é a final (rodada 1)
+        List<List<Partida>> wb = new ArrayList<>();
+        for (int j = 1; j <= rodadasWB; j++) {
+            int rodada = rodadasWB - j + 1;
+            List<Partida> partidasRodada = new ArrayList<>();
+            for (int m = 1; m <= numTimes >> j; m++) {
+                String identificador = rodada == 1
+                        ? WINNERS_BRACKET + "-FINAL"
+                        : WINNERS_BRACKET + "-R" + rodada + "-" + m;
+                partidasRodada.add(novaPartida(fase, rodada, identificador));
+            }
+            wb.add(partidasRodada);
         }
 
-        return partidas;
-    }
+        // Losers: rodadas ímpares só com quem vem do próprio LB (a 1ª recebe os
+        // perdedores da 1ª rodada do WB), rodadas pares recebem quem cai do WB
+        List<List<Partida>> lb = new ArrayList<>();
+        for (int r = 1; r <= rodadasLB; r++) {
+            List<Partida> partidasRodada = new ArrayList<>();
+            for (int m = 1; m <= numTimes >> ((r + 1) / 2 + 1); m++) {
+                partidasRodada.add(novaPartida(fase, 100 + r, LOSERS_BRACKET + "-R" + r + "-" + m));
+            }
+            lb.add(partidasRodada);
+        }
 
-    /**
-     * Gera próxima rodada do Winners Bracket.
-     */
-    public List<Partida> gerarProximaRodadaWinners(Fase fase, List<Time> vencedores, int rodadaAtual) {
-        List<Partida> partidas = new ArrayList<>();
-        int proximaRodada = rodadaAtual - 1;
-
-        for (int i = 0; i < vencedores.size(); i += 2) {
-            Partida partida = new Partida();
-            partida.setTime1(vencedores.get(i));
-            partida.setTime2(vencedores.get(i + 1));
-            partida.setFase(fase);
-            partida.setRodada(proximaRodada);
-            partida.setStatus(StatusPartida.PENDENTE);
-
-            String identificador = proximaRodada == 1
-                    ? WINNERS_BRACKET + "-FINAL"
-                    : WINNERS_BRACKET + "-R" + proximaRodada + "-" + ((i / 2) + 1);
-            partida.setIdentificadorBracket(identificador);
-            partidas.add(partida);
+        Partida grandFinals = novaPartida(fase, 0, GRAND_FINALS);
+
+        // Primeira rodada do WB
+        List<Partida> primeiraRodada = wb.get(0);
+        for (int m = 0; m < primeiraRodada.size(); m++) {
+            primeiraRodada.get(m).setTime1(timesSorteados.get(2 * m));
+            primeiraRodada.get(m).setTime2(timesSorteados.get(2 * m + 1));
         }
 
-        return partidas;
-    }
+        // Ligações do Winners
+        for (int j = 1; j <= rodadasWB; j++) {
+            List<Partida> partidasRodada = wb.get(j - 1);
+            for (int m = 0; m < partidasRodada.size(); m++) {
+                Partida partida = partidasRodada.get(m);
+
+                if (j < rodadasWB) {
+                    partida.definirVencedorEm(wb.get(j).get(m / 2), m % 2 + 1);
+                } else {
+                    partida.definirVencedorEm(grandFinals, 1); // Vantagem: vem do Winners
+                }
+
+                if (j == 1) {
+                    partida.definirPerdedorEm(lb.get(0).get(m / 2), m % 2 + 1);
+                } else {
+                    // Inverte a ordem em rodadas alternadas para adiar revanches no LB
+                    int destino = (j % 2 == 0) ? partidasRodada.size() - 1 - m : m;
+                    partida.definirPerdedorEm(lb.get(2 * (j - 1) - 1).get(destino), 2);
+                }
+            }
+        }
+
+        // Ligações do Losers
+        for (int r = 1; r <= rodadasLB; r++) {
+            List<Partida> partidasRodada = lb.get(r - 1);
+            for (int m = 0; m < partidasRodada.size(); m++) {
+                Partida partida = partidasRodada.get(m);
+
+                if (r == rodadasLB) {
+                    partida.definirVencedorEm(grandFinals, 2);
+                } else if (r % 2 == 1) {
+                    partida.definirVencedorEm(lb.get(r).get(m), 1);
+                } else {
+                    partida.definirVencedorEm(lb.get(r).get(m / 2), m % 2 + 1);
+                }
+            }
+        }
 
-    /**
-     * Gera partidas do Losers Bracket com os perdedores.
-     */
-    public List<Partida> gerarRodadaLosers(Fase fase, List<Time> timesA, List<Time> timesB, int rodadaLB) {
         List<Partida> partidas = new ArrayList<>();
-        List<Time> pool = new ArrayList<>();
-        if (timesA != null)
-            pool.addAll(timesA);
-        if (timesB != null)
-            pool.addAll(timesB);
-
-        // Se a rodada for "misturada" (Drop do WB + Vencedores do LB), precisamos
-        // garantir que não joguem contra quem já jogaram?
-        // Simplificação: Sorteia
-        // TODO: Melhorar seed para evitar rematches imediatos se possível
-        // Collections.shuffle(pool); // Opcional, geralmente segue chave fixa, mas
-        // simplificado aqui.
-
-        for (int i = 0; i < pool.size(); i += 2) {
-            if (i + 1 >= pool.size())
-                break;
-
-            Partida partida = new Partida();
-            partida.setTime1(pool.get(i));
-            partida.setTime2(pool.get(i + 1));
-            partida.setFase(fase);
-            partida.setRodada(100 + rodadaLB);
-            partida.setStatus(StatusPartida.PENDENTE);
-            partida.setIdentificadorBracket(LOSERS_BRACKET + "-R" + rodadaLB + "-" + ((i / 2) + 1));
-            partidas.add(partida);
+        partidas.add(grandFinals);
+        for (int r = rodadasLB - 1; r >= 0; r--) {
+            partidas.addAll(lb.get(r));
+        }
+        for (int j = rodadasWB - 1; j >= 0; j--) {
+            partidas.addAll(wb.get(j));
         }
         return partidas;
     }
 
-    /**
-     * Gera Grand Finals (vencedor WB vs vencedor LB).
-     */
-    public Partida gerarGrandFinals(Fase fase, Time vencedorWB, Time vencedorLB) {
-        Partida grandFinals = new Partida();
-        grandFinals.setTime1(vencedorWB); // Vantagem: vem do Winners
-        grandFinals.setTime2(vencedorLB);
-        grandFinals.setFase(fase);
-        grandFinals.setRodada(0); // Rodada final
-        grandFinals.setStatus(StatusPartida.PENDENTE);
-        grandFinals.setIdentificadorBracket(GRAND_FINALS);
-        return grandFinals;
+    private Partida novaPartida(Fase fase, int rodada, String identificador) {
+        Partida partida = new Partida();
+        partida.setFase(fase);
+        partida.setRodada(rodada);
+        partida.setStatus(StatusPartida.PENDENTE);
+        partida.setIdentificadorBracket(identificador);
+        return partida;
     }
 
     /**
@@ -179,7 +191,7 @@ public class LoserBracketStrategy implements GeradorDeConfrontos {
 
     @Override
     public int getMaxTimes() {
-        return 32; // Limite prático
+        return 128;
     }
 
     // Auxiliares
@@ -0,0 +1,285 @@
+package oficial.cbpitu.service.strategy;
+
+import java.util.Arrays;
+
+/**
+ * Motor de pareamento do sistema suíço.
+ *
+ * Os times são índices 0..n-1 já ordenados por pontuação (0 = líder) e os
+ * confrontos já realizados ficam numa matriz de bits. O pareamento começa
+ * guloso pela tabela (cada time contra o próximo que ainda não enfrentou) e é
+ * completado com caminhos aumentantes (algoritmo de Edmonds), o que garante
+ * uma rodada sem revanches sempre que ela existir.
+ *
+ * Com número ímpar, uma busca com um vértice extra (a folga, ligado a quem ainda
+ * não folgou) diz numa passada só se existe rodada sem revanches e acha um time
+ * de folga viável.
+ */
+final class PareamentoSuico {
+
+    private final int n;
+    private final int palavras;
+    private final long[] confrontos;
+
+    // Time em cada posição da tabela (simulação); null = os índices já são posições
+    private int[] times;
+
+    // Vértices da busca atual: n, ou n + 1 com o vértice da folga (índice n)
+    private int vertices;
+    private boolean[] teveByeAtual;
+
+    // Rodada devolvida por parearNoLugar (par sem o vértice da folga)
+    private final int[] rodada;
+
+    // Estado do algoritmo de Edmonds, reaproveitado entre as buscas
+    private final int[] par;
+    private final int[] pai;
+    private final int[] base;
+    private final int[] fila;
+    private final boolean[] usado;
+    private final boolean[] blossom;
+    private final boolean[] marcaLca;
+
+    PareamentoSuico(int n) {
+        this.n = n;
+        this.palavras = (n + 63) >>> 6;
+        this.confrontos = new long[n * palavras];
+        this.rodada = new int[n];
+        this.par = new int[n + 1];
+        this.pai = new int[n + 1];
+        this.base = new int[n + 1];
+        this.fila = new int[n + 1];
+        this.usado = new boolean[n + 1];
+        this.blossom = new boolean[n + 1];
+        this.marcaLca = new boolean[n + 1];
+    }
+
+    void registrarConfronto(int a, int b) {
+        confrontos[a * palavras + (b >>> 6)] |= 1L << b;
+        confrontos[b * palavras + (a >>> 6)] |= 1L << a;
+    }
+
+    boolean jaSeEnfrentaram(int a, int b) {
+        if (times != null) {
+            a = times[a];
+            b = times[b];
+        }
+        return (confrontos[a * palavras + (b >>> 6)] & (1L << b)) != 0;
+    }
+
+    /**
+     * Pareia a rodada. Retorna par[i] = adversário de i, ou -1 para o time de folga (bye).
+     * Com número ímpar, a folga vai para o pior colocado que ainda não folgou e cuja
+     * saída permite uma rodada sem revanches. Se nenhuma rodada sem revanches existir,
+     * a folga vai para o pior colocado que ainda não folgou e os times que sobrarem
+     * são pareados entre si pela ordem da tabela.
+     */
+    int[] parearRodada(boolean[] teveBye) {
+        return parearNoLugar(teveBye).clone();
+    }
+
+    /**
+     * Como parearRodada, devolvendo o array interno (reaproveitado na próxima chamada).
+     */
+    int[] parearNoLugar(boolean[] teveBye) {
+        int bye = (n % 2 == 1) ? escolherBye(teveBye) : -1;
+
+        vertices = n;
+        parear(bye);
+        completarComRevanches(bye);
+
+        System.arraycopy(par, 0, rodada, 0, n);
+        return rodada;
+    }
+
+    // Simulação (ver SistemaSuicoStrategy.prepararSimulacao)
+
+    /**
+     * Confrontos registrados por time; as posições da rodada viram times por {@code ordem[posição]}.
+     * O array é lido a cada pareamento, então basta reordená-lo entre as rodadas.
+     */
+    void usarOrdem(int[] ordem) {
+        this.times = ordem;
+    }
+
+    void copiarConfrontosDe(PareamentoSuico outro) {
+        System.arraycopy(outro.confrontos, 0, confrontos, 0, confrontos.length);
+    }
+
+    /**
+     * Folga para o pior colocado que ainda não folgou e cuja saída permite uma rodada
+     * sem revanches. O vértice da folga dá um candidato viável (ou mostra que não há
+     * nenhum); só os candidatos abaixo dele na tabela precisam ser testados um a um.
+     */
+    private int escolherBye(boolean[] teveBye) {
+        teveByeAtual = teveBye;
+        vertices = n + 1;
+        int viavel = parear(-1) == 0 ? par[n] : -1;
+        vertices = n;
+
+        if (viavel != -1) {
+            for (int candidato = n - 1; candidato > viavel; candidato--) {
+                if (!teveBye[candidato] && parear(candidato) == 0)
+                    return candidato;
+            }
+            return viavel;
+        }
+
+        // Nenhuma rodada sem revanches: folga do pior colocado que ainda não folgou
+        for (int candidato = n - 1; candidato >= 0; candidato--) {
+            if (!teveBye[candidato])
+                return candidato;
+        }
+        return n - 1;
+    }
+
+    // Se a e b podem se enfrentar nesta busca (com o vértice da folga, quem ainda não folgou)
+    private boolean compativeis(int a, int b) {
+        if (a == n)
+            return !teveByeAtual[b];
+        if (b == n)
+            return !teveByeAtual[a];
+        return !jaSeEnfrentaram(a, b);
+    }
+
+    /**
+     * Calcula um emparelhamento máximo sem revanches, ignorando o índice informado.
+     * Retorna quantos times ficaram sem adversário.
+     */
+    private int parear(int ignorar) {
+        Arrays.fill(par, -1);
+
+        // Semente gulosa pela ordem da tabela
+        for (int i = 0; i < vertices; i++) {
+            if (i == ignorar || par[i] != -1)
+                continue;
+            for (int j = i + 1; j < vertices; j++) {
+                if (j != ignorar && par[j] == -1 && compativeis(i, j)) {
+                    par[i] = j;
+                    par[j] = i;
+                    break;
+                }
+            }
+        }
+
+        // Completa com caminhos aumentantes
+        int sobras = 0;
+        for (int raiz = 0; raiz < vertices; raiz++) {
+            if (raiz == ignorar || par[raiz] != -1)
+                continue;
+
+            int v = buscarCaminhoAumentante(raiz, ignorar);
+            if (v == -1) {
+                sobras++;
+                continue;
+            }
+
+            while (v != -1) {
+                int pv = pai[v];
+                int ppv = par[pv];
+                par[v] = pv;
+                par[pv] = v;
+                v = ppv;
+            }
+        }
+
+        return sobras;
+    }
+
+    private int buscarCaminhoAumentante(int raiz, int ignorar) {
+        Arrays.fill(usado, false);
+        Arrays.fill(pai, -1);
+        for (int i = 0; i < vertices; i++) {
+            base[i] = i;
+        }
+
+        usado[raiz] = true;
+        int inicio = 0;
+        int fim = 0;
+        fila[fim++] = raiz;
+
+        while (inicio < fim) {
+            int v = fila[inicio++];
+
+            for (int to = 0; to < vertices; to++) {
+                if (to == v || to == ignorar || !compativeis(v, to))
+                    continue;
+                if (base[v] == base[to] || par[v] == to)
+                    continue;
+
+                if (to == raiz || (par[to] != -1 && pai[par[to]] != -1)) {
+                    // Ciclo ímpar: contrai o blossom
+                    int baseAtual = lca(v, to);
+                    Arrays.fill(blossom, false);
+                    marcarCaminho(v, baseAtual, to);
+                    marcarCaminho(to, baseAtual, v);
+
+                    for (int i = 0; i < vertices; i++) {
+                        if (blossom[base[i]]) {
+                            base[i] = baseAtual;
+                            if (!usado[i]) {
+                                usado[i] = true;
+                                fila[fim++] = i;
+                            }
+                        }
+                    }
+                } else if (pai[to] == -1) {
+                    pai[to] = v;
+                    if (par[to] == -1)
+                        return to;
+
+                    int proximo = par[to];
+                    usado[proximo] = true;
+                    fila[fim++] = proximo;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    private int lca(int a, int b) {
+        Arrays.fill(marcaLca, false);
+
+        while (true) {
+            a = base[a];
+            marcaLca[a] = true;
+            if (par[a] == -1)
+                break;
+            a = pai[par[a]];
+        }
+
+        while (true) {
+            b = base[b];
+            if (marcaLca[b])
+                return b;
+            b = pai[par[b]];
+        }
+    }
+
+    private void marcarCaminho(int v, int b, int filho) {
+        while (base[v] != b) {
+            blossom[base[v]] = true;
+            blossom[base[par[v]]] = true;
+            pai[v] = filho;
+            filho = par[v];
+            v = pai[par[v]];
+        }
+    }
+
+    private void completarComRevanches(int bye) {
+        int pendente = -1;
+        for (int i = 0; i < n; i++) {
+            if (i == bye || par[i] != -1)
+                continue;
+
+            if (pendente == -1) {
+                pendente = i;
+            } else {
+                par[pendente] = i;
+                par[i] = pendente;
+                pendente = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package oficial.cbpitu.service.strategy;
+
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.Time;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Simulação de Monte Carlo do que falta de uma fase. Cada cenário sorteia as
+ * partidas restantes e aplica as regras de classificação da própria strategy
+ * (tabela e desempates dos grupos, pareamento e pontuação do suíço).
+ *
+ * Os cenários rodam num ForkJoinPool: cada tarefa folha cria o seu estado (cópias
+ * das tabelas, buffers) uma vez e o reaproveita em todos os sorteios, sem alocar
+ * por cenário. O gerador é dividido (SplittableRandom.split) junto com as tarefas,
+ * então a mesma semente dá o mesmo resultado, qualquer que seja o paralelismo.
+ */
+public final class SimulacaoFase {
+
+    /**
+     * UNIFORME: cada lado vence com a mesma chance. RATING: chance proporcional ao
+     * aproveitamento de vitórias de cada time na fase ((vitórias + 1) / (jogos + 2)).
+     * Empates e placares seguem a distribuição observada nas partidas já jogadas da fase.
+     */
+    public enum Modelo {
+        UNIFORME, RATING
+    }
+
+    /**
+     * Contagens da simulação: {@code posicoes[t][p]} cenários em que o time t terminou
+     * na posição p (0 = primeiro) e {@code classificacoes[t]} em que ele avançou.
+     */
+    public record Resultado(int simulacoes, long[][] posicoes, long[] classificacoes) {
+    }
+
+    /**
+     * Estado de uma tarefa: sorteia o restante da fase e preenche, por time, a
+     * posição final (0 = primeiro) e se ele avançou.
+     */
+    interface Cenario {
+        void sortear(SplittableRandom aleatorio, int[] posicoes, boolean[] classificados);
+    }
+
+    // Tamanho da tarefa folha: abaixo disso não compensa dividir
+    private static final int SIMULACOES_POR_TAREFA = 20_000;
+
+    private final Time[] times;
+    private final Long[] grupoIds;
+    private final int numPosicoes;
+    private final Supplier<Cenario> cenarios;
+
+    SimulacaoFase(Time[] times, Long[] grupoIds, int numPosicoes, Supplier<Cenario> cenarios) {
+        this.times = times;
+        this.grupoIds = grupoIds;
+        this.numPosicoes = numPosicoes;
+        this.cenarios = cenarios;
+    }
+
+    /**
+     * Times na ordem dos índices do resultado.
+     */
+    public Time[] getTimes() {
+        return times;
+    }
+
+    /**
+     * Grupo de cada time (null fora de fase de grupos); a posição é dentro do grupo.
+     */
+    public Long[] getGrupoIds() {
+        return grupoIds;
+    }
+
+    public int getNumPosicoes() {
+        return numPosicoes;
+    }
+
+    public Resultado executar(int simulacoes, ForkJoinPool pool, long semente) {
+        long[] contagem = pool.invoke(new Tarefa(simulacoes, new SplittableRandom(semente)));
+
+        int numTimes = times.length;
+        int colunas = numPosicoes + 1;
+        long[][] posicoes = new long[numTimes][numPosicoes];
+        long[] classificacoes = new long[numTimes];
+        for (int t = 0; t < numTimes; t++) {
+            System.arraycopy(contagem, t * colunas, posicoes[t], 0, numPosicoes);
+            classificacoes[t] = contagem[t * colunas + numPosicoes];
+        }
+        return new Resultado(simulacoes, posicoes, classificacoes);
+    }
+
+    // Contagens por time em [t * (numPosicoes + 1)]: as posições e, na última coluna, as classificações
+    private final class Tarefa extends RecursiveTask<long[]> {
+
+        private final int simulacoes;
+        private final SplittableRandom aleatorio;
+
+        Tarefa(int simulacoes, SplittableRandom aleatorio) {
+            this.simulacoes = simulacoes;
+            this.aleatorio = aleatorio;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (simulacoes <= SIMULACOES_POR_TAREFA) {
+                return simular();
+            }
+
+            int metade = simulacoes / 2;
+            Tarefa esquerda = new Tarefa(metade, aleatorio.split());
+            Tarefa direita = new Tarefa(simulacoes - metade, aleatorio.split());
+            esquerda.fork();
+            long[] contagem = direita.compute();
+            long[] outra = esquerda.join();
+            for (int i = 0; i < contagem.length; i++) {
+                contagem[i] += outra[i];
+            }
+            return contagem;
+        }
+
+        private long[] simular() {
+            int numTimes = times.length;
+            int colunas = numPosicoes + 1;
+            long[] contagem = new long[numTimes * colunas];
+
+            Cenario cenario = cenarios.get();
+            int[] posicoes = new int[numTimes];
+            boolean[] classificados = new boolean[numTimes];
+
+            for (int s = 0; s < simulacoes; s++) {
+                cenario.sortear(aleatorio, posicoes, classificados);
+                for (int t = 0; t < numTimes; t++) {
+                    contagem[t * colunas + posicoes[t]]++;
+                    if (classificados[t]) {
+                        contagem[t * colunas + numPosicoes]++;
+                    }
+                }
+            }
+            return contagem;
+        }
+    }
+
+    // Sorteio de partidas
+
+    /**
+     * Placares possíveis, tirados das partidas já jogadas da fase (vencedor primeiro),
+     * e a força de cada time no modelo RATING.
+     */
+    static final class Sorteio {
+
+        private final int[] placarVencedor;
+        private final int[] placarPerdedor;
+        private final double[] forca;
+
+        private Sorteio(int[] placarVencedor, int[] placarPerdedor, double[] forca) {
+            this.placarVencedor = placarVencedor;
+            this.placarPerdedor = placarPerdedor;
+            this.forca = forca;
+        }
+
+        /**
+         * {@code vitorias[t]} e {@code jogos[t]} só são usados no modelo RATING.
+         */
+        static Sorteio de(List<Partida> jogadas, Modelo modelo, int[] vitorias, int[] jogos) {
+            int total = 0;
+            int[] vencedor = new int[Math.max(jogadas.size(), 1)];
+            int[] perdedor = new int[vencedor.length];
+            for (Partida partida : jogadas) {
+                int p1 = partida.getPlacarTime1() != null ? partida.getPlacarTime1() : 0;
+                int p2 = partida.getPlacarTime2() != null ? partida.getPlacarTime2() : 0;
+                vencedor[total] = Math.max(p1, p2);
+                perdedor[total] = Math.min(p1, p2);
+                total++;
+            }
+            if (total == 0) {
+                // Nada jogado ainda: vitória simples, sem empates
+                vencedor[0] = 1;
+                perdedor[0] = 0;
+                total = 1;
+            }
+
+            double[] forca = null;
+            if (modelo == Modelo.RATING) {
+                forca = new double[vitorias.length];
+                for (int t = 0; t < forca.length; t++) {
+                    forca[t] = (vitorias[t] + 1.0) / (jogos[t] + 2.0);
+                }
+            }
+            return new Sorteio(Arrays.copyOf(vencedor, total), Arrays.copyOf(perdedor, total), forca);
+        }
+
+        /**
+         * Sorteia t1 x t2 (índices globais). Retorna (placar1 << 16) | placar2.
+         */
+        int sortear(SplittableRandom aleatorio, int t1, int t2) {
+            int i = aleatorio.nextInt(placarVencedor.length);
+            int maior = placarVencedor[i];
+            int menor = placarPerdedor[i];
+            if (maior == menor) {
+                return (maior << 16) | menor;
+            }
+
+            double chanceT1 = forca == null ? 0.5 : forca[t1] / (forca[t1] + forca[t2]);
+            return aleatorio.nextDouble() < chanceT1 ? (maior << 16) | menor : (menor << 16) | maior;
+        }
+
+        static int placar1(int sorteado) {
+            return sorteado >>> 16;
+        }
+
+        static int placar2(int sorteado) {
+            return sorteado & 0xFFFF;
+        }
+    }
+}
@@ -73,33 +73,50 @@ public class SistemaSuicoStrategy implements GeradorDeConfrontos {
             timeCache.put(t.getId(), t);
         }
 
-        // 3. Verifica confrontos já realizados (Set de "ID1-ID2")
-        Set<String> confrontosJaRealizados = getConfrontosRealizados(todasPartidas);
-
-        // 4. Lista base de times (IDs)
+        // 3. Lista base de times (IDs)
         // Adiciona todos os participantes ao mapa de pontuação se não existirem
         for (Long timeId : timeCache.keySet()) {
             pontuacoes.putIfAbsent(timeId, 0);
         }
 
-        // 5. Ordena times por pontuação
+        // 4. Ordena times por pontuação (desempate por ID para ser determinístico)
         List<Long> timesOrdenados = pontuacoes.entrySet().stream()
-                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()) // Pontuação desc
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
 
-        Set<Long> timesJaPareados = new HashSet<>();
-        int proximaRodada = rodadaAtual + 1;
+        Map<Long, Integer> indice = new HashMap<>();
+        for (int i = 0; i < timesOrdenados.size(); i++) {
+            indice.put(timesOrdenados.get(i), i);
+        }
 
-        for (Long timeId : timesOrdenados) {
-            if (timesJaPareados.contains(timeId))
+        // 5. Confrontos já realizados e folgas anteriores, por posição na tabela
+        PareamentoSuico pareamento = new PareamentoSuico(timesOrdenados.size());
+        boolean[] teveBye = new boolean[timesOrdenados.size()];
+        for (Partida partida : todasPartidas) {
+            Integer i1 = indice.get(partida.getTime1().getId());
+            if (i1 == null)
                 continue;
+            if (partida.getTime2() == null) {
+                teveBye[i1] = true;
+                continue;
+            }
+            Integer i2 = indice.get(partida.getTime2().getId());
+            if (i2 != null)
+                pareamento.registrarConfronto(i1, i2);
+        }
+
+        // 6. Pareia a rodada inteira de uma vez
+        int[] par = pareamento.parearRodada(teveBye);
+        int proximaRodada = rodadaAtual + 1;
+
+        for (int i = 0; i < par.length; i++) {
+            Long timeId = timesOrdenados.get(i);
 
-            // Procura adversário
-            Long adversarioId = encontrarAdversario(timeId, timesOrdenados, pontuacoes,
-                    confrontosJaRealizados, timesJaPareados);
+            if (par[i] > i) {
+                Long adversarioId = timesOrdenados.get(par[i]);
 
-            if (adversarioId != null) {
                 Partida partida = new Partida();
                 partida.setTime1(timeCache.get(timeId));
                 partida.setTime2(timeCache.get(adversarioId));
@@ -110,22 +127,8 @@ public class SistemaSuicoStrategy implements GeradorDeConfrontos {
                 novasPartidas.add(partida);
 
                 System.out.println("Gerada partida Suico: " + timeId + " vs " + adversarioId);
-
-                timesJaPareados.add(timeId);
-                timesJaPareados.add(adversarioId);
-                confrontosJaRealizados.add(gerarChaveConfronto(timeId, adversarioId));
-            } else {
-                // BYE (Folga)
-                // Se sobrou um time sem adversário válido (ex: ímpar ou incompatibilidade
-                // total)
-                // Na regra suíça, ele recebe um "Bye".
-                // Geramos uma partida finalizada com vitória para ele.
-                // Mas para não quebrar fluxo, vamos deixar pendente com Time2 null ou tratar
-                // como vitória auto.
-                // Simplificação: Partida Pendente com Time2 = null (Frontend deve tratar) ou
-                // Finalizada.
-                // Vou criar como Finalizada para ele ganhar os pontos.
-
+            } else if (par[i] == -1) {
+                // BYE (Folga): partida finalizada com vitória para o time que sobrou
                 System.out.println("Gerando BYE para time: " + timeId);
                 Partida bye = new Partida();
                 bye.setTime1(timeCache.get(timeId));
@@ -138,8 +141,6 @@ public class SistemaSuicoStrategy implements GeradorDeConfrontos {
                 bye.setVencedor(timeCache.get(timeId)); // Define vencedor
                 bye.setIdentificadorBracket("S-R" + proximaRodada + "-BYE");
                 novasPartidas.add(bye);
-
-                timesJaPareados.add(timeId);
             }
         }
 
@@ -147,21 +148,6 @@ public class SistemaSuicoStrategy implements GeradorDeConfrontos {
         return novasPartidas;
     }
 
-    private Long encontrarAdversario(Long timeId, List<Long> timesOrdenados,
-            Map<Long, Integer> pontuacoes, Set<String> confrontosRealizados,
-            Set<Long> timesJaPareados) {
-
-        int pontuacaoTime = pontuacoes.getOrDefault(timeId, 0);
-
-        // Prioriza times com pontuação similar
-        return timesOrdenados.stream()
-                .filter(tId -> !tId.equals(timeId))
-                .filter(tId -> !timesJaPareados.contains(tId))
-                .filter(tId -> !confrontosRealizados.contains(gerarChaveConfronto(timeId, tId)))
-                .min(Comparator.comparingInt(tId -> Math.abs(pontuacoes.getOrDefault(tId, 0) - pontuacaoTime)))
-                .orElse(null);
-    }
-
     private Map<Long, Integer> calcularPontuacoes(List<Partida> partidas) {
         Map<Long, Integer> pontuacoes = new HashMap<>();
 
@@ -191,29 +177,6 @@ public class SistemaSuicoStrategy implements GeradorDeConfrontos {
         return pontuacoes;
     }
 
-    private Set<String> getConfrontosRealizados(List<Partida> partidas) {
-        Set<String> confrontos = new HashSet<>();
-        for (Partida partida : partidas) {
-            String chave = gerarChaveConfronto(partida.getTime1().getId(),
-                    partida.getTime2() != null ? partida.getTime2().getId() : -1L);
-            confrontos.add(chave);
-        }
-        return confrontos;
-    }
-
-    // Método auxiliar para chave com IDs
-    private String gerarChaveConfronto(Long id1, Long id2) {
-        if (id1 == null || id2 == null || id2 == -1L)
-            return "BYE"; // -1L para indicar bye
-        return id1 < id2 ? id1 + "-" + id2 : id2 + "-" + id1;
-    }
-
-    private String gerarChaveConfronto(Time t1, Time t2) {
-        long id1 = t1.getId();
-        long id2 = t2.getId();
-        return id1 < id2 ? id1 + "-" + id2 : id2 + "-" + id1;
-    }
-
     @Override
     public List<Time> calcularClassificados(Fase fase) {
         // Usa a lista de partidas da fase (pode vir lazy, mas dentro de transação
@@ -227,9 +190,7 @@ public class SistemaSuicoStrategy implements GeradorDeConfrontos {
         Map<Long, Time> timeMap = new HashMap<>();
         fase.getCampeonato().getTimesParticipantes().forEach(t -> timeMap.put(t.getId(), t));
 
-        int classificados = fase.getClassificadosNecessarios() != null
-                ? fase.getClassificadosNecessarios()
-                : pontuacoesId.size() / 2;
+        int classificados = calcularQuantidadeClassificados(fase, pontuacoesId.size());
 
         return pontuacoesId.entrySet().stream()
                 .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
@@ -239,6 +200,195 @@ public class SistemaSuicoStrategy implements GeradorDeConfrontos {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Vagas da fase: as configuradas ou, sem configuração, metade dos times pontuados.
+     */
+    public int calcularQuantidadeClassificados(Fase fase, int timesPontuados) {
+        return fase.getClassificadosNecessarios() != null
+                ? fase.getClassificadosNecessarios()
+                : timesPontuados / 2;
+    }
+
+    /**
+     * Total de rodadas da fase. Se o configurado for muito baixo (ex: 1) ou nulo,
+     * usa min(times - 1, RODADAS_PADRAO).
+     */
+    public int calcularRodadasTotais(Fase fase, int qtdTimes) {
+        int calculado = Math.min(qtdTimes - 1, RODADAS_PADRAO);
+        int configurado = (fase.getRodadasTotais() != null) ? fase.getRodadasTotais() : 0;
+        return (configurado > 1) ? configurado : calculado;
+    }
+
+    /**
+     * Prepara a simulação do que falta da fase: sorteia as partidas pendentes da
+     * rodada atual e joga as rodadas seguintes com o mesmo pareamento de
+     * gerarProximaRodada (pontos, desempate por ID, sem repetir confronto, folga
+     * valendo vitória). A classificação final é por pontos, como calcularClassificados.
+     */
+    public SimulacaoFase prepararSimulacao(Fase fase, List<Partida> partidasDaFase, SimulacaoFase.Modelo modelo) {
+        // Índices em ordem de ID, o desempate do pareamento
+        Time[] times = fase.getCampeonato().getTimesParticipantes().toArray(new Time[0]);
+        Arrays.sort(times, Comparator.comparing(Time::getId));
+        int n = times.length;
+        Map<Long, Integer> indice = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            indice.put(times[i].getId(), i);
+        }
+
+        Map<Long, Integer> pontuacoes = calcularPontuacoes(partidasDaFase);
+        int[] pontos = new int[n];
+        for (int i = 0; i < n; i++) {
+            pontos[i] = pontuacoes.getOrDefault(times[i].getId(), 0);
+        }
+
+        PareamentoSuico confrontos = new PareamentoSuico(n);
+        boolean[] teveBye = new boolean[n];
+        int[] vitorias = new int[n];
+        int[] jogos = new int[n];
+        List<Partida> jogadas = new ArrayList<>();
+        int[] pares = new int[partidasDaFase.size() * 2];
+        int totalPendentes = 0;
+        int rodadaAtual = 0;
+
+        for (Partida partida : partidasDaFase) {
+            if (partida.getRodada() != null) {
+                rodadaAtual = Math.max(rodadaAtual, partida.getRodada());
+            }
+            Integer t1 = partida.getTime1() != null ? indice.get(partida.getTime1().getId()) : null;
+            if (t1 == null)
+                continue;
+            if (partida.getTime2() == null) {
+                teveBye[t1] = true;
+                continue;
+            }
+            Integer t2 = indice.get(partida.getTime2().getId());
+            if (t2 == null)
+                continue;
+
+            confrontos.registrarConfronto(t1, t2);
+            if (partida.isFinalizada()) {
+                jogadas.add(partida);
+                jogos[t1]++;
+                jogos[t2]++;
+                if (partida.getVencedor() != null) {
+                    vitorias[partida.getVencedor().getId().equals(times[t1].getId()) ? t1 : t2]++;
+                }
+            } else if (partida.getStatus() != StatusPartida.WO && partida.getStatus() != StatusPartida.CANCELADA) {
+                pares[totalPendentes++] = t1;
+                pares[totalPendentes++] = t2;
+            }
+        }
+
+        int[] pendentes = Arrays.copyOf(pares, totalPendentes);
+        int rodadasRestantes = Math.max(calcularRodadasTotais(fase, n) - rodadaAtual, 0);
+        int vagas = calcularQuantidadeClassificados(fase, n);
+        SimulacaoFase.Sorteio sorteio = SimulacaoFase.Sorteio.de(jogadas, modelo, vitorias, jogos);
+
+        return new SimulacaoFase(times, new Long[n], n,
+                () -> new CenarioSuico(pontos, confrontos, teveBye, pendentes, rodadasRestantes, vagas, sorteio));
+    }
+
+    // Estado de uma tarefa da simulação; os índices são os dos times (ordem de ID)
+    private static final class CenarioSuico implements SimulacaoFase.Cenario {
+
+        private final int[] pontosBase;
+        private final PareamentoSuico confrontosBase;
+        private final boolean[] teveByeBase;
+        private final int[] pendentes;
+        private final int rodadasRestantes;
+        private final int vagas;
+        private final SimulacaoFase.Sorteio sorteio;
+
+        private final int[] pontos;
+        private final boolean[] teveBye;
+        private final PareamentoSuico pareamento;
+        private final int[] ordem;
+        private final boolean[] byePorPosicao;
+
+        CenarioSuico(int[] pontos, PareamentoSuico confrontos, boolean[] teveBye, int[] pendentes,
+                int rodadasRestantes, int vagas, SimulacaoFase.Sorteio sorteio) {
+            int n = pontos.length;
+            this.pontosBase = pontos;
+            this.confrontosBase = confrontos;
+            this.teveByeBase = teveBye;
+            this.pendentes = pendentes;
+            this.rodadasRestantes = rodadasRestantes;
+            this.vagas = vagas;
+            this.sorteio = sorteio;
+            this.pontos = new int[n];
+            this.teveBye = new boolean[n];
+            this.pareamento = new PareamentoSuico(n);
+            this.ordem = new int[n];
+            this.byePorPosicao = new boolean[n];
+            pareamento.usarOrdem(ordem);
+        }
+
+        @Override
+        public void sortear(SplittableRandom aleatorio, int[] posicoes, boolean[] classificados) {
+            int n = pontos.length;
+            System.arraycopy(pontosBase, 0, pontos, 0, n);
+            System.arraycopy(teveByeBase, 0, teveBye, 0, n);
+            pareamento.copiarConfrontosDe(confrontosBase);
+            for (int i = 0; i < n; i++) {
+                ordem[i] = i;
+            }
+
+            for (int k = 0; k < pendentes.length; k += 2) {
+                jogar(aleatorio, pendentes[k], pendentes[k + 1]);
+            }
+
+            for (int r = 0; r < rodadasRestantes; r++) {
+                ordenar();
+                for (int i = 0; i < n; i++) {
+                    byePorPosicao[i] = teveBye[ordem[i]];
+                }
+                int[] par = pareamento.parearNoLugar(byePorPosicao);
+                for (int i = 0; i < n; i++) {
+                    if (par[i] > i) {
+                        pareamento.registrarConfronto(ordem[i], ordem[par[i]]);
+                        jogar(aleatorio, ordem[i], ordem[par[i]]);
+                    } else if (par[i] == -1) {
+                        pontos[ordem[i]] += 3;
+                        teveBye[ordem[i]] = true;
+                    }
+                }
+            }
+
+            ordenar();
+            for (int p = 0; p < n; p++) {
+                posicoes[ordem[p]] = p;
+                classificados[ordem[p]] = p < vagas;
+            }
+        }
+
+        private void jogar(SplittableRandom aleatorio, int t1, int t2) {
+            int sorteado = sorteio.sortear(aleatorio, t1, t2);
+            int placar1 = SimulacaoFase.Sorteio.placar1(sorteado);
+            int placar2 = SimulacaoFase.Sorteio.placar2(sorteado);
+            if (placar1 > placar2) {
+                pontos[t1] += 3;
+            } else if (placar2 > placar1) {
+                pontos[t2] += 3;
+            } else {
+                pontos[t1]++;
+                pontos[t2]++;
+            }
+        }
+
+        // Pontos decrescentes, desempate pelo índice (ID); inserção sobre a ordem anterior, quase pronta
+        private void ordenar() {
+            for (int i = 1; i < ordem.length; i++) {
+                int t = ordem[i];
+                int j = i - 1;
+                while (j >= 0 && (pontos[ordem[j]] < pontos[t] || (pontos[ordem[j]] == pontos[t] && ordem[j] > t))) {
+                    ordem[j + 1] = ordem[j];
+                    j--;
+                }
+                ordem[j + 1] = t;
+            }
+        }
+    }
+
     @Override
     public boolean validarNumeroTimes(int quantidade) {
         return quantidade >= 4;
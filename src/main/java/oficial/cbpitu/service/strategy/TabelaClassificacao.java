@@ -0,0 +1,379 @@
+package oficial.cbpitu.service.strategy;
+
+import oficial.cbpitu.model.Classificacao;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.Time;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Tabela de classificação de um grupo em colunas {@code int[]}. Cada time vira um
+ * índice denso (a posição do seu ID em ordem crescente), então acumular uma partida
+ * é só somar nas colunas, sem mapa nem objeto por time.
+ *
+ * A ordenação refina blocos de empatados critério a critério: cada critério só
+ * reordena, dentro do bloco, quem empatou em todos os anteriores. O confronto
+ * direto é a minitabela entre os times do bloco (ver ConfrontoDireto); as partidas
+ * só são lidas se algum bloco chegar empatado nesse critério.
+ */
+public final class TabelaClassificacao {
+
+    public enum Criterio {
+        PONTOS, SALDO_GOLS, GOLS_PRO, CONFRONTO_DIRETO
+    }
+
+    public static final List<Criterio> CRITERIOS_PADRAO = List.of(
+            Criterio.PONTOS, Criterio.SALDO_GOLS, Criterio.GOLS_PRO, Criterio.CONFRONTO_DIRETO);
+
+    private final int numTimes;
+    private final long[] ids;
+    private final Time[] times;
+
+    private final int[] jogos;
+    private final int[] vitorias;
+    private final int[] empates;
+    private final int[] derrotas;
+    private final int[] golsPro;
+    private final int[] golsContra;
+
+    // Pontos e gols de cada time contra cada outro ([a * numTimes + b]), montados na primeira vez que precisar
+    private Supplier<? extends Collection<Partida>> fontePartidas;
+    private int[] pontosConfronto;
+    private int[] golsConfronto;
+
+    // Buffers de ordenação das cópias de simulação
+    private int[] ordemSimulacao;
+    private boolean[] blocosSimulacao;
+    private int[] chaveSimulacao;
+
+    private TabelaClassificacao(Time[] timesPorId) {
+        this.numTimes = timesPorId.length;
+        this.times = timesPorId;
+        this.ids = new long[numTimes];
+        for (int i = 0; i < numTimes; i++) {
+            ids[i] = timesPorId[i].getId();
+        }
+        this.jogos = new int[numTimes];
+        this.vitorias = new int[numTimes];
+        this.empates = new int[numTimes];
+        this.derrotas = new int[numTimes];
+        this.golsPro = new int[numTimes];
+        this.golsContra = new int[numTimes];
+    }
+
+    /**
+     * Tabela calculada das partidas (só contam as finalizadas e W.O.).
+     */
+    public static TabelaClassificacao dasPartidas(Collection<Time> times, Collection<Partida> partidas) {
+        Time[] porId = times.toArray(new Time[0]);
+        Arrays.sort(porId, Comparator.comparing(Time::getId));
+
+        TabelaClassificacao tabela = new TabelaClassificacao(porId);
+        for (Partida partida : partidas) {
+            if (!FaseDeGruposStrategy.contaParaClassificacao(partida)) {
+                continue;
+            }
+            int t1 = tabela.indice(partida.getTime1().getId());
+            int t2 = tabela.indice(partida.getTime2().getId());
+            if (t1 < 0 || t2 < 0) {
+                continue;
+            }
+            tabela.somar(t1, partida.getPlacarTime1(), partida.getPlacarTime2());
+            tabela.somar(t2, partida.getPlacarTime2(), partida.getPlacarTime1());
+        }
+        tabela.fontePartidas = () -> partidas;
+        return tabela;
+    }
+
+    /**
+     * Tabela a partir das linhas persistidas. As partidas do grupo só são pedidas
+     * se o confronto direto for usado.
+     */
+    public static TabelaClassificacao dasLinhas(Collection<Classificacao> linhas,
+            Supplier<? extends Collection<Partida>> partidas) {
+        Classificacao[] porId = linhas.toArray(new Classificacao[0]);
+        Arrays.sort(porId, Comparator.comparing(linha -> linha.getTime().getId()));
+
+        Time[] times = new Time[porId.length];
+        for (int i = 0; i < porId.length; i++) {
+            times[i] = porId[i].getTime();
+        }
+
+        TabelaClassificacao tabela = new TabelaClassificacao(times);
+        for (int i = 0; i < porId.length; i++) {
+            tabela.jogos[i] = porId[i].getJogos();
+            tabela.vitorias[i] = porId[i].getVitorias();
+            tabela.empates[i] = porId[i].getEmpates();
+            tabela.derrotas[i] = porId[i].getDerrotas();
+            tabela.golsPro[i] = porId[i].getGolsPro();
+            tabela.golsContra[i] = porId[i].getGolsContra();
+        }
+        tabela.fontePartidas = partidas;
+        return tabela;
+    }
+
+    /**
+     * Linhas na ordem dos critérios. Quem empata em todos fica na ordem do ID do time.
+     */
+    public List<ClassificacaoGrupo> ordenar(List<Criterio> criterios, ConfrontoDireto confrontoDireto) {
+        int[] ordem = ordenarIndices(criterios, confrontoDireto);
+
+        List<ClassificacaoGrupo> linhas = new ArrayList<>(numTimes);
+        for (int t : ordem) {
+            linhas.add(new ClassificacaoGrupo(times[t], jogos[t], vitorias[t], empates[t], derrotas[t],
+                    golsPro[t], golsContra[t]));
+        }
+        return linhas;
+    }
+
+    /**
+     * Índices dos times na ordem da tabela.
+     */
+    public int[] ordenarIndices(List<Criterio> criterios, ConfrontoDireto confrontoDireto) {
+        int[] ordem = new int[numTimes];
+        ordenarEm(ordem, new boolean[numTimes + 1], new int[numTimes], criterios, confrontoDireto);
+        return ordem;
+    }
+
+    // inicioBloco[k]: a posição k começa um bloco de empatados
+    private void ordenarEm(int[] ordem, boolean[] inicioBloco, int[] chave, List<Criterio> criterios,
+            ConfrontoDireto confrontoDireto) {
+        for (int i = 0; i < numTimes; i++) {
+            ordem[i] = i;
+        }
+        if (numTimes < 2) {
+            return;
+        }
+
+        Arrays.fill(inicioBloco, false);
+        inicioBloco[0] = true;
+        inicioBloco[numTimes] = true;
+
+        for (Criterio criterio : criterios) {
+            int inicio = 0;
+            while (inicio < numTimes) {
+                int fim = inicio + 1;
+                while (!inicioBloco[fim]) {
+                    fim++;
+                }
+
+                if (fim - inicio > 1) {
+                    preencherChave(criterio, ordem, inicio, fim, chave, confrontoDireto);
+                    ordenarBloco(ordem, inicio, fim, chave);
+                    for (int k = inicio + 1; k < fim; k++) {
+                        if (chave[ordem[k]] != chave[ordem[k - 1]]) {
+                            inicioBloco[k] = true;
+                        }
+                    }
+                }
+                inicio = fim;
+            }
+        }
+    }
+
+    // Simulação (ver SimulacaoFase): uma cópia de trabalho por tarefa, restaurada a cada cenário
+
+    /**
+     * Tabela base de uma simulação: como dasPartidas, com os confrontos já montados
+     * (as tarefas só leem dela, em paralelo).
+     */
+    static TabelaClassificacao baseDeSimulacao(Collection<Time> times, Collection<Partida> partidas) {
+        TabelaClassificacao base = dasPartidas(times, partidas);
+        base.carregarConfrontos();
+        return base;
+    }
+
+    /**
+     * Cópia de trabalho de uma base de simulação, com buffers próprios de ordenação.
+     */
+    TabelaClassificacao copiarParaSimulacao() {
+        TabelaClassificacao copia = new TabelaClassificacao(times);
+        copia.pontosConfronto = new int[pontosConfronto.length];
+        copia.golsConfronto = new int[golsConfronto.length];
+        copia.ordemSimulacao = new int[numTimes];
+        copia.blocosSimulacao = new boolean[numTimes + 1];
+        copia.chaveSimulacao = new int[numTimes];
+        copia.restaurar(this);
+        return copia;
+    }
+
+    /**
+     * Volta colunas e confrontos aos da tabela base (de onde veio a cópia).
+     */
+    void restaurar(TabelaClassificacao base) {
+        System.arraycopy(base.jogos, 0, jogos, 0, numTimes);
+        System.arraycopy(base.vitorias, 0, vitorias, 0, numTimes);
+        System.arraycopy(base.empates, 0, empates, 0, numTimes);
+        System.arraycopy(base.derrotas, 0, derrotas, 0, numTimes);
+        System.arraycopy(base.golsPro, 0, golsPro, 0, numTimes);
+        System.arraycopy(base.golsContra, 0, golsContra, 0, numTimes);
+        System.arraycopy(base.pontosConfronto, 0, pontosConfronto, 0, pontosConfronto.length);
+        System.arraycopy(base.golsConfronto, 0, golsConfronto, 0, golsConfronto.length);
+    }
+
+    /**
+     * Soma uma partida (por índices) nas colunas e nos confrontos.
+     */
+    void registrar(int t1, int t2, int placar1, int placar2) {
+        somar(t1, placar1, placar2);
+        somar(t2, placar2, placar1);
+        pontosConfronto[t1 * numTimes + t2] += placar1 > placar2 ? 3 : placar1 == placar2 ? 1 : 0;
+        pontosConfronto[t2 * numTimes + t1] += placar2 > placar1 ? 3 : placar1 == placar2 ? 1 : 0;
+        golsConfronto[t1 * numTimes + t2] += placar1;
+        golsConfronto[t2 * numTimes + t1] += placar2;
+    }
+
+    /**
+     * Ordena nos buffers da cópia (sem memória de confronto direto). O array devolvido
+     * é reaproveitado na próxima chamada.
+     */
+    int[] ordenarSimulacao(List<Criterio> criterios) {
+        ordenarEm(ordemSimulacao, blocosSimulacao, chaveSimulacao, criterios, null);
+        return ordemSimulacao;
+    }
+
+    int getVitorias(int indice) {
+        return vitorias[indice];
+    }
+
+    int getJogos(int indice) {
+        return jogos[indice];
+    }
+
+    public int getNumTimes() {
+        return numTimes;
+    }
+
+    public Time getTime(int indice) {
+        return times[indice];
+    }
+
+    /**
+     * Índice do time, ou negativo se ele não está na tabela.
+     */
+    public int indice(long timeId) {
+        return Arrays.binarySearch(ids, timeId);
+    }
+
+    private void somar(int t, int pro, int contra) {
+        jogos[t]++;
+        golsPro[t] += pro;
+        golsContra[t] += contra;
+        if (pro > contra) {
+            vitorias[t]++;
+        } else if (pro == contra) {
+            empates[t]++;
+        } else {
+            derrotas[t]++;
+        }
+    }
+
+    private int pontos(int t) {
+        return vitorias[t] * 3 + empates[t];
+    }
+
+    private void preencherChave(Criterio criterio, int[] ordem, int inicio, int fim, int[] chave,
+            ConfrontoDireto confrontoDireto) {
+        switch (criterio) {
+            case PONTOS -> {
+                for (int k = inicio; k < fim; k++) {
+                    chave[ordem[k]] = pontos(ordem[k]);
+                }
+            }
+            case SALDO_GOLS -> {
+                for (int k = inicio; k < fim; k++) {
+                    chave[ordem[k]] = golsPro[ordem[k]] - golsContra[ordem[k]];
+                }
+            }
+            case GOLS_PRO -> {
+                for (int k = inicio; k < fim; k++) {
+                    chave[ordem[k]] = golsPro[ordem[k]];
+                }
+            }
+            case CONFRONTO_DIRETO -> confrontoDireto(ordem, inicio, fim, chave, confrontoDireto);
+        }
+    }
+
+    // Chave = posição (negada) na minitabela dos times do bloco
+    private void confrontoDireto(int[] ordem, int inicio, int fim, int[] chave, ConfrontoDireto confrontoDireto) {
+        boolean jogaram = false;
+        for (int k = inicio; k < fim && !jogaram; k++) {
+            jogaram = jogos[ordem[k]] > 0;
+        }
+        if (!jogaram) {
+            for (int k = inicio; k < fim; k++) {
+                chave[ordem[k]] = 0;
+            }
+            return;
+        }
+        carregarConfrontos();
+
+        // Membros por índice, isto é, IDs em ordem crescente (como a memória espera)
+        int[] membros = Arrays.copyOfRange(ordem, inicio, fim);
+        Arrays.sort(membros);
+
+        int m = membros.length;
+        long[] idsBloco = new long[m];
+        int[] pontos = new int[m * m];
+        int[] gols = new int[m * m];
+        for (int a = 0; a < m; a++) {
+            idsBloco[a] = ids[membros[a]];
+            for (int b = 0; b < m; b++) {
+                pontos[a * m + b] = pontosConfronto[membros[a] * numTimes + membros[b]];
+                gols[a * m + b] = golsConfronto[membros[a] * numTimes + membros[b]];
+            }
+        }
+
+        int[] posicoes = confrontoDireto != null
+                ? confrontoDireto.classificar(idsBloco, pontos, gols)
+                : ConfrontoDireto.classificarSemMemoria(idsBloco, pontos, gols);
+        for (int a = 0; a < m; a++) {
+            chave[membros[a]] = -posicoes[a];
+        }
+    }
+
+    // Inserção estável, maior chave primeiro (os blocos são pequenos)
+    private static void ordenarBloco(int[] ordem, int inicio, int fim, int[] chave) {
+        for (int k = inicio + 1; k < fim; k++) {
+            int t = ordem[k];
+            int j = k - 1;
+            while (j >= inicio && chave[ordem[j]] < chave[t]) {
+                ordem[j + 1] = ordem[j];
+                j--;
+            }
+            ordem[j + 1] = t;
+        }
+    }
+
+    private void carregarConfrontos() {
+        if (pontosConfronto != null) {
+            return;
+        }
+
+        pontosConfronto = new int[numTimes * numTimes];
+        golsConfronto = new int[numTimes * numTimes];
+        for (Partida partida : fontePartidas.get()) {
+            if (!FaseDeGruposStrategy.contaParaClassificacao(partida)) {
+                continue;
+            }
+            int t1 = indice(partida.getTime1().getId());
+            int t2 = indice(partida.getTime2().getId());
+            if (t1 < 0 || t2 < 0) {
+                continue;
+            }
+            int p1 = partida.getPlacarTime1();
+            int p2 = partida.getPlacarTime2();
+            pontosConfronto[t1 * numTimes + t2] += p1 > p2 ? 3 : p1 == p2 ? 1 : 0;
+            pontosConfronto[t2 * numTimes + t1] += p2 > p1 ? 3 : p1 == p2 ? 1 : 0;
+            golsConfronto[t1 * numTimes + t2] += p1;
+            golsConfronto[t2 * numTimes + t1] += p2;
+        }
+        fontePartidas = null;
+    }
+}
@@ -11,3 +11,146 @@ BEGIN
     END IF;
 END $$;
 ///
+
+-- Migracao IDENTITY -> sequencias com pool (allocationSize = 50).
+-- Cria as sequencias e as posiciona depois do maior ID existente; nunca volta
+-- a sequencia, entao pode rodar a cada subida sem colidir com blocos ja reservados.
+DO $$
+DECLARE
+    tabela text;
+    sequencia text;
+BEGIN
+    FOREACH tabela IN ARRAY ARRAY['tb_partidas', 'tb_grupos', 'tb_escalacoes', 'tb_classificacoes', 'tb_eventos_avanco',
+                                  'tb_alteracoes_campeonato'] LOOP
+        sequencia := tabela || '_seq';
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', sequencia);
+
+        IF to_regclass(tabela) IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', tabela);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', tabela);
+            EXECUTE format(
+                'SELECT setval(%L, GREATEST((SELECT COALESCE(MAX(id), 1) FROM %I), (SELECT last_value FROM %I)))',
+                sequencia, tabela, sequencia);
+        END IF;
+    END LOOP;
+END $$;
+///
+
+-- Indice funcional da busca de jogadores por lane (sem diferenciar maiusculas);
+-- JPA nao declara indice sobre expressao
+DO $$
+BEGIN
+    IF to_regclass('tb_jogadores') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_jogadores_lane_upper ON tb_jogadores (UPPER(lane_lol));
+    END IF;
+END $$;
+///
+
+-- Coluna campeonato_id das partidas (copia de fase.campeonato_id), usada pelos
+-- indices de agenda; preenche as partidas existentes so quando a coluna e criada
+DO $$
+BEGIN
+    IF to_regclass('tb_partidas') IS NOT NULL AND NOT EXISTS (
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_name = 'tb_partidas'
+        AND column_name = 'campeonato_id'
+    ) THEN
+        ALTER TABLE tb_partidas ADD COLUMN campeonato_id bigint;
+        UPDATE tb_partidas p SET campeonato_id = f.campeonato_id FROM tb_fases f WHERE p.fase_id = f.id;
+    END IF;
+END $$;
+///
+
+-- Contador de inscritos dos campeonatos (reserva de vaga por UPDATE condicional);
+-- preenchido a partir de tb_campeonato_time so quando a coluna e criada
+DO $$
+BEGIN
+    IF to_regclass('tb_campeonatos') IS NOT NULL AND NOT EXISTS (
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_name = 'tb_campeonatos'
+        AND column_name = 'numero_times_inscritos'
+    ) THEN
+        ALTER TABLE tb_campeonatos ADD COLUMN numero_times_inscritos integer NOT NULL DEFAULT 0;
+        IF to_regclass('tb_campeonato_time') IS NOT NULL THEN
+            UPDATE tb_campeonatos c
+            SET numero_times_inscritos = (SELECT COUNT(*) FROM tb_campeonato_time ct WHERE ct.campeonato_id = c.id);
+        END IF;
+    END IF;
+END $$;
+///
+
+-- Coluna de versao (lock otimista) de campeonatos, fases e partidas; linhas
+-- existentes comecam na versao 0
+DO $$
+DECLARE
+    tabela text;
+BEGIN
+    FOREACH tabela IN ARRAY ARRAY['tb_campeonatos', 'tb_fases', 'tb_partidas'] LOOP
+        IF to_regclass(tabela) IS NOT NULL AND NOT EXISTS (
+            SELECT 1
+            FROM information_schema.columns
+            WHERE table_name = tabela
+            AND column_name = 'versao'
+        ) THEN
+            EXECUTE format('ALTER TABLE %I ADD COLUMN versao bigint NOT NULL DEFAULT 0', tabela);
+        END IF;
+    END LOOP;
+END $$;
+///
+
+-- Revisao da arvore do campeonato (ETag do detalhe); comeca em 0
+DO $$
+BEGIN
+    IF to_regclass('tb_campeonatos') IS NOT NULL AND NOT EXISTS (
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_name = 'tb_campeonatos'
+        AND column_name = 'revisao'
+    ) THEN
+        ALTER TABLE tb_campeonatos ADD COLUMN revisao bigint NOT NULL DEFAULT 0;
+    END IF;
+END $$;
+///
+
+-- Inicio do log de alteracoes (GET /api/campeonatos/{id}/changes): campeonatos que ja
+-- existiam nao tem log das revisoes anteriores, entao o log comeca na revisao atual
+DO $$
+BEGIN
+    IF to_regclass('tb_campeonatos') IS NOT NULL AND NOT EXISTS (
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_name = 'tb_campeonatos'
+        AND column_name = 'inicio_alteracoes'
+    ) THEN
+        ALTER TABLE tb_campeonatos ADD COLUMN inicio_alteracoes bigint NOT NULL DEFAULT 0;
+        UPDATE tb_campeonatos SET inicio_alteracoes = revisao;
+    END IF;
+END $$;
+///
+
+-- Tipo PARTIDA_CRIADA no log de alteracoes: o CHECK que o Hibernate cria para a
+-- coluna do enum nao e refeito pelo ddl-auto=update e recusaria o valor novo
+DO $$
+BEGIN
+    IF to_regclass('tb_alteracoes_campeonato') IS NOT NULL THEN
+        ALTER TABLE tb_alteracoes_campeonato DROP CONSTRAINT IF EXISTS tb_alteracoes_campeonato_tipo_check;
+    END IF;
+END $$;
+///
+
+-- Indice da compactacao do log de alteracoes passou a incluir a revisao; o
+-- ddl-auto=update nao refaz um indice que ja existe com o mesmo nome
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1
+        FROM pg_indexes
+        WHERE indexname = 'idx_alteracoes_registro'
+        AND indexdef NOT LIKE '%revisao%'
+    ) THEN
+        DROP INDEX idx_alteracoes_registro;
+    END IF;
+END $$;
+///
@@ -0,0 +1,75 @@
+package oficial.cbpitu;
+
+import lombok.RequiredArgsConstructor;
+import oficial.cbpitu.model.*;
+import oficial.cbpitu.model.enums.FormatoCompeticao;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import oficial.cbpitu.repository.TimeRepository;
+import oficial.cbpitu.service.ClassificacaoService;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Campeonatos de fase de grupos para os testes de integração. Entra no contexto
+ * com {@code @Import(FabricaCampeonatos.class)}.
+ */
+@RequiredArgsConstructor
+public class FabricaCampeonatos {
+
+    private final PlatformTransactionManager transactionManager;
+    private final CampeonatoRepository campeonatoRepository;
+    private final TimeRepository timeRepository;
+    private final ClassificacaoService classificacaoService;
+
+    /**
+     * Cria o campeonato com as fases de grupos, todos os jogos de cada grupo
+     * (pendentes, rodada 1) e as tabelas zeradas. Retorna o ID.
+     */
+    public Long criarCampeonato(int numFases, int gruposPorFase, int timesPorGrupo) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Campeonato campeonato = new Campeonato();
+            campeonato.setNome("Campeonato " + System.nanoTime());
+
+            for (int f = 1; f <= numFases; f++) {
+                Fase fase = new Fase();
+                fase.setNome("Fase " + f);
+                fase.setOrdem(f);
+                fase.setFormato(FormatoCompeticao.GRUPOS);
+                campeonato.adicionarFase(fase);
+
+                for (int g = 0; g < gruposPorFase; g++) {
+                    Grupo grupo = new Grupo();
+                    grupo.setNome("Grupo " + (char) ('A' + g));
+                    fase.adicionarGrupo(grupo);
+
+                    List<Time> times = new ArrayList<>();
+                    for (int t = 0; t < timesPorGrupo; t++) {
+                        Time time = new Time();
+                        time.setNomeTime("Time " + System.nanoTime());
+                        times.add(timeRepository.save(time));
+                    }
+                    times.forEach(grupo::adicionarTime);
+                    times.forEach(campeonato::adicionarTime);
+
+                    for (int i = 0; i < times.size(); i++) {
+                        for (int j = i + 1; j < times.size(); j++) {
+                            Partida partida = new Partida();
+                            partida.setTime1(times.get(i));
+                            partida.setTime2(times.get(j));
+                            partida.setRodada(1);
+                            fase.adicionarPartida(partida);
+                            grupo.adicionarPartida(partida);
+                        }
+                    }
+                }
+            }
+
+            Campeonato salvo = campeonatoRepository.save(campeonato);
+            salvo.getFases().forEach(fase -> fase.getGrupos().forEach(classificacaoService::inicializarGrupo));
+            return salvo.getId();
+        });
+    }
+}
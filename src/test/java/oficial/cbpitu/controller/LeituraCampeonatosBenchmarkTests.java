@@ -0,0 +1,182 @@
+package oficial.cbpitu.controller;
+
+import oficial.cbpitu.FabricaCampeonatos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga nos endpoints de leitura do campeonato (Tomcat de verdade, H2 em modo
+ * PostgreSQL), medindo vazão e p99. Só roda quando pedido:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=LeituraCampeonatosBenchmarkTests -Dbenchmark=antes
+ * ./mvnw test -Dtest=LeituraCampeonatosBenchmarkTests -Dbenchmark=depois
+ * </pre>
+ *
+ * "antes" volta à configuração sem virtual threads (pool padrão do Hikari, conexão
+ * presa até o fim da requisição) e grava vazão e p99 de cada endpoint em
+ * target/benchmark; "depois" usa a do application.properties e falha se a vazão
+ * ficar abaixo da gravada pelo "antes" ou o p99 acima dela (rode o "antes" primeiro,
+ * na mesma máquina).
+ * Clientes e duração: -Dbenchmark.clientes (400) e -Dbenchmark.segundos (10).
+ * O cache do detalhe fica desligado para toda leitura chegar ao banco.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "antes|depois")
+@Import(FabricaCampeonatos.class)
+class LeituraCampeonatosBenchmarkTests {
+
+    private static final int CLIENTES = Integer.getInteger("benchmark.clientes", 400);
+    private static final int SEGUNDOS = Integer.getInteger("benchmark.segundos", 10);
+    private static final int AQUECIMENTO_SEGUNDOS = 3;
+
+    @DynamicPropertySource
+    static void configuracao(DynamicPropertyRegistry registry) {
+        registry.add("cbpitu.cache.campeonatos.peso-maximo", () -> "0");
+        registry.add("cbpitu.avanco.intervalo-ms", () -> "3600000");
+        if ("antes".equals(System.getProperty("benchmark"))) {
+            registry.add("spring.threads.virtual.enabled", () -> "false");
+            registry.add("spring.datasource.hikari.maximum-pool-size", () -> "10");
+            registry.add("spring.datasource.hikari.minimum-idle", () -> "10");
+            registry.add("spring.datasource.hikari.connection-timeout", () -> "30000");
+            registry.add("spring.jpa.properties.hibernate.connection.handling_mode",
+                    () -> "DELAYED_ACQUISITION_AND_HOLD");
+        }
+    }
+
+    @Autowired
+    private FabricaCampeonatos fabrica;
+
+    @Autowired
+    private Environment environment;
+
+    private HttpClient http;
+    private String base;
+    private Long campeonatoId;
+
+    @BeforeEach
+    void preparar() {
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        base = "http://localhost:" + environment.getProperty("local.server.port") + "/api/campeonatos";
+        campeonatoId = fabrica.criarCampeonato(2, 4, 6);
+    }
+
+    @Test
+    void detalhe() throws Exception {
+        medir("GET /{id}", URI.create(base + "/" + campeonatoId));
+    }
+
+    @Test
+    void alteracoes() throws Exception {
+        medir("GET /{id}/changes", URI.create(base + "/" + campeonatoId + "/changes?since=0"));
+    }
+
+    @Test
+    void listagem() throws Exception {
+        medir("GET /", URI.create(base + "?limite=50"));
+    }
+
+    private void medir(String nome, URI uri) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(uri).GET().build();
+
+        rodar(requisicao, AQUECIMENTO_SEGUNDOS);
+        Resultado resultado = rodar(requisicao, SEGUNDOS);
+
+        long[] latencias = resultado.latencias();
+        Arrays.sort(latencias);
+        assertThat(resultado.erros()).isZero();
+        comparar(nome, latencias.length / (double) SEGUNDOS, percentil(latencias, 0.99));
+    }
+
+    // "antes" grava a referência; "depois" tem que igualar ou superar
+    private void comparar(String nome, double vazao, double p99) throws Exception {
+        Path referencia = Path.of("target", "benchmark", nome.replaceAll("\\W+", "_") + ".antes");
+        if ("antes".equals(System.getProperty("benchmark"))) {
+            Files.createDirectories(referencia.getParent());
+            Files.writeString(referencia, vazao + " " + p99);
+            return;
+        }
+
+        assertThat(referencia).as("referência do -Dbenchmark=antes").exists();
+        String[] antes = Files.readString(referencia).trim().split(" ");
+        assertThat(vazao).as("vazão de %s (antes %s req/s)", nome, antes[0])
+                .isGreaterThanOrEqualTo(Double.parseDouble(antes[0]));
+        assertThat(p99).as("p99 de %s (antes %s ms)", nome, antes[1])
+                .isLessThanOrEqualTo(Double.parseDouble(antes[1]));
+    }
+
+    private record Resultado(long[] latencias, long erros) {
+    }
+
+    // Cada cliente repete a requisição (uma de cada vez) até o prazo
+    private Resultado rodar(HttpRequest requisicao, int segundos) throws Exception {
+        long fim = System.nanoTime() + segundos * 1_000_000_000L;
+        AtomicLong erros = new AtomicLong();
+        List<Future<long[]>> clientes = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                clientes.add(executor.submit(() -> {
+                    long[] latencias = new long[1024];
+                    int total = 0;
+                    while (System.nanoTime() < fim) {
+                        long inicio = System.nanoTime();
+                        HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() != 200) {
+                            erros.incrementAndGet();
+                            continue;
+                        }
+                        if (total == latencias.length) {
+                            latencias = Arrays.copyOf(latencias, total * 2);
+                        }
+                        latencias[total++] = System.nanoTime() - inicio;
+                    }
+                    return Arrays.copyOf(latencias, total);
+                }));
+            }
+        }
+
+        List<long[]> porCliente = new ArrayList<>();
+        for (Future<long[]> cliente : clientes) {
+            porCliente.add(cliente.get());
+        }
+        long[] todas = porCliente.stream().flatMapToLong(Arrays::stream).toArray();
+        return new Resultado(todas, erros.get());
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+    }
+}
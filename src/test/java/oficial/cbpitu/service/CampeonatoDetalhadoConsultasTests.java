@@ -0,0 +1,62 @@
+package oficial.cbpitu.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import oficial.cbpitu.FabricaCampeonatos;
+import oficial.cbpitu.mapper.CampeonatoMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que o detalhe do campeonato é montado com um número fixo de consultas,
+ * independente da quantidade de fases, grupos e partidas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(FabricaCampeonatos.class)
+class CampeonatoDetalhadoConsultasTests {
+
+    private static final int MAX_CONSULTAS = 6;
+
+    @Autowired
+    private CampeonatoService campeonatoService;
+
+    @Autowired
+    private CampeonatoMapper campeonatoMapper;
+
+    @Autowired
+    private FabricaCampeonatos fabrica;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void detalheDoCampeonatoNaoCresceComATabela() {
+        long consultasPequeno = contarConsultas(fabrica.criarCampeonato(1, 1, 4));
+        long consultasGrande = contarConsultas(fabrica.criarCampeonato(3, 4, 6));
+
+        assertThat(consultasPequeno).isLessThanOrEqualTo(MAX_CONSULTAS);
+        assertThat(consultasGrande).isEqualTo(consultasPequeno);
+    }
+
+    private long contarConsultas(Long campeonatoId) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                campeonatoMapper.toDTO(campeonatoService.buscarDetalhado(campeonatoId)));
+
+        return estatisticas.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,120 @@
+package oficial.cbpitu.service;
+
+import oficial.cbpitu.FabricaCampeonatos;
+import oficial.cbpitu.model.Classificacao;
+import oficial.cbpitu.model.Grupo;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import oficial.cbpitu.repository.ClassificacaoRepository;
+import oficial.cbpitu.repository.PartidaRepository;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A tabela persistida, atualizada por delta a cada resultado, correção e W.O.,
+ * tem que bater com o recálculo completo a partir das partidas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(FabricaCampeonatos.class)
+@TestPropertySource(properties = "cbpitu.avanco.intervalo-ms=3600000")
+class ClassificacaoIncrementalTests {
+
+    private record Linha(int jogos, int vitorias, int empates, int derrotas, int golsPro, int golsContra,
+            int pontos) {
+    }
+
+    @Autowired
+    private FabricaCampeonatos fabrica;
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private CampeonatoRepository campeonatoRepository;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private ClassificacaoRepository classificacaoRepository;
+
+    @Autowired
+    private FaseDeGruposStrategy faseDeGruposStrategy;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void deltasDeResultadoCorrecaoEWoBatemComORecalculo() {
+        Long grupoId = grupoDe(fabrica.criarCampeonato(1, 1, 4));
+        List<Partida> partidas = partidaRepository.findByGrupoId(grupoId).stream()
+                .sorted(Comparator.comparing(Partida::getId))
+                .toList();
+        assertThat(partidas).hasSize(6);
+
+        partidaService.registrarResultado(partidas.get(0).getId(), 2, 1, null);
+        partidaService.registrarResultado(partidas.get(1).getId(), 0, 0, null);
+        partidaService.registrarResultado(partidas.get(2).getId(), 1, 3, null);
+        partidaService.registrarResultado(partidas.get(3).getId(), 4, 4, null);
+        assertThat(tabelaPersistida(grupoId)).isEqualTo(tabelaRecalculada(grupoId));
+
+        // Correção que inverte o vencedor e outra que transforma empate em vitória
+        partidaService.corrigirResultado(partidas.get(0).getId(), 0, 2, null);
+        partidaService.corrigirResultado(partidas.get(3).getId(), 1, 0, null);
+        assertThat(tabelaPersistida(grupoId)).isEqualTo(tabelaRecalculada(grupoId));
+
+        // W.O. numa partida pendente e por cima de um resultado já lançado
+        Long vencedorPendente = partidas.get(4).getTime2().getId();
+        Long vencedorSubstituido = partidas.get(1).getTime1().getId();
+        partidaService.registrarWO(partidas.get(4).getId(), vencedorPendente);
+        partidaService.registrarWO(partidas.get(1).getId(), vencedorSubstituido);
+
+        Map<Long, Linha> persistida = tabelaPersistida(grupoId);
+        assertThat(persistida).isEqualTo(tabelaRecalculada(grupoId));
+        assertThat(persistida.values().stream().mapToInt(Linha::jogos).sum()).isEqualTo(2 * 5);
+    }
+
+    private Long grupoDe(Long campeonatoId) {
+        return new TransactionTemplate(transactionManager).execute(status -> campeonatoRepository
+                .findById(campeonatoId).orElseThrow()
+                .getFases().get(0).getGrupos().get(0).getId());
+    }
+
+    private Map<Long, Linha> tabelaPersistida(Long grupoId) {
+        Map<Long, Linha> tabela = new HashMap<>();
+        for (Classificacao c : classificacaoRepository.findByGrupoId(grupoId)) {
+            tabela.put(c.getTime().getId(), new Linha(c.getJogos(), c.getVitorias(), c.getEmpates(),
+                    c.getDerrotas(), c.getGolsPro(), c.getGolsContra(), c.getPontos()));
+        }
+        return tabela;
+    }
+
+    private Map<Long, Linha> tabelaRecalculada(Long grupoId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Grupo grupo = partidaRepository.findByGrupoId(grupoId).get(0).getGrupo();
+            Map<Long, Linha> tabela = new HashMap<>();
+            for (ClassificacaoGrupo c : faseDeGruposStrategy.calcularTabelaGrupo(grupo,
+                    partidaRepository.findByGrupoId(grupoId))) {
+                tabela.put(c.getTime().getId(), new Linha(c.getJogos(), c.getVitorias(), c.getEmpates(),
+                        c.getDerrotas(), c.getGolsPro(), c.getGolsContra(), c.getPontos()));
+            }
+            return tabela;
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package oficial.cbpitu.service;
+
+import oficial.cbpitu.model.AlteracaoCampeonato;
+import oficial.cbpitu.repository.AlteracaoCampeonatoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Com IDs em blocos por instância, uma entrada de revisão maior pode ter ID menor:
+ * a compactação mantém a de revisão maior e só usa o ID para desempatar.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CompactacaoAlteracoesTests {
+
+    // Fora do alcance das sequências nos testes
+    private static final long CAMPEONATO = 9_000_000_001L;
+
+    @Autowired
+    private AlteracoesService alteracoesService;
+
+    @Autowired
+    private AlteracaoCampeonatoRepository alteracaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void mantemARevisaoMaiorMesmoComIdMenor() {
+        // Partida 1: a instância com o bloco de IDs mais baixo gravou a revisão mais nova
+        inserir(9_000_000_200L, 5, "PARTIDA", 1);
+        inserir(9_000_000_100L, 7, "PARTIDA", 1);
+        // Partida 2: mesma revisão, desempata pelo ID
+        inserir(9_000_000_300L, 8, "PARTIDA", 2);
+        inserir(9_000_000_050L, 8, "PARTIDA", 2);
+        // Tipo diferente não substitui
+        inserir(9_000_000_400L, 9, "PARTIDA_CRIADA", 1);
+
+        while (alteracoesService.compactar(1000) > 0) {
+            // Repete até não sobrar entrada substituída
+        }
+
+        assertThat(alteracaoRepository.existsById(9_000_000_200L)).isFalse();
+        assertThat(alteracaoRepository.existsById(9_000_000_100L)).isTrue();
+        assertThat(alteracaoRepository.existsById(9_000_000_050L)).isFalse();
+        assertThat(alteracaoRepository.existsById(9_000_000_300L)).isTrue();
+        assertThat(alteracaoRepository.existsById(9_000_000_400L)).isTrue();
+        assertThat(alteracaoRepository.buscarEntre(CAMPEONATO, 6, 8))
+                .extracting(AlteracaoCampeonato::getRevisao)
+                .containsExactlyInAnyOrder(7L, 8L);
+    }
+
+    private void inserir(long id, long revisao, String tipo, long registroId) {
+        jdbcTemplate.update("INSERT INTO tb_alteracoes_campeonato (id, campeonato_id, revisao, tipo, registro_id) "
+                + "VALUES (?, ?, ?, ?, ?)", id, CAMPEONATO, revisao, tipo, registroId);
+    }
+}
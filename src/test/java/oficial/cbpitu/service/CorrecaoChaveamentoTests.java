@@ -0,0 +1,129 @@
+package oficial.cbpitu.service;
+
+import oficial.cbpitu.exception.OperacaoInvalidaException;
+import oficial.cbpitu.model.Campeonato;
+import oficial.cbpitu.model.Fase;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.Time;
+import oficial.cbpitu.model.enums.FormatoCompeticao;
+import oficial.cbpitu.model.enums.StatusPartida;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import oficial.cbpitu.repository.EventoAvancoRepository;
+import oficial.cbpitu.repository.PartidaRepository;
+import oficial.cbpitu.repository.TimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Correção de uma partida do chaveamento cujo vencedor já jogou a partida seguinte:
+ * recusada na própria requisição, sem gravar o placar nem o evento de avanço.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "cbpitu.avanco.intervalo-ms=3600000")
+class CorrecaoChaveamentoTests {
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private CampeonatoRepository campeonatoRepository;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private EventoAvancoRepository eventoAvancoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long semifinalId;
+    private Long perdedorSemifinalId;
+
+    @BeforeEach
+    void criarChaveamento() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Time a = timeRepository.save(time("A"));
+            Time b = timeRepository.save(time("B"));
+            Time c = timeRepository.save(time("C"));
+
+            Campeonato campeonato = new Campeonato();
+            campeonato.setNome("Chaveamento " + System.nanoTime());
+            Fase fase = new Fase();
+            fase.setNome("Double elimination");
+            fase.setOrdem(1);
+            fase.setFormato(FormatoCompeticao.LOSER_BRACKET);
+            campeonato.adicionarFase(fase);
+
+            // A venceu a semifinal e já jogou a final
+            Partida finalChave = partida(a, c, "WB-R2-1");
+            Partida semifinal = partida(a, b, "WB-R1-1");
+            semifinal.registrarResultado(2, 1);
+            semifinal.definirVencedorEm(finalChave, 1);
+            finalChave.registrarResultado(1, 0);
+            fase.adicionarPartida(finalChave);
+            fase.adicionarPartida(semifinal);
+
+            campeonatoRepository.save(campeonato);
+            semifinalId = semifinal.getId();
+            perdedorSemifinalId = b.getId();
+        });
+    }
+
+    @Test
+    void correcaoQueTrocaOVencedorDepoisDaPartidaSeguinteERecusada() {
+        assertThatThrownBy(() -> partidaService.corrigirResultado(semifinalId, 0, 2, null))
+                .isInstanceOf(OperacaoInvalidaException.class)
+                .hasMessageContaining("WB-R2-1");
+
+        Partida semifinal = partidaRepository.findById(semifinalId).orElseThrow();
+        assertThat(semifinal.getPlacarTime1()).isEqualTo(2);
+        assertThat(semifinal.getPlacarTime2()).isEqualTo(1);
+        assertThat(eventoAvancoRepository.findFirstByPartidaIdOrderByIdDesc(semifinalId)).isEmpty();
+    }
+
+    @Test
+    void woQueTrocaOVencedorDepoisDaPartidaSeguinteERecusado() {
+        assertThatThrownBy(() -> partidaService.registrarWO(semifinalId, perdedorSemifinalId))
+                .isInstanceOf(OperacaoInvalidaException.class);
+
+        assertThat(partidaRepository.findById(semifinalId).orElseThrow().getStatus())
+                .isEqualTo(StatusPartida.FINALIZADA);
+    }
+
+    @Test
+    void correcaoQueMantemOVencedorContinuaPermitida() {
+        Partida corrigida = partidaService.corrigirResultado(semifinalId, 3, 1, null);
+
+        assertThat(corrigida.getPlacarTime1()).isEqualTo(3);
+        assertThat(eventoAvancoRepository.findFirstByPartidaIdOrderByIdDesc(semifinalId)).isPresent();
+    }
+
+    private static Time time(String nome) {
+        Time time = new Time();
+        time.setNomeTime(nome + " " + System.nanoTime());
+        return time;
+    }
+
+    private static Partida partida(Time time1, Time time2, String identificador) {
+        Partida partida = new Partida();
+        partida.setTime1(time1);
+        partida.setTime2(time2);
+        partida.setRodada(1);
+        partida.setIdentificadorBracket(identificador);
+        return partida;
+    }
+}
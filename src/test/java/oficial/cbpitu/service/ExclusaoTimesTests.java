@@ -0,0 +1,128 @@
+package oficial.cbpitu.service;
+
+import oficial.cbpitu.dto.campeonato.ItemResultadoDTO;
+import oficial.cbpitu.model.Campeonato;
+import oficial.cbpitu.model.EventoAvanco;
+import oficial.cbpitu.model.Fase;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.Time;
+import oficial.cbpitu.model.enums.FormatoCompeticao;
+import oficial.cbpitu.model.enums.StatusEventoAvanco;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import oficial.cbpitu.repository.EventoAvancoRepository;
+import oficial.cbpitu.repository.PartidaRepository;
+import oficial.cbpitu.repository.TimeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Excluir um time não apaga o evento de avanço da rodada: gravada em lote, a rodada
+ * tem um evento só, ligado a uma das suas partidas, e o worker conclui o evento
+ * mesmo que essa partida não exista mais.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "cbpitu.avanco.intervalo-ms=3600000")
+class ExclusaoTimesTests {
+
+    @Autowired
+    private TimeService timeService;
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private AvancoService avancoService;
+
+    @Autowired
+    private CampeonatoRepository campeonatoRepository;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private EventoAvancoRepository eventoAvancoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void excluirTimeMantemOEventoDaRodada() {
+        List<Partida> partidas = criarRodadaDeMataMata();
+        partidaService.registrarResultadosEmLote(partidas.stream()
+                .map(partida -> ItemResultadoDTO.builder()
+                        .partidaId(partida.getId())
+                        .tipo(ItemResultadoDTO.Tipo.PLACAR)
+                        .placarTime1(1)
+                        .placarTime2(0)
+                        .build())
+                .toList());
+
+        Long faseId = partidas.get(0).getFase().getId();
+        EventoAvanco evento = eventoAvancoRepository.findFirstByFaseIdAndRodadaOrderByIdDesc(faseId, 1).orElseThrow();
+        Partida ligada = partidas.stream()
+                .filter(partida -> partida.getId().equals(evento.getPartidaId()))
+                .findFirst()
+                .orElseThrow();
+
+        timeService.excluirEmLote(List.of(ligada.getTime2().getId()));
+
+        assertThat(partidaRepository.existsById(ligada.getId())).isFalse();
+        assertThat(eventoAvancoRepository.existsById(evento.getId())).isTrue();
+
+        // O worker conclui o evento sem a partida, em vez de falhar
+        evento.setStatus(StatusEventoAvanco.PROCESSANDO);
+        eventoAvancoRepository.save(evento);
+        avancoService.processar(evento.getId());
+
+        assertThat(eventoAvancoRepository.findById(evento.getId()).orElseThrow().getStatus())
+                .isEqualTo(StatusEventoAvanco.CONCLUIDO);
+    }
+
+    // Mata-mata com as duas partidas da primeira rodada
+    private List<Partida> criarRodadaDeMataMata() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Campeonato campeonato = new Campeonato();
+            campeonato.setNome("Mata-mata " + System.nanoTime());
+            Fase fase = new Fase();
+            fase.setNome("Mata-mata");
+            fase.setOrdem(1);
+            fase.setFormato(FormatoCompeticao.MATA_MATA);
+            campeonato.adicionarFase(fase);
+
+            Partida primeira = partida(timeRepository.save(time("A")), timeRepository.save(time("B")));
+            Partida segunda = partida(timeRepository.save(time("C")), timeRepository.save(time("D")));
+            fase.adicionarPartida(primeira);
+            fase.adicionarPartida(segunda);
+
+            campeonatoRepository.save(campeonato);
+            return List.of(primeira, segunda);
+        });
+    }
+
+    private static Partida partida(Time time1, Time time2) {
+        Partida partida = new Partida();
+        partida.setTime1(time1);
+        partida.setTime2(time2);
+        partida.setRodada(1);
+        return partida;
+    }
+
+    private static Time time(String nome) {
+        Time time = new Time();
+        time.setNomeTime(nome + " " + System.nanoTime());
+        return time;
+    }
+}
@@ -0,0 +1,72 @@
+package oficial.cbpitu.service;
+
+import oficial.cbpitu.dto.campeonato.InscricaoDTO;
+import oficial.cbpitu.model.Campeonato;
+import oficial.cbpitu.model.Time;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import oficial.cbpitu.repository.TimeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vagas abertas depois que a fila se formou (limite maior) vão para a lista de espera.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ListaDeEsperaTests {
+
+    @Autowired
+    private CampeonatoService campeonatoService;
+
+    @Autowired
+    private CampeonatoRepository campeonatoRepository;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Test
+    void aumentarLimitePromoveDaListaDeEspera() {
+        Campeonato campeonato = new Campeonato();
+        campeonato.setNome("Campeonato " + System.nanoTime());
+        campeonato.setLimiteMaximoTimes(1);
+        Long id = campeonatoService.criar(campeonato).getId();
+        campeonatoService.abrirInscricoes(id);
+
+        Long primeiro = novoTime();
+        Long segundo = novoTime();
+        Long terceiro = novoTime();
+        assertThat(campeonatoService.inscreverTime(id, primeiro).getSituacao()).isEqualTo(InscricaoDTO.Situacao.INSCRITO);
+        assertThat(campeonatoService.inscreverTime(id, segundo).getSituacao()).isEqualTo(InscricaoDTO.Situacao.LISTA_ESPERA);
+        assertThat(campeonatoService.inscreverTime(id, terceiro).getSituacao()).isEqualTo(InscricaoDTO.Situacao.LISTA_ESPERA);
+
+        Campeonato dados = new Campeonato();
+        dados.setNome(campeonato.getNome());
+        dados.setLimiteMaximoTimes(2);
+        Campeonato atualizado = campeonatoService.atualizar(id, dados);
+
+        assertThat(atualizado.getNumeroTimesInscritos()).isEqualTo(2);
+        assertThat(campeonatoRepository.existsInscricao(id, segundo)).isTrue();
+        assertThat(campeonatoRepository.existsInscricao(id, terceiro)).isFalse();
+        assertThat(campeonatoService.listarListaDeEspera(id))
+                .extracting(InscricaoDTO::getTimeId)
+                .containsExactly(terceiro);
+
+        // Sem limite, o resto da fila entra
+        dados.setLimiteMaximoTimes(null);
+        campeonatoService.atualizar(id, dados);
+
+        assertThat(campeonatoRepository.existsInscricao(id, terceiro)).isTrue();
+        assertThat(campeonatoService.listarListaDeEspera(id)).isEmpty();
+        assertThat(campeonatoRepository.findById(id).orElseThrow().getNumeroTimesInscritos()).isEqualTo(3);
+    }
+
+    private Long novoTime() {
+        Time time = new Time();
+        time.setNomeTime("Time " + System.nanoTime());
+        return timeRepository.save(time).getId();
+    }
+}
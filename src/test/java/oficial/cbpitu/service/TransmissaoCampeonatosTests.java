@@ -0,0 +1,126 @@
+package oficial.cbpitu.service;
+
+import oficial.cbpitu.FabricaCampeonatos;
+import oficial.cbpitu.model.AlteracaoCampeonato;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.enums.StatusPartida;
+import oficial.cbpitu.model.enums.TipoAlteracao;
+import oficial.cbpitu.repository.AlteracaoCampeonatoRepository;
+import oficial.cbpitu.repository.CampeonatoRepository;
+import oficial.cbpitu.repository.PartidaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A transmissão sai do log de alterações: uma escrita que só existe no banco (como
+ * a de outra instância) chega aos assinantes, e o ID do evento é a revisão.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(FabricaCampeonatos.class)
+@TestPropertySource(properties = {
+        "cbpitu.avanco.intervalo-ms=3600000",
+        "cbpitu.transmissao.intervalo-ms=3600000"
+})
+class TransmissaoCampeonatosTests {
+
+    // Guarda o texto de cada envio (o corpo JSON não entra, só id, nome e comentários)
+    private static final class EmitterGravado extends SseEmitter {
+
+        final List<String> enviados = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder texto = new StringBuilder();
+            builder.build().forEach(parte -> {
+                if (parte.getData() instanceof String linha) {
+                    texto.append(linha);
+                }
+            });
+            enviados.add(texto.toString());
+        }
+
+        boolean recebeu(String trecho) {
+            return enviados.stream().anyMatch(enviado -> enviado.contains(trecho));
+        }
+    }
+
+    @Autowired
+    private FabricaCampeonatos fabrica;
+
+    @Autowired
+    private TransmissaoCampeonatos transmissao;
+
+    @Autowired
+    private CampeonatoRepository campeonatoRepository;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private AlteracaoCampeonatoRepository alteracaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void escritaGravadaSoNoBancoChegaAoAssinante() throws InterruptedException {
+        Long campeonatoId = fabrica.criarCampeonato(1, 1, 2);
+        long inicial = campeonatoRepository.findRevisaoById(campeonatoId).orElseThrow();
+        EmitterGravado assinante = new EmitterGravado();
+        transmissao.assinar(campeonatoId, null, assinante);
+
+        long revisao = finalizarPorFora(campeonatoId);
+        transmissao.acompanhar();
+
+        aguardar(assinante, "event:PARTIDA_FINALIZADA");
+        assertThat(assinante.recebeu("id:" + revisao + "\n")).isTrue();
+
+        // Retomada pela revisão: quem parou antes dela recebe o evento de novo
+        EmitterGravado retomado = new EmitterGravado();
+        transmissao.assinar(campeonatoId, Long.toString(inicial), retomado);
+        aguardar(retomado, "event:PARTIDA_FINALIZADA");
+
+        // Revisão anterior ao que o canal tem: não dá para retomar
+        EmitterGravado atrasado = new EmitterGravado();
+        transmissao.assinar(campeonatoId, Long.toString(inicial - 1), atrasado);
+        aguardar(atrasado, "event:RESINCRONIZAR");
+        assertThat(atrasado.recebeu("event:PARTIDA_FINALIZADA")).isFalse();
+    }
+
+    // Finaliza a partida e grava a entrada do log como outra instância faria, sem passar pelos services
+    private long finalizarPorFora(Long campeonatoId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Partida partida = partidaRepository.findByCampeonatoId(campeonatoId).get(0);
+            partida.setPlacarTime1(2);
+            partida.setPlacarTime2(0);
+            partida.setVencedor(partida.getTime1());
+            partida.setStatus(StatusPartida.FINALIZADA);
+
+            campeonatoRepository.incrementarRevisao(List.of(campeonatoId));
+            long revisao = campeonatoRepository.findRevisaoById(campeonatoId).orElseThrow();
+            alteracaoRepository.save(new AlteracaoCampeonato(campeonatoId, revisao, TipoAlteracao.PARTIDA,
+                    partida.getId()));
+            return revisao;
+        });
+    }
+
+    private void aguardar(EmitterGravado emitter, String trecho) throws InterruptedException {
+        for (int i = 0; i < 500 && !emitter.recebeu(trecho); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(emitter.recebeu(trecho)).as("recebeu %s", trecho).isTrue();
+    }
+}
@@ -0,0 +1,165 @@
+package oficial.cbpitu.service.strategy;
+
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.Time;
+import oficial.cbpitu.model.enums.StatusPartida;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A busca com poda contra a enumeração de todos os resultados das partidas restantes.
+ */
+class CenariosGrupoTests {
+
+    @Test
+    void buscaComPodaConcordaComAForcaBruta() {
+        Random aleatorio = new Random(1);
+        for (int caso = 0; caso < 3000; caso++) {
+            int n = 4 + aleatorio.nextInt(3);
+            int vagas = 1 + aleatorio.nextInt(2);
+
+            List<ClassificacaoGrupo> tabela = new ArrayList<>();
+            for (int t = 0; t < n; t++) {
+                Time time = new Time();
+                time.setId((long) t + 1);
+                int vitorias = aleatorio.nextInt(4);
+                int empates = aleatorio.nextInt(3);
+                tabela.add(new ClassificacaoGrupo(time, vitorias + empates, vitorias, empates, 0, 0, 0));
+            }
+            // A ordem atual já vem desempatada: aqui, a da lista entre os empatados em pontos
+            tabela.sort(Comparator.comparingInt(ClassificacaoGrupo::getPontos).reversed());
+
+            List<int[]> pares = new ArrayList<>();
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    pares.add(new int[] { a, b });
+                }
+            }
+            Collections.shuffle(pares, aleatorio);
+            List<int[]> restantes = pares.subList(0, aleatorio.nextInt(Math.min(pares.size(), 8) + 1));
+
+            List<Partida> partidas = new ArrayList<>();
+            for (int[] par : restantes) {
+                Partida partida = new Partida();
+                partida.setTime1(tabela.get(par[0]).getTime());
+                partida.setTime2(tabela.get(par[1]).getTime());
+                partida.setStatus(StatusPartida.PENDENTE);
+                partidas.add(partida);
+            }
+
+            CenariosGrupo cenarios = CenariosGrupo.de(tabela, partidas, vagas);
+            ForcaBruta esperado = new ForcaBruta(tabela, restantes, vagas);
+            for (int t = 0; t < n; t++) {
+                assertThat(cenarios.getMelhorPosicao(t)).as("caso %d, time %d: melhor", caso, t)
+                        .isEqualTo(esperado.melhores[t]);
+                assertThat(cenarios.getPiorPosicao(t)).as("caso %d, time %d: pior", caso, t)
+                        .isEqualTo(esperado.piores[t]);
+                assertThat(cenarios.getPontosParaGarantir(t)).as("caso %d, time %d: pontos", caso, t)
+                        .isEqualTo(esperado.pontosParaGarantir[t]);
+            }
+        }
+    }
+
+    // Todas as 3^m combinações de vitória, empate e derrota, com a regra de empate de CenariosGrupo
+    private static final class ForcaBruta {
+
+        final int[] melhores;
+        final int[] piores;
+        final Integer[] pontosParaGarantir;
+
+        private final int n;
+        private final int[] pontos;
+        private final int[] jogosRestantes;
+
+        ForcaBruta(List<ClassificacaoGrupo> tabela, List<int[]> restantes, int vagas) {
+            n = tabela.size();
+            pontos = new int[n];
+            jogosRestantes = new int[n];
+            for (int t = 0; t < n; t++) {
+                pontos[t] = tabela.get(t).getPontos();
+            }
+            for (int[] par : restantes) {
+                jogosRestantes[par[0]]++;
+                jogosRestantes[par[1]]++;
+            }
+
+            melhores = new int[n];
+            piores = new int[n];
+            pontosParaGarantir = new Integer[n];
+            int m = restantes.size();
+            boolean[][] possivel = new boolean[n][3 * m + 1];
+            boolean[][] garante = new boolean[n][3 * m + 1];
+            for (int t = 0; t < n; t++) {
+                melhores[t] = n + 1;
+                Arrays.fill(garante[t], true);
+            }
+
+            int combinacoes = (int) Math.pow(3, m);
+            int[] pts = new int[n];
+            for (int c = 0; c < combinacoes; c++) {
+                System.arraycopy(pontos, 0, pts, 0, n);
+                int resto = c;
+                for (int[] par : restantes) {
+                    switch (resto % 3) {
+                        case 0 -> pts[par[0]] += 3;
+                        case 1 -> {
+                            pts[par[0]]++;
+                            pts[par[1]]++;
+                        }
+                        default -> pts[par[1]] += 3;
+                    }
+                    resto /= 3;
+                }
+                for (int t = 0; t < n; t++) {
+                    melhores[t] = Math.min(melhores[t], posicao(pts, t, true));
+                    int pior = posicao(pts, t, false);
+                    piores[t] = Math.max(piores[t], pior);
+                    int ganhos = pts[t] - pontos[t];
+                    possivel[t][ganhos] = true;
+                    if (pior > vagas) {
+                        garante[t][ganhos] = false;
+                    }
+                }
+            }
+
+            for (int t = 0; t < n; t++) {
+                if (piores[t] <= vagas) {
+                    pontosParaGarantir[t] = 0;
+                } else if (melhores[t] <= vagas) {
+                    // Menor total a partir do qual todo total alcançável garante
+                    for (int g = 3 * m; g >= 0 && (!possivel[t][g] || garante[t][g]); g--) {
+                        if (possivel[t][g]) {
+                            pontosParaGarantir[t] = g;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Empatados sem jogo por fazer seguem a ordem da tabela; senão o empate é otimista ou pessimista
+        private int posicao(int[] pts, int t, boolean otimista) {
+            boolean fechado = true;
+            for (int u = 0; u < n; u++) {
+                if (pts[u] == pts[t] && jogosRestantes[u] > 0) {
+                    fechado = false;
+                }
+            }
+            int acima = 0;
+            for (int u = 0; u < n; u++) {
+                if (u != t && (pts[u] > pts[t] || pts[u] == pts[t] && (fechado ? u < t : !otimista))) {
+                    acima++;
+                }
+            }
+            return acima + 1;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package oficial.cbpitu.service.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfrontoDiretoTests {
+
+    @Test
+    void minitabelaSeparaUmTimeEResolveODuploDeNovo() {
+        // Ida e volta entre 10, 20 e 30. Na minitabela dos três, 10 e 20 empatam em
+        // pontos (7), saldo (+2) e gols (5) e 30 fica atrás; só entre os dois, 20
+        // venceu por 2 x 1 no agregado.
+        Confrontos confrontos = new Confrontos(10, 20, 30)
+                .jogo(1, 0, 2, 0)
+                .jogo(0, 1, 1, 0)
+                .jogo(1, 2, 2, 2)
+                .jogo(2, 1, 0, 1)
+                .jogo(0, 2, 1, 1)
+                .jogo(2, 0, 0, 3);
+
+        assertThat(new ConfrontoDireto(100).classificar(confrontos.ids, confrontos.pontos, confrontos.gols))
+                .containsExactly(1, 0, 2);
+        assertThat(ConfrontoDireto.classificarSemMemoria(confrontos.ids, confrontos.pontos, confrontos.gols))
+                .containsExactly(1, 0, 2);
+    }
+
+    @Test
+    void quatroEmpatadosSeparamDoisEResolvemODuplo() {
+        // Na minitabela dos quatro, 1 fica à frente (6) e 4 atrás (2); 2 e 3 empatam
+        // em tudo (4 pontos, um gol pró e um contra), e entre os dois 3 venceu por 1 x 0
+        Confrontos confrontos = new Confrontos(1, 2, 3, 4)
+                .jogo(2, 1, 1, 0)
+                .jogo(1, 0, 1, 0)
+                .jogo(0, 2, 1, 0)
+                .jogo(2, 3, 0, 0)
+                .jogo(1, 3, 0, 0)
+                .jogo(0, 3, 1, 0);
+
+        assertThat(new ConfrontoDireto(100).classificar(confrontos.ids, confrontos.pontos, confrontos.gols))
+                .containsExactly(0, 2, 1, 3);
+        assertThat(ConfrontoDireto.classificarSemMemoria(confrontos.ids, confrontos.pontos, confrontos.gols))
+                .containsExactly(0, 2, 1, 3);
+    }
+
+    @Test
+    void empateCircularContinuaEmpatado() {
+        // Cada um venceu o seguinte por 1 x 0: nenhuma minitabela separa ninguém
+        Confrontos confrontos = new Confrontos(1, 2, 3)
+                .jogo(0, 1, 1, 0)
+                .jogo(1, 2, 1, 0)
+                .jogo(2, 0, 1, 0);
+
+        assertThat(new ConfrontoDireto(100).classificar(confrontos.ids, confrontos.pontos, confrontos.gols))
+                .containsExactly(0, 0, 0);
+        assertThat(ConfrontoDireto.classificarSemMemoria(confrontos.ids, confrontos.pontos, confrontos.gols))
+                .containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void comESemMemoriaDaoAMesmaOrdem() {
+        ConfrontoDireto confrontoDireto = new ConfrontoDireto(100);
+        SplittableRandom aleatorio = new SplittableRandom(7);
+        for (int caso = 0; caso < 5000; caso++) {
+            int k = 2 + aleatorio.nextInt(4);
+            long[] ids = new long[k];
+            for (int a = 0; a < k; a++) {
+                ids[a] = a + 1;
+            }
+            Confrontos confrontos = new Confrontos(ids);
+            int turnos = 1 + aleatorio.nextInt(2);
+            for (int turno = 0; turno < turnos; turno++) {
+                for (int a = 0; a < k; a++) {
+                    for (int b = a + 1; b < k; b++) {
+                        // Placares baixos para sobrar empate nas minitabelas
+                        confrontos.jogo(a, b, aleatorio.nextInt(3), aleatorio.nextInt(3));
+                    }
+                }
+            }
+
+            int[] semMemoria = ConfrontoDireto.classificarSemMemoria(confrontos.ids, confrontos.pontos, confrontos.gols);
+            // A segunda chamada vem da memória (e a primeira pode reaproveitar subgrupos de casos anteriores)
+            assertThat(confrontoDireto.classificar(confrontos.ids, confrontos.pontos, confrontos.gols))
+                    .as("caso %d", caso).containsExactly(semMemoria);
+            assertThat(confrontoDireto.classificar(confrontos.ids, confrontos.pontos, confrontos.gols))
+                    .as("caso %d", caso).containsExactly(semMemoria);
+        }
+    }
+
+    // Matrizes de pontos e gols entre os times, como ConfrontoDireto recebe
+    private static final class Confrontos {
+
+        final long[] ids;
+        final int[] pontos;
+        final int[] gols;
+
+        Confrontos(long... ids) {
+            this.ids = ids;
+            this.pontos = new int[ids.length * ids.length];
+            this.gols = new int[ids.length * ids.length];
+        }
+
+        Confrontos jogo(int a, int b, int placarA, int placarB) {
+            int k = ids.length;
+            pontos[a * k + b] += placarA > placarB ? 3 : placarA == placarB ? 1 : 0;
+            pontos[b * k + a] += placarB > placarA ? 3 : placarA == placarB ? 1 : 0;
+            gols[a * k + b] += placarA;
+            gols[b * k + a] += placarB;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package oficial.cbpitu.service.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class PareamentoSuicoTests {
+
+    @Test
+    void folgaViavelLongeDoFimDaTabelaAindaEvitaRevanches() {
+        // O líder já enfrentou todo mundo: só a folga dele deixa uma rodada sem revanches
+        int n = 21;
+        PareamentoSuico pareamento = new PareamentoSuico(n);
+        for (int b = 1; b < n; b++) {
+            pareamento.registrarConfronto(0, b);
+        }
+
+        int[] par = pareamento.parearRodada(new boolean[n]);
+
+        assertThat(par[0]).isEqualTo(-1);
+        assertSemRevanches(pareamento, par);
+    }
+
+    @Test
+    void semRevanchesSempreQueExisteRodadaSemRevanches() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        for (int caso = 0; caso < 2000; caso++) {
+            int n = 4 + aleatorio.nextInt(7);
+            PareamentoSuico pareamento = new PareamentoSuico(n);
+            boolean[][] jogaram = new boolean[n][n];
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    if (aleatorio.nextInt(100) < 45) {
+                        pareamento.registrarConfronto(a, b);
+                        jogaram[a][b] = jogaram[b][a] = true;
+                    }
+                }
+            }
+            boolean[] teveBye = new boolean[n];
+            for (int t = 0; t < n; t++) {
+                teveBye[t] = aleatorio.nextInt(100) < 30;
+            }
+
+            int[] par = pareamento.parearRodada(teveBye);
+
+            assertRodadaCompleta(par);
+            if (existeRodadaSemRevanches(jogaram, teveBye, n % 2 == 1)) {
+                assertSemRevanches(pareamento, par);
+                for (int t = 0; t < n; t++) {
+                    if (par[t] == -1) {
+                        assertThat(teveBye[t]).as("caso %d: folga repetida do time %d", caso, t).isFalse();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void pareiaMilTimesPorVariasRodadas() {
+        int n = 1001;
+        int rodadas = 10;
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            PareamentoSuico pareamento = new PareamentoSuico(n);
+            boolean[] teveBye = new boolean[n];
+            for (int r = 0; r < rodadas; r++) {
+                int[] par = pareamento.parearRodada(teveBye);
+                assertRodadaCompleta(par);
+                assertSemRevanches(pareamento, par);
+                for (int i = 0; i < n; i++) {
+                    if (par[i] > i) {
+                        pareamento.registrarConfronto(i, par[i]);
+                    } else if (par[i] == -1) {
+                        teveBye[i] = true;
+                    }
+                }
+            }
+        });
+    }
+
+    private static void assertRodadaCompleta(int[] par) {
+        int folgas = 0;
+        for (int i = 0; i < par.length; i++) {
+            if (par[i] == -1) {
+                folgas++;
+            } else {
+                assertThat(par[par[i]]).isEqualTo(i);
+            }
+        }
+        assertThat(folgas).isEqualTo(par.length % 2);
+    }
+
+    private static void assertSemRevanches(PareamentoSuico pareamento, int[] par) {
+        for (int i = 0; i < par.length; i++) {
+            if (par[i] > i) {
+                assertThat(pareamento.jaSeEnfrentaram(i, par[i])).as("revanche %d x %d", i, par[i]).isFalse();
+            }
+        }
+    }
+
+    // Força bruta: alguma folga (de quem ainda não folgou) com os demais pareados sem revanche
+    private static boolean existeRodadaSemRevanches(boolean[][] jogaram, boolean[] teveBye, boolean impar) {
+        int n = jogaram.length;
+        if (!impar) {
+            return parearTodos(jogaram, new boolean[n]);
+        }
+        for (int bye = 0; bye < n; bye++) {
+            if (teveBye[bye]) {
+                continue;
+            }
+            boolean[] usados = new boolean[n];
+            usados[bye] = true;
+            if (parearTodos(jogaram, usados)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean parearTodos(boolean[][] jogaram, boolean[] usados) {
+        int a = 0;
+        while (a < usados.length && usados[a]) {
+            a++;
+        }
+        if (a == usados.length) {
+            return true;
+        }
+        usados[a] = true;
+        for (int b = a + 1; b < usados.length; b++) {
+            if (!usados[b] && !jogaram[a][b]) {
+                usados[b] = true;
+                if (parearTodos(jogaram, usados)) {
+                    usados[a] = usados[b] = false;
+                    return true;
+                }
+                usados[b] = false;
+            }
+        }
+        usados[a] = false;
+        return false;
+    }
+}
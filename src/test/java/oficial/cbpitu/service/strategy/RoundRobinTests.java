@@ -0,0 +1,107 @@
+package oficial.cbpitu.service.strategy;
+
+import oficial.cbpitu.model.Fase;
+import oficial.cbpitu.model.Grupo;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.Time;
+import oficial.cbpitu.model.enums.FormatoCompeticao;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoundRobinTests {
+
+    // Sem repositório: gerarPartidasParaGrupos só monta as partidas
+    private final FaseDeGruposStrategy strategy = new FaseDeGruposStrategy(null, null);
+
+    @Test
+    void turnoUnicoComNumeroParEImparDeTimes() {
+        for (int n = 2; n <= 9; n++) {
+            List<Partida> partidas = gerar(n, FormatoCompeticao.GRUPOS);
+
+            int rodadas = n % 2 == 0 ? n - 1 : n;
+            assertThat(partidas).as("n=%d", n).hasSize(n * (n - 1) / 2);
+            assertRodadasDisjuntas(partidas, n, rodadas);
+
+            int[][] jogos = new int[n][n];
+            int[] mandos = new int[n];
+            for (Partida partida : partidas) {
+                int a = indice(partida.getTime1());
+                int b = indice(partida.getTime2());
+                jogos[Math.min(a, b)][Math.max(a, b)]++;
+                mandos[a]++;
+                mandos[b]--;
+            }
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    assertThat(jogos[a][b]).as("n=%d: %d x %d", n, a, b).isEqualTo(1);
+                }
+                // Mandos menos visitas
+                assertThat(Math.abs(mandos[a])).as("n=%d: mando do time %d", n, a).isLessThanOrEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    void idaEVoltaRepeteOTurnoComMandoInvertido() {
+        for (int n = 2; n <= 9; n++) {
+            List<Partida> partidas = gerar(n, FormatoCompeticao.GRUPOS_IDA_VOLTA);
+
+            int rodadasTurno = n % 2 == 0 ? n - 1 : n;
+            assertThat(partidas).as("n=%d", n).hasSize(n * (n - 1));
+            assertRodadasDisjuntas(partidas, n, 2 * rodadasTurno);
+
+            // Cada par se enfrenta uma vez com cada mando; a volta fica na mesma rodada do returno
+            int[][] rodada = new int[n][n];
+            for (Partida partida : partidas) {
+                int a = indice(partida.getTime1());
+                int b = indice(partida.getTime2());
+                assertThat(rodada[a][b]).as("n=%d: %d x %d repetido", n, a, b).isZero();
+                rodada[a][b] = partida.getRodada();
+            }
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    int ida = Math.min(rodada[a][b], rodada[b][a]);
+                    int volta = Math.max(rodada[a][b], rodada[b][a]);
+                    assertThat(ida).as("n=%d: %d x %d", n, a, b).isBetween(1, rodadasTurno);
+                    assertThat(volta).as("n=%d: %d x %d", n, a, b).isEqualTo(ida + rodadasTurno);
+                }
+            }
+        }
+    }
+
+    private List<Partida> gerar(int n, FormatoCompeticao formato) {
+        Fase fase = new Fase();
+        fase.setFormato(formato);
+        Grupo grupo = new Grupo();
+        for (int i = 0; i < n; i++) {
+            Time time = new Time();
+            time.setId((long) i);
+            grupo.adicionarTime(time);
+        }
+        return strategy.gerarPartidasParaGrupos(List.of(grupo), fase);
+    }
+
+    // Nenhum time joga duas vezes na mesma rodada, e as rodadas vão de 1 a rodadas
+    private void assertRodadasDisjuntas(List<Partida> partidas, int n, int rodadas) {
+        List<Set<Integer>> porRodada = new ArrayList<>();
+        for (int r = 0; r <= rodadas; r++) {
+            porRodada.add(new HashSet<>());
+        }
+        for (Partida partida : partidas) {
+            assertThat(partida.getRodada()).as("n=%d", n).isBetween(1, rodadas);
+            Set<Integer> rodada = porRodada.get(partida.getRodada());
+            assertThat(rodada.add(indice(partida.getTime1()))).as("n=%d: rodada %d", n, partida.getRodada()).isTrue();
+            assertThat(rodada.add(indice(partida.getTime2()))).as("n=%d: rodada %d", n, partida.getRodada()).isTrue();
+        }
+    }
+
+    private int indice(Time time) {
+        return time.getId().intValue();
+    }
+}
@@ -0,0 +1,60 @@
+package oficial.cbpitu.service.strategy;
+
+import oficial.cbpitu.model.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulacaoFaseTests {
+
+    private static final int NUM_TIMES = 5;
+
+    @Test
+    void mesmaSementeDaAsMesmasContagensComQualquerParalelismo() {
+        // Acima do tamanho da tarefa folha, para a simulação ser dividida
+        int simulacoes = 150_000;
+        SimulacaoFase simulacao = new SimulacaoFase(new Time[NUM_TIMES], new Long[NUM_TIMES], NUM_TIMES,
+                SimulacaoFaseTests::cenarioEmbaralhado);
+
+        SimulacaoFase.Resultado sequencial;
+        SimulacaoFase.Resultado paralelo;
+        ForkJoinPool umaThread = new ForkJoinPool(1);
+        ForkJoinPool quatroThreads = new ForkJoinPool(4);
+        try {
+            sequencial = simulacao.executar(simulacoes, umaThread, 42L);
+            paralelo = simulacao.executar(simulacoes, quatroThreads, 42L);
+        } finally {
+            umaThread.shutdownNow();
+            quatroThreads.shutdownNow();
+        }
+
+        for (int t = 0; t < NUM_TIMES; t++) {
+            assertThat(paralelo.posicoes()[t]).as("time %d", t).containsExactly(sequencial.posicoes()[t]);
+            assertThat(Arrays.stream(sequencial.posicoes()[t]).sum()).isEqualTo((long) simulacoes);
+        }
+        assertThat(paralelo.classificacoes()).containsExactly(sequencial.classificacoes());
+    }
+
+    // Ordem final sorteada por embaralhamento; os dois primeiros avançam
+    private static SimulacaoFase.Cenario cenarioEmbaralhado() {
+        int[] ordem = new int[NUM_TIMES];
+        return (aleatorio, posicoes, classificados) -> {
+            for (int i = 0; i < NUM_TIMES; i++) {
+                ordem[i] = i;
+            }
+            for (int i = NUM_TIMES - 1; i > 0; i--) {
+                int j = aleatorio.nextInt(i + 1);
+                int troca = ordem[i];
+                ordem[i] = ordem[j];
+                ordem[j] = troca;
+            }
+            for (int p = 0; p < NUM_TIMES; p++) {
+                posicoes[ordem[p]] = p;
+                classificados[ordem[p]] = p < 2;
+            }
+        };
+    }
+}
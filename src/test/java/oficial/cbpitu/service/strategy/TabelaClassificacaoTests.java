@@ -0,0 +1,137 @@
+package oficial.cbpitu.service.strategy;
+
+import oficial.cbpitu.model.Classificacao;
+import oficial.cbpitu.model.Partida;
+import oficial.cbpitu.model.Time;
+import oficial.cbpitu.model.enums.StatusPartida;
+import oficial.cbpitu.service.strategy.FaseDeGruposStrategy.ClassificacaoGrupo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TabelaClassificacaoTests {
+
+    private final Map<Long, Time> times = new HashMap<>();
+
+    @Test
+    void dasPartidasOrdenaPorPontosEDepoisPeloConfrontoDireto() {
+        // 2 e 1 empatam em pontos, saldo e gols pró; 2 venceu o confronto
+        List<Partida> partidas = List.of(
+                partida(2, 1, 1, 0),
+                partida(3, 4, 0, 0),
+                partida(2, 3, 0, 1),
+                partida(1, 4, 1, 0),
+                partida(2, 4, 0, 0),
+                partida(1, 3, 0, 0));
+
+        TabelaClassificacao tabela = TabelaClassificacao.dasPartidas(times(1, 2, 3, 4), partidas);
+
+        assertThat(ids(tabela.ordenar(TabelaClassificacao.CRITERIOS_PADRAO, new ConfrontoDireto(100))))
+                .containsExactly(3L, 2L, 1L, 4L);
+    }
+
+    @Test
+    void dasPartidasIgnoraPartidasQueNaoContamEUsaOIdSemJogos() {
+        Partida pendente = partida(3, 1, 5, 0);
+        pendente.setStatus(StatusPartida.PENDENTE);
+        Partida cancelada = partida(2, 1, 5, 0);
+        cancelada.setStatus(StatusPartida.CANCELADA);
+
+        TabelaClassificacao tabela = TabelaClassificacao.dasPartidas(times(3, 1, 2), List.of(pendente, cancelada));
+
+        assertThat(ids(tabela.ordenar(TabelaClassificacao.CRITERIOS_PADRAO, new ConfrontoDireto(100))))
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void dasLinhasAplicaOsCriteriosEmOrdem() {
+        List<Classificacao> linhas = List.of(
+                linha(10, 2, 1, 0, 5, 5),  // 3 pts, saldo 0, 5 gols
+                linha(20, 2, 1, 0, 7, 7),  // 3 pts, saldo 0, 7 gols
+                linha(30, 2, 1, 0, 2, 1),  // 3 pts, saldo +1
+                linha(40, 2, 2, 0, 4, 0),  // 6 pts
+                linha(50, 2, 0, 1, 2, 2),  // 1 pt, perdeu o confronto para 60
+                linha(60, 2, 0, 1, 2, 2),
+                linha(70, 2, 0, 0, 1, 2),  // 0 pts, empataram entre si: segue o ID
+                linha(80, 2, 0, 0, 1, 2));
+        List<Partida> partidas = List.of(partida(60, 50, 2, 1), partida(70, 80, 1, 1));
+
+        TabelaClassificacao tabela = TabelaClassificacao.dasLinhas(linhas, () -> partidas);
+
+        assertThat(ids(tabela.ordenar(TabelaClassificacao.CRITERIOS_PADRAO, new ConfrontoDireto(100))))
+                .containsExactly(40L, 30L, 20L, 10L, 60L, 50L, 70L, 80L);
+    }
+
+    @Test
+    void dasLinhasSoLeAsPartidasSeAlgumBlocoChegarAoConfrontoDireto() {
+        // Todos se separam antes do confronto direto
+        List<Classificacao> linhas = List.of(linha(1, 1, 0, 1, 1, 1), linha(2, 1, 1, 0, 2, 1), linha(3, 1, 0, 1, 2, 2));
+
+        TabelaClassificacao tabela = TabelaClassificacao.dasLinhas(linhas, () -> {
+            throw new AssertionError("partidas lidas sem empate no confronto direto");
+        });
+
+        assertThat(ids(tabela.ordenar(TabelaClassificacao.CRITERIOS_PADRAO, new ConfrontoDireto(100))))
+                .containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void criteriosConfiguraveisMudamAOrdem() {
+        // 1: saldo +1 com 9 gols; 2: saldo +3 com 3 gols
+        List<Classificacao> linhas = List.of(linha(1, 1, 1, 0, 9, 8), linha(2, 1, 1, 0, 3, 0));
+        List<TabelaClassificacao.Criterio> golsPrimeiro = List.of(
+                TabelaClassificacao.Criterio.PONTOS, TabelaClassificacao.Criterio.GOLS_PRO);
+        List<TabelaClassificacao.Criterio> saldoPrimeiro = List.of(
+                TabelaClassificacao.Criterio.PONTOS, TabelaClassificacao.Criterio.SALDO_GOLS);
+
+        assertThat(ids(TabelaClassificacao.dasLinhas(linhas, List::of).ordenar(golsPrimeiro, null)))
+                .containsExactly(1L, 2L);
+        assertThat(ids(TabelaClassificacao.dasLinhas(linhas, List::of).ordenar(saldoPrimeiro, null)))
+                .containsExactly(2L, 1L);
+    }
+
+    private Time time(long id) {
+        return times.computeIfAbsent(id, chave -> {
+            Time time = new Time();
+            time.setId(chave);
+            return time;
+        });
+    }
+
+    private List<Time> times(long... ids) {
+        List<Time> lista = new ArrayList<>();
+        for (long id : ids) {
+            lista.add(time(id));
+        }
+        return lista;
+    }
+
+    private Partida partida(long mandante, long visitante, int placar1, int placar2) {
+        Partida partida = new Partida();
+        partida.setTime1(time(mandante));
+        partida.setTime2(time(visitante));
+        partida.registrarResultado(placar1, placar2);
+        return partida;
+    }
+
+    private Classificacao linha(long timeId, int jogos, int vitorias, int empates, int golsPro, int golsContra) {
+        Classificacao linha = new Classificacao();
+        linha.setTime(time(timeId));
+        linha.setJogos(jogos);
+        linha.setVitorias(vitorias);
+        linha.setEmpates(empates);
+        linha.setDerrotas(jogos - vitorias - empates);
+        linha.setGolsPro(golsPro);
+        linha.setGolsContra(golsContra);
+        return linha;
+    }
+
+    private static List<Long> ids(List<ClassificacaoGrupo> tabela) {
+        return tabela.stream().map(linha -> linha.getTime().getId()).toList();
+    }
+}